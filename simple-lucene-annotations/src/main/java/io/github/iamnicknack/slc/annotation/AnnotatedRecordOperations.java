@@ -8,12 +8,14 @@ import io.github.iamnicknack.slc.core.document.DocumentDescriptorBuilder;
 import io.github.iamnicknack.slc.core.document.FieldDescriptorBuilder;
 import io.github.iamnicknack.slc.api.index.DomainOperations;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -70,15 +72,37 @@ public interface AnnotatedRecordOperations<T extends Record> extends DomainOpera
             throw new AnnotationConfigurationException(e);
         }
 
-        var constructorArgs = new Function<Document, Object[]>() {
+        // primitive components outside the projection of a partially loaded document take their default value
+        var constructorArgs = new BiFunction<Document, Set<String>, Object[]>() {
             @Override
-            public Object[] apply(Document document) {
+            public Object[] apply(Document document, Set<String> projected) {
                 return accessors.stream()
-                        .map(accessorDescriptor -> accessorDescriptor.fieldDescriptor().read(document))
+                        .map(accessorDescriptor -> {
+                            var value = accessorDescriptor.fieldDescriptor().read(document);
+                            var accessor = accessorDescriptor.accessor();
+                            var type = accessor.getReturnType();
+                            if(value == null && type.isPrimitive()) {
+                                if(projected.contains(accessor.getName())) {
+                                    throw new IllegalArgumentException("No value for primitive record component: " + accessor.getName());
+                                }
+                                return Array.get(Array.newInstance(type, 1), 0);
+                            }
+                            return value;
+                        })
                         .toArray();
             }
         };
 
+        /*
+         **************************************************************************************************************
+         * Projection of record components to index fields
+         */
+        var componentFields = accessors.stream()
+                .collect(Collectors.toMap(
+                        accessorDescriptor -> accessorDescriptor.accessor().getName(),
+                        accessorDescriptor -> accessorDescriptor.fieldDescriptor().name()
+                ));
+
         /*
          **************************************************************************************************************
          * Document id.
@@ -120,10 +144,30 @@ public interface AnnotatedRecordOperations<T extends Record> extends DomainOpera
                 return idFunction.apply(value);
             }
 
+            @Override
+            public Set<String> projection(String... components) {
+                return Arrays.stream(components)
+                        .map(component -> Optional.ofNullable(componentFields.get(component))
+                                .orElseThrow(() -> new IllegalArgumentException("Unknown record component: " + component))
+                        )
+                        .collect(Collectors.toUnmodifiableSet());
+            }
+
             @Override
             public T readDocument(Document document) {
+                return read(document, componentFields.keySet());
+            }
+
+            @Override
+            public T readPartial(Document document, String... components) {
+                // validates the component names
+                projection(components);
+                return read(document, Set.of(components));
+            }
+
+            private T read(Document document, Set<String> projected) {
                 try {
-                    return constructor.newInstance(constructorArgs.apply(document));
+                    return constructor.newInstance(constructorArgs.apply(document, projected));
                 } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
                     throw new AnnotationConfigurationException(e);
                 }
@@ -149,6 +193,35 @@ public interface AnnotatedRecordOperations<T extends Record> extends DomainOpera
 
     DocumentDescriptor documentDescriptor();
 
+    /**
+     * The index fields to load in order to read partial records containing only the specified components,
+     * for use with {@link io.github.iamnicknack.slc.api.query.QueryOptions#withFields(Set)}
+     * and {@link #readPartial(Document, String...)}.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}</p>
+     * @param components the names of the required record components
+     * @return the names of the index fields
+     * @throws IllegalArgumentException if a name is not a component of the record
+     */
+    default Set<String> projection(String... components) {
+        throw new UnsupportedOperationException("projection");
+    }
+
+    /**
+     * Read a partial record from a document loaded using the fields of {@link #projection(String...)}.
+     * Components outside the projection are {@code null}, empty or, for primitives, zero.
+     *
+     * <p>The default implementation reads the document as {@link #readDocument(Document)}</p>
+     * @param document the partially loaded document
+     * @param components the names of the record components in the projection
+     * @return a partial record
+     * @throws IllegalArgumentException if a name is not a component of the record, or a primitive component
+     * in the projection has no value
+     */
+    default T readPartial(Document document, String... components) {
+        return readDocument(document);
+    }
+
     interface PropertyDescriptorFactory {
         FieldDescriptor<?> fieldDescriptor(IndexProperty annotation);
 
@@ -176,6 +249,7 @@ public interface AnnotatedRecordOperations<T extends Record> extends DomainOpera
             if(annotation.keyword()) stringBuilder.keyword();
             if(annotation.text()) stringBuilder.text();
             if(annotation.facet()) stringBuilder.facet();
+            if(annotation.sortable()) stringBuilder.sortable();
             stringBuilder.alias(annotation.fields());
 
             return stringBuilder.build();
@@ -192,6 +266,7 @@ public interface AnnotatedRecordOperations<T extends Record> extends DomainOpera
 
             if(annotation.point()) intBuilder.point();
             if(annotation.facet()) intBuilder.facet();
+            if(annotation.sortable()) intBuilder.sortable();
 
             return intBuilder.build();
         };
@@ -207,6 +282,7 @@ public interface AnnotatedRecordOperations<T extends Record> extends DomainOpera
 
             if(annotation.point()) longBuilder.point();
             if(annotation.facet()) longBuilder.facet();
+            if(annotation.sortable()) longBuilder.sortable();
 
             return longBuilder.build();
         };
@@ -221,6 +297,7 @@ public interface AnnotatedRecordOperations<T extends Record> extends DomainOpera
 
             if(annotation.point()) zonedDateTimeBuilder.point();
             if(annotation.facet()) zonedDateTimeBuilder.facet();
+            if(annotation.sortable()) zonedDateTimeBuilder.sortable();
 
             return zonedDateTimeBuilder.build();
         };
@@ -235,6 +312,7 @@ public interface AnnotatedRecordOperations<T extends Record> extends DomainOpera
 
             if(annotation.point()) instantBuilder.point();
             if(annotation.facet()) instantBuilder.facet();
+            if(annotation.sortable()) instantBuilder.sortable();
 
             return instantBuilder.build();
         };
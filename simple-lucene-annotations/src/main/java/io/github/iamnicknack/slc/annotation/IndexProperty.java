@@ -44,6 +44,12 @@ public @interface IndexProperty {
      */
     boolean facet() default false;
 
+    /**
+     * Whether results can be sorted by this field, using {@code <field>.sort} doc values
+     * @return defaults to {@code false}
+     */
+    boolean sortable() default false;
+
     /**
      * Whether the field is mandatory and forms part of the unique identifier
      * @return defaults to {@code false}
@@ -7,15 +7,24 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.github.iamnicknack.slc.api.backend.LuceneBackend;
+import io.github.iamnicknack.slc.api.query.QueryOptions;
+import io.github.iamnicknack.slc.api.query.Result;
 import io.github.iamnicknack.slc.core.backend.LuceneBackends;
+import io.github.iamnicknack.slc.core.collection.LuceneCollection;
+import io.github.iamnicknack.slc.core.query.DefaultQueryExecutor;
+import io.github.iamnicknack.slc.core.query.QueryFactories;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.search.MatchAllDocsQuery;
 
 import java.io.IOException;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class AnnotatedRecordOperationsTest {
 
@@ -61,6 +70,78 @@ class AnnotatedRecordOperationsTest {
     }
 
 
+    @Nested
+    class ProjectionTests {
+        private final LuceneBackend backend;
+        private final AnnotatedRecordOperations<Country> operations;
+
+        ProjectionTests() throws IOException {
+            this.backend = LuceneBackends.memory();
+            this.operations = AnnotatedRecordOperations.create(Country.class, backend);
+        }
+
+        @AfterEach
+        void afterEach() throws IOException {
+            backend.close();
+        }
+
+        @Test
+        void readsPartialRecords() {
+            new LuceneCollection<>(operations, backend)
+                    .add(new Country("United Kingdom", "GB", 67, List.of("London", "Cardiff")));
+
+            var fields = operations.projection("name", "iso");
+            assertEquals(Set.of("country-name", "iso-code"), fields);
+
+            var executor = new DefaultQueryExecutor<>(QueryFactories.lucene(), backend.searcherLeaseFactory())
+                    .withOptions(QueryOptions.DEFAULT.withFields(fields))
+                    .withIterator(Result.IteratorFactory.mapping(document -> operations.readPartial(document, "name", "iso")));
+            try(var result = executor.execute(new MatchAllDocsQuery())) {
+                var country = result.iterator().next().value();
+                assertEquals(new Country("United Kingdom", "GB", 0, List.of()), country);
+            }
+        }
+
+        @Test
+        void rejectsMissingProjectedPrimitives() {
+            var document = operations.createDocument(new Country("United Kingdom", "GB", 67, List.of()));
+            document.removeFields("population");
+            document.removeFields("population.sort");
+
+            assertThrows(IllegalArgumentException.class, () -> operations.readDocument(document));
+            assertThrows(IllegalArgumentException.class, () -> operations.readPartial(document, "name", "population"));
+            assertEquals(0, operations.readPartial(document, "name").population());
+        }
+
+        @Test
+        void sortsBySortableComponents() {
+            new LuceneCollection<>(operations, backend).addAll(List.of(
+                    new Country("United Kingdom", "GB", 67, List.of("London")),
+                    new Country("France", "FR", 68, List.of("Paris")),
+                    new Country("Ireland", "IE", 5, List.of("Dublin"))
+            ));
+
+            var executor = new DefaultQueryExecutor<>(QueryFactories.lucene(), backend.searcherLeaseFactory())
+                    .withOptions(QueryOptions.sorted(10, operations.documentDescriptor().sort("-population")))
+                    .withIterator(Result.IteratorFactory.mapping(operations::readDocument));
+            try(var result = executor.execute(new MatchAllDocsQuery())) {
+                assertEquals(List.of("FR", "GB", "IE"), result.stream().map(hit -> hit.value().iso()).toList());
+            }
+            assertThrows(IllegalArgumentException.class, () -> operations.documentDescriptor().sort("iso-code"));
+        }
+
+        @Test
+        void rejectsUnknownComponents() {
+            assertThrows(IllegalArgumentException.class, () -> operations.projection("name", "capital"));
+            assertThrows(IllegalArgumentException.class, () -> operations.readPartial(new Document(), "capital"));
+        }
+
+        public record Country(@IndexProperty(value = "country-name", keyword = true) String name,
+                              @IndexProperty(value = "iso-code", keyword = true, id = true) String iso,
+                              @IndexProperty(value = "population", sortable = true) int population,
+                              @IndexProperty(value = "place", parameterizedType = String.class) List<String> place) {}
+    }
+
     @Nested
     class FieldTypeTests {
         private LuceneBackend backend;
@@ -1,7 +1,9 @@
 package io.github.iamnicknack.slc.api.backend;
 
+import io.github.iamnicknack.slc.api.lease.AsyncLeases;
 import io.github.iamnicknack.slc.api.lease.Lease;
 import io.github.iamnicknack.slc.api.lease.LeaseFactory;
+import io.github.iamnicknack.slc.api.lease.ScopedLeaseFactory;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.facet.FacetsConfig;
 import org.apache.lucene.facet.taxonomy.SearcherTaxonomyManager;
@@ -12,6 +14,8 @@ import org.apache.lucene.search.IndexSearcher;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Components required to read to and write from Lucene.
@@ -36,7 +40,8 @@ public interface LuceneBackend extends Closeable {
      * <p>{@link Lease} implementations returned by this method can implicitly
      * call {@link IndexWriter#commit()}, {@link TaxonomyWriter#commit()} and
      * {@link SearcherTaxonomyManager#maybeRefresh()}</p>, allowing a single {@link Lease} instance
-     * to perform in a transaction-like manner
+     * to perform in a transaction-like manner. Implementations may defer commits, in which case
+     * {@link #durableUpdate(Lease.LeaseFunction)} can be used to wait for changes to become durable
      */
     LeaseFactory<UpdateComponents> updateLeaseFactory();
 
@@ -45,6 +50,23 @@ public interface LuceneBackend extends Closeable {
      */
     FacetsConfig facetsConfig();
 
+    /**
+     * Open a scope in which searcher leases taken on the current thread share the same {@link SearchComponents},
+     * so that operations which search repeatedly, such as adding many values to a set, acquire a single searcher.
+     * Searches within the scope do not see changes made after it was opened.
+     *
+     * <p>Searchers are only shared when {@link #searcherLeaseFactory()} is a {@link ScopedLeaseFactory},
+     * otherwise this holds a single searcher lease for the duration of the scope</p>
+     * @return a lease which closes the scope
+     */
+    default Lease<SearchComponents> searchScope() {
+        var leaseFactory = searcherLeaseFactory();
+        if(leaseFactory instanceof ScopedLeaseFactory<SearchComponents> scoped) {
+            return scoped.scope();
+        }
+        return leaseFactory.lease();
+    }
+
     /**
      * Execute the {@link io.github.iamnicknack.slc.api.lease.Lease.LeaseFunction} via
      * {@link #searcherLeaseFactory()}
@@ -71,6 +93,119 @@ public interface LuceneBackend extends Closeable {
         }
     }
 
+    /**
+     * Execute the search function on a virtual thread
+     * @param searchFunction the function to execute
+     * @return a future completed with the function result
+     * @param <T> the result type
+     * @see #searchAsync(Lease.LeaseFunction, Executor)
+     */
+    default <T> CompletableFuture<T> searchAsync(Lease.LeaseFunction<SearchComponents, T> searchFunction) {
+        return searchAsync(searchFunction, AsyncLeases.virtualThreads());
+    }
+
+    /**
+     * Execute the search function via {@link #search(Lease.LeaseFunction)} on the specified executor.
+     * The lease is released once the function completes, and is not acquired if the future is cancelled
+     * before the function starts
+     * @param searchFunction the function to execute
+     * @param executor the executor on which the function is executed
+     * @return a future completed with the function result
+     * @param <T> the result type
+     */
+    default <T> CompletableFuture<T> searchAsync(Lease.LeaseFunction<SearchComponents, T> searchFunction, Executor executor) {
+        return AsyncLeases.supplyAsync(() -> search(searchFunction), value -> {}, executor);
+    }
+
+    /**
+     * Execute the update function on a virtual thread
+     * @param updateFunction the function to execute
+     * @return a future completed with the function result
+     * @param <T> the result type
+     * @see #updateAsync(Lease.LeaseFunction, Executor)
+     */
+    default <T> CompletableFuture<T> updateAsync(Lease.LeaseFunction<UpdateComponents, T> updateFunction) {
+        return updateAsync(updateFunction, AsyncLeases.virtualThreads());
+    }
+
+    /**
+     * Execute the update function via {@link #update(Lease.LeaseFunction)} on the specified executor.
+     * The lease is released once the function completes, and the update is not performed if the future
+     * is cancelled before the function starts. Cancelling a running update does not interrupt it
+     * @param updateFunction the function to execute
+     * @param executor the executor on which the function is executed
+     * @return a future completed with the function result
+     * @param <T> the result type
+     */
+    default <T> CompletableFuture<T> updateAsync(Lease.LeaseFunction<UpdateComponents, T> updateFunction, Executor executor) {
+        return AsyncLeases.supplyAsync(() -> update(updateFunction), value -> {}, executor);
+    }
+
+    /**
+     * Execute the {@link io.github.iamnicknack.slc.api.lease.Lease.LeaseFunction} via
+     * {@link #updateLeaseFactory()}, reporting the index generation which includes the changes.
+     * The generation can be passed to {@link #search(long, Lease.LeaseFunction)} in order to read those changes.
+     *
+     * <p>The default implementation reports {@link UpdateResult#NO_GENERATION}, suitable for backends
+     * where changes are visible to searchers as soon as the update lease is released</p>
+     * @param updateFunction the function to execute
+     * @return the function result and the generation containing the changes
+     * @param <T> the result type
+     */
+    default <T> UpdateResult<T> trackedUpdate(Lease.LeaseFunction<UpdateComponents, T> updateFunction) {
+        return new UpdateResult<>(update(updateFunction), UpdateResult.NO_GENERATION);
+    }
+
+    /**
+     * Execute the {@link io.github.iamnicknack.slc.api.lease.Lease.LeaseFunction} via
+     * {@link #searcherLeaseFactory()} once the specified generation is visible to searchers.
+     *
+     * <p>The default implementation does not wait</p>
+     * @param generation a generation reported by {@link #trackedUpdate(Lease.LeaseFunction)}
+     * @param searchFunction the function to execute
+     * @return the function result
+     * @param <T> the result type
+     */
+    default <T> T search(long generation, Lease.LeaseFunction<SearchComponents, T> searchFunction) {
+        return search(searchFunction);
+    }
+
+    /**
+     * Block until the changes included in the specified generation are durable.
+     *
+     * <p>The default implementation does not wait, suitable for backends which commit changes
+     * before update leases are released</p>
+     * @param generation a generation reported by {@link #trackedUpdate(Lease.LeaseFunction)}
+     */
+    default void awaitDurable(long generation) {
+    }
+
+    /**
+     * Execute the {@link io.github.iamnicknack.slc.api.lease.Lease.LeaseFunction} via
+     * {@link #trackedUpdate(Lease.LeaseFunction)}, blocking until the changes are durable
+     * @param updateFunction the function to execute
+     * @return the function result and the generation containing the changes
+     * @param <T> the result type
+     */
+    default <T> UpdateResult<T> durableUpdate(Lease.LeaseFunction<UpdateComponents, T> updateFunction) {
+        var result = trackedUpdate(updateFunction);
+        awaitDurable(result.generation());
+        return result;
+    }
+
+    /**
+     * The result of an update along with the index generation in which its changes are included
+     * @param value the update function result
+     * @param generation the index generation
+     * @param <T> the result type
+     */
+    record UpdateResult<T>(T value, long generation) {
+        /**
+         * Generation reported when a backend does not track generations
+         */
+        public static final long NO_GENERATION = -1;
+    }
+
     /**
      * Components required query operations
      */
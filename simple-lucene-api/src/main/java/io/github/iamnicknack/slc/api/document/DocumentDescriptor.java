@@ -1,6 +1,11 @@
 package io.github.iamnicknack.slc.api.document;
 
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Describes the known structure of an index to assist with marshalling
@@ -12,4 +17,52 @@ public interface DocumentDescriptor {
      */
     Map<String, FieldDescriptor<?>> fieldMap();
 
+    /**
+     * The order in which documents are stored in each segment, to be applied via
+     * {@link org.apache.lucene.index.IndexWriterConfig#setIndexSort(Sort)}
+     * @return defaults to {@link Optional#empty()}
+     */
+    default Optional<Sort> indexSort() {
+        return Optional.empty();
+    }
+
+    /**
+     * The sort applied to results by the named fields, for use with
+     * {@link io.github.iamnicknack.slc.api.query.QueryOptions#sorted(int, Sort)}
+     * @param fields field names in order of precedence, prefixed with {@code -} to sort in descending order
+     * @return the sort
+     * @throws IllegalArgumentException if a field is not described or is not sortable
+     */
+    default Sort sort(String... fields) {
+        var sortFields = new SortField[fields.length];
+        for(int i = 0; i < fields.length; i++) {
+            var reverse = fields[i].startsWith("-");
+            var name = reverse ? fields[i].substring(1) : fields[i];
+            var fieldDescriptor = fieldMap().get(name);
+            if(fieldDescriptor == null) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            sortFields[i] = fieldDescriptor.sortField(reverse)
+                    .orElseThrow(() -> new IllegalArgumentException("Field is not sortable: " + name));
+        }
+        return new Sort(sortFields);
+    }
+
+    /**
+     * The field names to load from the index to read partial values containing only the specified fields,
+     * for use with {@link io.github.iamnicknack.slc.api.query.QueryOptions#withFields(Set)}
+     * @param fields the names of the required fields
+     * @return the field names
+     * @throws IllegalArgumentException if a field is not described
+     */
+    default Set<String> projection(String... fields) {
+        var fieldMap = fieldMap();
+        for(var field : fields) {
+            if(!fieldMap.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+        return Set.of(fields);
+    }
+
 }
@@ -1,8 +1,10 @@
 package io.github.iamnicknack.slc.api.document;
 
 import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.search.SortField;
 
 import java.util.Collections;
+import java.util.Optional;
 
 /**
  * Metadata describing how a field maps to a Lucene index.
@@ -31,6 +33,23 @@ public interface FieldDescriptor<T> extends
         return Collections::emptyIterator;
     }
 
+    /**
+     * The sort applied to the index by this field, when the field is part of the index sort
+     * @return defaults to {@link Optional#empty()}
+     */
+    default Optional<SortField> indexSort() {
+        return Optional.empty();
+    }
+
+    /**
+     * The sort field used to order results by this field, when the field is sortable
+     * @param reverse whether results are sorted in descending order
+     * @return defaults to {@link Optional#empty()}
+     */
+    default Optional<SortField> sortField(boolean reverse) {
+        return Optional.empty();
+    }
+
     /**
      * Create the required fields to store and index this property
      * @param value the field value
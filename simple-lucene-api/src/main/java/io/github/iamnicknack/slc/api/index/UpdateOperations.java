@@ -39,6 +39,17 @@ public interface UpdateOperations<T> {
         return chain(values, this::update);
     }
 
+    /**
+     * Function to update the numeric doc values of the named fields of an existing value in place,
+     * without reindexing the document. Stored values and other indexed forms of the fields are not changed
+     * @param value the value providing the updated field values
+     * @param fields the names of the fields to update
+     * @return a function which will update the doc values once invoked
+     */
+    default LeaseFunction<UpdateComponents, Void> updateDocValues(T value, String... fields) {
+        throw new UnsupportedOperationException("updateDocValues");
+    }
+
     /**
      * Function to remove a value from the index
      * @param value the value to remove
@@ -61,17 +72,22 @@ public interface UpdateOperations<T> {
     }
 
     /**
-     * Function which will apply the specified operation to all values in the provided collection
+     * Function which will apply the specified operation to all values in the provided collection, in
+     * iteration order. Operations are applied in a loop, so collections of any size can be chained
      * @param values the values arguments
      * @param operation the operation to apply to the values
      * @return a function which will apply the specified operation to all the provided values once invoked
      * @param <T> the type on which operations are performed
      */
     static <T> LeaseFunction<UpdateComponents, Integer> chain(Collection<T> values, Function<T, LeaseFunction<UpdateComponents, Void>> operation) {
-        return values.stream()
+        var operations = values.stream()
                 .map(operation)
-                .map(LeaseFunction::chainable)
-                .reduce(value -> value, LeaseFunction::compose)
-                .andThen(ignored -> values.size());
+                .toList();
+        return components -> {
+            for(var function : operations) {
+                function.execute(components);
+            }
+            return operations.size();
+        };
     }
 }
@@ -0,0 +1,61 @@
+package io.github.iamnicknack.slc.api.lease;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Support for performing leased operations asynchronously
+ */
+public final class AsyncLeases {
+
+    private static final Executor VIRTUAL_THREADS = runnable -> Thread.ofVirtual()
+            .name("slc-async")
+            .start(runnable);
+
+    private AsyncLeases() {
+    }
+
+    /**
+     * Executor which runs each task on a new virtual thread
+     */
+    public static Executor virtualThreads() {
+        return VIRTUAL_THREADS;
+    }
+
+    /**
+     * Supply a value on the executor. The supplier is not invoked if the future is cancelled before the
+     * task starts, and a value which cannot be delivered because the future was cancelled while it was
+     * being supplied is passed to {@code discard}, allowing any lease it holds to be released
+     * @param supplier supplies the value, usually acquiring and releasing a lease
+     * @param discard releases a value which was supplied after the future was cancelled
+     * @param executor the executor on which the supplier is invoked
+     * @return a future completed with the supplied value or the exception thrown
+     * @param <R> the value type
+     */
+    public static <R> CompletableFuture<R> supplyAsync(Supplier<R> supplier,
+                                                       Consumer<? super R> discard,
+                                                       Executor executor) {
+        var future = new CompletableFuture<R>();
+        try {
+            executor.execute(() -> {
+                if(future.isDone()) {
+                    return;
+                }
+                try {
+                    var value = supplier.get();
+                    if(!future.complete(value)) {
+                        discard.accept(value);
+                    }
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.iamnicknack.slc.api.lease;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of lease hold times using power-of-two nanosecond buckets, so that percentiles are accurate
+ * to within a factor of two while recording remains lock-free and constant in size
+ */
+public class HoldTimeHistogram {
+
+    private final AtomicLongArray buckets = new AtomicLongArray(63);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    void record(long nanos) {
+        long value = Math.max(1, nanos);
+        buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(value));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * The number of recorded hold times
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * The mean hold time, or {@link Duration#ZERO} when nothing has been recorded
+     */
+    public Duration mean() {
+        long n = count();
+        return n == 0
+                ? Duration.ZERO
+                : Duration.ofNanos(totalNanos.sum() / n);
+    }
+
+    /**
+     * The longest hold time
+     */
+    public Duration max() {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    /**
+     * The upper bound of the bucket containing the specified percentile
+     * @param percentile a value between 0 and 100
+     * @return the hold time, or {@link Duration#ZERO} when nothing has been recorded
+     */
+    public Duration percentile(double percentile) {
+        if(percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+
+        long target = Math.max(1, (long)Math.ceil(count() * percentile / 100));
+        long cumulative = 0;
+        for(int i = 0; i < buckets.length(); i++) {
+            cumulative += buckets.get(i);
+            if(cumulative >= target) {
+                return Duration.ofNanos((1L << (i + 1)) - 1);
+            }
+        }
+        return Duration.ZERO;
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.iamnicknack.slc.api.lease;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link LeaseFactory} which records {@link LeaseMetrics} for the leases provided by another factory.
+ *
+ * <p>When {@link LeakDetection} is enabled, open leases are tracked and those held for longer than the
+ * threshold are passed to the {@link LeakDetection#reporter()}. Checks are made as leases are acquired and
+ * released, at most once per threshold period, so that no additional threads are required</p>
+ *
+ * <p>Each lease is wrapped in order to time it, so leases from an instrumented factory are not allocation-free</p>
+ *
+ * @param <T> the type being leased
+ */
+public class InstrumentedLeaseFactory<T> implements LeaseFactory<T>, LeaseMetrics {
+
+    private final LeaseFactory<T> delegate;
+    private final LeakDetection leakDetection;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final HoldTimeHistogram holdTimes = new HoldTimeHistogram();
+
+    private final Set<TrackedLease<T>> open = ConcurrentHashMap.newKeySet();
+    private final LongSupplier nanoTime;
+    private final AtomicLong nextCheck;
+
+    /**
+     * @param delegate the factory providing leases
+     * @param leakDetection leak detection settings
+     */
+    public InstrumentedLeaseFactory(LeaseFactory<T> delegate, LeakDetection leakDetection) {
+        this(delegate, leakDetection, System::nanoTime);
+    }
+
+    /**
+     * @param nanoTime the time source, in nanoseconds
+     */
+    InstrumentedLeaseFactory(LeaseFactory<T> delegate, LeakDetection leakDetection, LongSupplier nanoTime) {
+        this.delegate = delegate;
+        this.leakDetection = leakDetection;
+        this.nanoTime = nanoTime;
+        this.nextCheck = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    @Override
+    public Lease<T> lease() {
+        var lease = delegate.lease();
+        long now = nanoTime.getAsLong();
+        acquired.increment();
+
+        var sampled = ThreadLocalRandom.current().nextDouble() < leakDetection.sampleRate();
+        var tracked = new TrackedLease<>(this, lease, now, sampled ? new Throwable("Lease acquired") : null);
+        if(leakDetection.enabled()) {
+            open.add(tracked);
+            reportLeaks(now);
+        }
+        return tracked;
+    }
+
+    @Override
+    public long acquired() {
+        return acquired.sum();
+    }
+
+    @Override
+    public long released() {
+        return released.sum();
+    }
+
+    @Override
+    public HoldTimeHistogram holdTimes() {
+        return holdTimes;
+    }
+
+    @Override
+    public List<LeakReport> leaks() {
+        long now = nanoTime.getAsLong();
+        return open.stream()
+                .filter(lease -> lease.exceeds(now))
+                .map(lease -> lease.report(now))
+                .toList();
+    }
+
+    /**
+     * Report each lease exceeding the threshold once, if the threshold period has passed since the last check
+     * @param now the current time
+     */
+    private void reportLeaks(long now) {
+        long threshold = leakDetection.threshold().toNanos();
+        long previous = nextCheck.getAndUpdate(next -> now - next < 0 ? next : now + threshold);
+        if(now - previous < 0) {
+            return;
+        }
+        for(var lease : open) {
+            if(lease.exceeds(now) && TrackedLease.REPORTED.compareAndSet(lease, false, true)) {
+                leakDetection.reporter().accept(lease.report(now));
+            }
+        }
+    }
+
+    private void released(TrackedLease<T> lease, long now) {
+        released.increment();
+        holdTimes.record(now - lease.acquiredAt);
+        if(leakDetection.enabled()) {
+            open.remove(lease);
+            reportLeaks(now);
+        }
+    }
+
+    private static class TrackedLease<T> implements Lease<T> {
+        private static final VarHandle REPORTED;
+        private static final VarHandle CLOSED;
+
+        static {
+            try {
+                var lookup = MethodHandles.lookup();
+                REPORTED = lookup.findVarHandle(TrackedLease.class, "reported", boolean.class);
+                CLOSED = lookup.findVarHandle(TrackedLease.class, "closed", boolean.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final InstrumentedLeaseFactory<T> factory;
+        private final Lease<T> lease;
+        private final long acquiredAt;
+        private final Throwable acquisitionTrace;
+        private volatile boolean reported = false;
+        private volatile boolean closed = false;
+
+        private TrackedLease(InstrumentedLeaseFactory<T> factory, Lease<T> lease, long acquiredAt, Throwable acquisitionTrace) {
+            this.factory = factory;
+            this.lease = lease;
+            this.acquiredAt = acquiredAt;
+            this.acquisitionTrace = acquisitionTrace;
+        }
+
+        @Override
+        public <R> R execute(LeaseFunction<T, R> function) {
+            return lease.execute(function);
+        }
+
+        @Override
+        public void close() {
+            if(!CLOSED.compareAndSet(this, false, true)) {
+                return;
+            }
+            lease.close();
+            factory.released(this, factory.nanoTime.getAsLong());
+        }
+
+        private boolean exceeds(long now) {
+            return now - acquiredAt > factory.leakDetection.threshold().toNanos();
+        }
+
+        private LeakReport report(long now) {
+            return new LeakReport(Duration.ofNanos(now - acquiredAt), acquisitionTrace);
+        }
+    }
+}
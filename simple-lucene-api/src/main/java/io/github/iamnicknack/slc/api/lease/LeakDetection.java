@@ -0,0 +1,52 @@
+package io.github.iamnicknack.slc.api.lease;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Configures the detection of leases which are held for too long, usually because they were never closed
+ * @param threshold leases held for longer than this are reported, or {@link Duration#ZERO} to disable detection
+ * @param sampleRate the fraction of leases, between 0 and 1, for which the acquiring stack trace is captured
+ * @param reporter receives each lease exceeding the threshold once
+ */
+public record LeakDetection(Duration threshold, double sampleRate, Consumer<LeakReport> reporter) {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaseFactory.class);
+
+    public LeakDetection {
+        if(threshold.isNegative()) {
+            throw new IllegalArgumentException("threshold cannot be negative");
+        }
+        if(sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1");
+        }
+    }
+
+    /**
+     * Leak detection is disabled and open leases are not tracked
+     */
+    public static LeakDetection disabled() {
+        return new LeakDetection(Duration.ZERO, 0, report -> {});
+    }
+
+    /**
+     * Log a warning for leases held for longer than the threshold
+     * @param threshold the maximum expected hold time
+     * @param sampleRate the fraction of leases for which the acquiring stack trace is captured
+     */
+    public static LeakDetection logging(Duration threshold, double sampleRate) {
+        return new LeakDetection(threshold, sampleRate, report ->
+                logger.warn("Lease held for {}", report.heldFor(), report.acquisitionTrace())
+        );
+    }
+
+    /**
+     * Whether open leases are tracked
+     */
+    public boolean enabled() {
+        return !threshold.isZero();
+    }
+}
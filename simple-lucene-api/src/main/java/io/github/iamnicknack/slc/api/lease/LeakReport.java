@@ -0,0 +1,12 @@
+package io.github.iamnicknack.slc.api.lease;
+
+import java.time.Duration;
+
+/**
+ * A lease held for longer than the {@link LeakDetection#threshold()}
+ * @param heldFor the time since the lease was acquired
+ * @param acquisitionTrace the stack trace captured when the lease was acquired, or {@code null}
+ *                         if the lease was not sampled
+ */
+public record LeakReport(Duration heldFor, Throwable acquisitionTrace) {
+}
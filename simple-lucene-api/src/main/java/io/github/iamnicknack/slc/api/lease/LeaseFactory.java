@@ -27,11 +27,42 @@ public interface LeaseFactory<T> {
         };
     }
 
+    /**
+     * Create a {@link LeaseFactory} which reuses the state of closed {@link Lease} instances
+     * @param supplier supply a value of {@link T}
+     * @param releaser function used to release a value of type {@link T}
+     * @param <T> the type being leased
+     * @return a new factory for pooled lease instances
+     * @see PooledLeaseFactory
+     */
+    static <T> LeaseFactory<T> pooled(LeaseSupplier<T> supplier,
+                                      ReleaseConsumer<T> releaser) {
+        return new PooledLeaseFactory<>(supplier, releaser, PooledLeaseFactory.DEFAULT_CAPACITY);
+    }
+
     /**
      * Acquire a new lease of {@link T}
      */
     Lease<T> lease();
 
+    /**
+     * Record {@link LeaseMetrics} for leases provided by this factory
+     * @param leakDetection leak detection settings
+     * @return a factory providing leases from this instance
+     */
+    default InstrumentedLeaseFactory<T> instrumented(LeakDetection leakDetection) {
+        return new InstrumentedLeaseFactory<>(this, leakDetection);
+    }
+
+    /**
+     * Allow leases taken within a scope on the same thread to share a single value
+     * @return a factory providing leases from this instance
+     * @see ScopedLeaseFactory#scope()
+     */
+    default ScopedLeaseFactory<T> scoped() {
+        return new ScopedLeaseFactory<>(this);
+    }
+
     /**
      * Helper function for when only a single function needs to execute.
      * Provides the {@code try-with-resources} block required to release resources.
@@ -0,0 +1,38 @@
+package io.github.iamnicknack.slc.api.lease;
+
+import java.util.List;
+
+/**
+ * Usage statistics for the leases provided by a {@link LeaseFactory}
+ * @see InstrumentedLeaseFactory
+ */
+public interface LeaseMetrics {
+
+    /**
+     * The total number of leases acquired
+     */
+    long acquired();
+
+    /**
+     * The total number of leases released
+     */
+    long released();
+
+    /**
+     * The number of leases which have been acquired and not yet released
+     */
+    default long outstanding() {
+        return acquired() - released();
+    }
+
+    /**
+     * The distribution of time for which released leases were held
+     */
+    HoldTimeHistogram holdTimes();
+
+    /**
+     * Outstanding leases held for longer than the {@link LeakDetection#threshold()}, or an empty list
+     * if leak detection is disabled
+     */
+    List<LeakReport> leaks();
+}
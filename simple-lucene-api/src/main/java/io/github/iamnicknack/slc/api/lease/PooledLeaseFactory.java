@@ -0,0 +1,162 @@
+package io.github.iamnicknack.slc.api.lease;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link LeaseFactory} which reuses the state of closed {@link Lease} instances, so that acquiring and
+ * releasing a value creates only a small handle once the pool is warm.
+ *
+ * <p>The state of a closed lease is returned to a bounded pool and reused by a later call to {@link #lease()}.
+ * Each call returns a distinct lease, so using or closing a lease after it has been closed never affects
+ * the lease which reuses its state. State is created as required when the pool is empty and discarded
+ * when it is full</p>
+ *
+ * <p>The handle is only eliminated by escape analysis where the JIT can inline the whole lease cycle.
+ * Leases returned through further factory layers, such as the scoped searcher leases of a backend,
+ * allocate their handle on each call</p>
+ *
+ * @param <T> the type being leased
+ */
+public class PooledLeaseFactory<T> implements LeaseFactory<T> {
+
+    /**
+     * Number of leases retained when no capacity is specified
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaseFactory.class);
+
+    private final LeaseFactory.LeaseSupplier<T> supplier;
+    private final LeaseFactory.ReleaseConsumer<T> releaser;
+    private final AtomicReferenceArray<LeaseState<T>> pool;
+    private final int mask;
+
+    /**
+     * @param supplier supply a value of {@link T}
+     * @param releaser function used to release a value of type {@link T}
+     * @param capacity the maximum number of idle leases retained, rounded up to a power of two
+     */
+    public PooledLeaseFactory(LeaseFactory.LeaseSupplier<T> supplier,
+                              LeaseFactory.ReleaseConsumer<T> releaser,
+                              int capacity) {
+        if(capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.supplier = supplier;
+        this.releaser = releaser;
+        this.pool = new AtomicReferenceArray<>(Math.max(1, Integer.highestOneBit(capacity - 1) << 1));
+        this.mask = pool.length() - 1;
+    }
+
+    @Override
+    public Lease<T> lease() {
+        T value;
+        try {
+            value = supplier.lease();
+        } catch (Exception e) {
+            throw new Lease.LeaseException("Failed to acquire lease", e);
+        }
+
+        var state = take();
+        state.value = value;
+        return new PooledLease<>(state, state.stamp.get());
+    }
+
+    /**
+     * The number of idle lease states held by the pool
+     */
+    int idle() {
+        int idle = 0;
+        for(int i = 0; i <= mask; i++) {
+            if(pool.get(i) != null) {
+                idle++;
+            }
+        }
+        return idle;
+    }
+
+    /**
+     * Take an idle lease state from the pool, starting from a slot chosen by the current thread to limit contention
+     */
+    private LeaseState<T> take() {
+        int start = (int)Thread.currentThread().threadId();
+        for(int i = 0; i <= mask; i++) {
+            var state = pool.getAndSet((start + i) & mask, null);
+            if(state != null) {
+                return state;
+            }
+        }
+        return new LeaseState<>(this);
+    }
+
+    private void recycle(LeaseState<T> state) {
+        int start = (int)Thread.currentThread().threadId();
+        for(int i = 0; i <= mask; i++) {
+            if(pool.compareAndSet((start + i) & mask, null, state)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Pooled state shared by successive leases. The stamp is advanced each time a lease is closed,
+     * so that a lease from an earlier acquisition cannot use or release the value of a later one
+     */
+    private static class LeaseState<T> {
+
+        private final PooledLeaseFactory<T> factory;
+        private final AtomicLong stamp = new AtomicLong();
+        private volatile T value;
+
+        private LeaseState(PooledLeaseFactory<T> factory) {
+            this.factory = factory;
+        }
+    }
+
+    /**
+     * Handle for a single acquisition of a pooled {@link LeaseState}, returning it to the pool when closed
+     */
+    private static final class PooledLease<T> implements Lease<T> {
+
+        private final LeaseState<T> state;
+        private final long stamp;
+
+        private PooledLease(LeaseState<T> state, long stamp) {
+            this.state = state;
+            this.stamp = stamp;
+        }
+
+        @Override
+        public <R> R execute(LeaseFunction<T, R> function) {
+            // the value is read before the stamp, so that the value of a later acquisition is never used
+            T value = state.value;
+            if(state.stamp.get() != stamp) {
+                throw new IllegalStateException("Lease has been closed");
+            }
+            try {
+                return function.execute(value);
+            } catch (Exception e) {
+                throw new LeaseException("Failed to execute function with lease", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            T released = state.value;
+            if(!state.stamp.compareAndSet(stamp, stamp + 1)) {
+                return;
+            }
+            state.value = null;
+            try {
+                state.factory.releaser.release(released);
+            } catch (Exception e) {
+                logger.warn("Release failed: {}", e.getMessage(), e);
+            }
+            state.factory.recycle(state);
+        }
+    }
+}
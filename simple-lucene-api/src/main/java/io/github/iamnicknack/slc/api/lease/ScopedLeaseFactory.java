@@ -0,0 +1,136 @@
+package io.github.iamnicknack.slc.api.lease;
+
+/**
+ * {@link LeaseFactory} which allows a thread to open a {@link #scope()} in which nested calls to
+ * {@link #lease()} share a single value leased from the delegate, rather than each acquiring their own.
+ *
+ * <p>The shared value is released once the scope and every lease taken within it have been closed, so leases
+ * which outlive the scope, such as those held by paged results, remain usable. Leases taken after the scope
+ * has been closed, or on other threads, are acquired from the delegate as usual.
+ * Outside a scope this factory behaves exactly as the delegate</p>
+ *
+ * @param <T> the type being leased
+ */
+public class ScopedLeaseFactory<T> implements LeaseFactory<T> {
+
+    private final LeaseFactory<T> delegate;
+    private final ThreadLocal<Scope> scopes = new ThreadLocal<>();
+
+    /**
+     * @param delegate the factory from which values are leased
+     */
+    public ScopedLeaseFactory(LeaseFactory<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Lease the value shared by the current thread's scope or, without an open scope, a value from the delegate
+     */
+    @Override
+    public Lease<T> lease() {
+        var lease = joinCurrentScope();
+        return lease != null ? lease : delegate.lease();
+    }
+
+    /**
+     * Open a scope on the current thread, or join the scope already open. Leases taken on this thread
+     * share the scope's value until the returned lease is closed
+     * @return a lease of the value shared by the scope
+     */
+    public Lease<T> scope() {
+        var lease = joinCurrentScope();
+        if(lease != null) {
+            return lease;
+        }
+
+        var scope = new Scope(delegate.lease());
+        scopes.set(scope);
+        return scope.join(true);
+    }
+
+    /**
+     * Whether the current thread has an open scope
+     */
+    public boolean inScope() {
+        var scope = scopes.get();
+        return scope != null && scope.isOpen();
+    }
+
+    private Lease<T> joinCurrentScope() {
+        var scope = scopes.get();
+        return scope != null ? scope.join(false) : null;
+    }
+
+    /**
+     * A value shared by the leases taken within a scope, released when the last of them is closed
+     */
+    private final class Scope {
+        private final Lease<T> lease;
+        private boolean open = true;
+        private int leases = 0;
+
+        private Scope(Lease<T> lease) {
+            this.lease = lease;
+        }
+
+        private synchronized boolean isOpen() {
+            return open;
+        }
+
+        /**
+         * @param opener whether closing the lease closes the scope
+         * @return a lease of the shared value, or {@code null} if the scope has been closed
+         */
+        private synchronized Lease<T> join(boolean opener) {
+            if(!open) {
+                return null;
+            }
+            leases++;
+            return new ScopedLease(this, opener);
+        }
+
+        private void leave(boolean opener) {
+            boolean release;
+            synchronized (this) {
+                if(opener) {
+                    open = false;
+                }
+                release = --leases == 0;
+            }
+            if(opener && scopes.get() == this) {
+                scopes.remove();
+            }
+            if(release) {
+                lease.close();
+            }
+        }
+    }
+
+    private final class ScopedLease implements Lease<T> {
+        private final Scope scope;
+        private final boolean opener;
+        private boolean closed = false;
+
+        private ScopedLease(Scope scope, boolean opener) {
+            this.scope = scope;
+            this.opener = opener;
+        }
+
+        @Override
+        public <R> R execute(LeaseFunction<T, R> function) throws LeaseException {
+            if(closed) {
+                throw new IllegalStateException("Lease has been closed");
+            }
+            return scope.lease.execute(function);
+        }
+
+        @Override
+        public void close() {
+            if(closed) {
+                return;
+            }
+            closed = true;
+            scope.leave(opener);
+        }
+    }
+}
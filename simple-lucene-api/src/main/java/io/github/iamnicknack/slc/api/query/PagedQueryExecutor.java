@@ -1,5 +1,10 @@
 package io.github.iamnicknack.slc.api.query;
 
+import io.github.iamnicknack.slc.api.lease.AsyncLeases;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * Abstraction to provide a simplified interface to execute a query while retrieving results
  * in `pages` containing {@link QueryOptions#maxHits()} documents.
@@ -30,6 +35,27 @@ public interface PagedQueryExecutor<K, V> {
         return execute(query, QueryOptions.DEFAULT);
     }
 
+    /**
+     * Execute the query term on a virtual thread using the current default query options
+     * @param query the query term
+     * @return a future completed with the matching results, which must be closed
+     * @see #executeAsync(Object, Executor)
+     */
+    default CompletableFuture<PagedResult<V>> executeAsync(K query) {
+        return executeAsync(query, AsyncLeases.virtualThreads());
+    }
+
+    /**
+     * Execute the query term on the specified executor using the current default query options.
+     * Results delivered after the future is cancelled are closed, releasing their searcher lease
+     * @param query the query term
+     * @param executor the executor on which the query is executed
+     * @return a future completed with the matching results, which must be closed
+     */
+    default CompletableFuture<PagedResult<V>> executeAsync(K query, Executor executor) {
+        return AsyncLeases.supplyAsync(() -> execute(query), PagedResult::close, executor);
+    }
+
     /**
      * Override the default {@link QueryOptions}
      * @param queryOptions alternative query options
@@ -1,5 +1,10 @@
 package io.github.iamnicknack.slc.api.query;
 
+import io.github.iamnicknack.slc.api.lease.AsyncLeases;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * Abstraction to provide a simplified interface to execute a query or lookup using a single value
  * @param <K> the query value type
@@ -25,6 +30,27 @@ public interface QueryExecutor<K, V> {
         return execute(query, QueryOptions.DEFAULT);
     }
 
+    /**
+     * Execute the query term on a virtual thread using the current default query options
+     * @param query the query term
+     * @return a future completed with the matching results, which must be closed
+     * @see #executeAsync(Object, Executor)
+     */
+    default CompletableFuture<Result<V>> executeAsync(K query) {
+        return executeAsync(query, AsyncLeases.virtualThreads());
+    }
+
+    /**
+     * Execute the query term on the specified executor using the current default query options.
+     * Results delivered after the future is cancelled are closed, releasing their searcher lease
+     * @param query the query term
+     * @param executor the executor on which the query is executed
+     * @return a future completed with the matching results, which must be closed
+     */
+    default CompletableFuture<Result<V>> executeAsync(K query, Executor executor) {
+        return AsyncLeases.supplyAsync(() -> execute(query), Result::close, executor);
+    }
+
     /**
      * Provides an instance returning hits of type {@link T}. 
      * <p>Essentially a convenience method wrapping {@link Result#withIterator(Result.IteratorFactory)}</p>
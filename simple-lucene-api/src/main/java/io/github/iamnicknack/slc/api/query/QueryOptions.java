@@ -1,6 +1,8 @@
 package io.github.iamnicknack.slc.api.query;
 
-// TODO: Should support sorting
+import org.apache.lucene.search.Sort;
+
+import java.util.Set;
 
 /**
  * Options that can be passed to Lucene to perform query execution
@@ -17,9 +19,87 @@ public interface QueryOptions {
      */
     QueryOptions TOP_HIT = () -> 1;
 
+    /**
+     * The number of hits counted accurately by default, matching {@link org.apache.lucene.search.IndexSearcher}
+     */
+    int DEFAULT_TOTAL_HITS_THRESHOLD = 1000;
+
     /**
      * The maximum number of hits to return per result
      */
     int maxHits();
 
+    /**
+     * The order in which hits are returned. When the sort is a prefix of the index sort, collection
+     * terminates early once enough hits have been counted
+     * @return defaults to {@link Sort#RELEVANCE}
+     */
+    default Sort sort() {
+        return Sort.RELEVANCE;
+    }
+
+    /**
+     * The number of hits to count accurately. Once reached, the total is a lower bound and non-competitive
+     * hits may be skipped, which is significantly faster for queries matching many documents
+     * @return defaults to {@link #DEFAULT_TOTAL_HITS_THRESHOLD}
+     * @see Result#totalHitsRelation()
+     */
+    default int totalHitsThreshold() {
+        return DEFAULT_TOTAL_HITS_THRESHOLD;
+    }
+
+    /**
+     * The stored fields loaded for each hit, matching fields with the same name and their sub-fields,
+     * such as {@code name.millis} for {@code name}
+     * @return defaults to an empty set, loading all stored fields
+     */
+    default Set<String> fields() {
+        return Set.of();
+    }
+
+    /**
+     * Options which only load the specified stored fields for each hit, retaining the maximum hits and sort
+     * of this instance. Domain values read from the hits will be partial
+     * @param fields the names of the fields to load
+     * @see #fields()
+     */
+    default QueryOptions withFields(String... fields) {
+        return withFields(Set.of(fields));
+    }
+
+    /**
+     * Options which only load the specified stored fields for each hit, retaining the maximum hits and sort
+     * of this instance
+     * @param fields the names of the fields to load
+     * @see io.github.iamnicknack.slc.api.document.DocumentDescriptor#projection(String...)
+     */
+    default QueryOptions withFields(Set<String> fields) {
+        return new QueryOptionsRecord(maxHits(), sort(), totalHitsThreshold(), fields);
+    }
+
+    /**
+     * Options which count hits accurately up to the specified threshold, retaining the other options of this instance.
+     * A threshold of {@code 0} counts only the returned hits, allowing the most hits to be skipped
+     * @param totalHitsThreshold the number of hits to count accurately
+     * @see #totalHitsThreshold()
+     */
+    default QueryOptions withTotalHitsThreshold(int totalHitsThreshold) {
+        return new QueryOptionsRecord(maxHits(), sort(), totalHitsThreshold, fields());
+    }
+
+    /**
+     * Options which count all hits accurately, retaining the other options of this instance
+     */
+    default QueryOptions withExactTotalHits() {
+        return withTotalHitsThreshold(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Options returning hits in the specified order
+     * @param maxHits the maximum number of hits to return per result
+     * @param sort the order in which hits are returned
+     */
+    static QueryOptions sorted(int maxHits, Sort sort) {
+        return new QueryOptionsRecord(maxHits, sort, DEFAULT_TOTAL_HITS_THRESHOLD, Set.of());
+    }
 }
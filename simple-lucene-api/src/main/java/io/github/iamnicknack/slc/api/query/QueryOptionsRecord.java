@@ -0,0 +1,27 @@
+package io.github.iamnicknack.slc.api.query;
+
+import org.apache.lucene.search.Sort;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link QueryOptions} holding every option, as returned by the {@code with*} methods
+ * @param maxHits the maximum number of hits to return per result
+ * @param sort the order in which hits are returned
+ * @param totalHitsThreshold the number of hits to count accurately
+ * @param fields the stored fields loaded for each hit, or an empty set to load all stored fields
+ */
+public record QueryOptionsRecord(int maxHits,
+                                 Sort sort,
+                                 int totalHitsThreshold,
+                                 Set<String> fields) implements QueryOptions {
+
+    public QueryOptionsRecord {
+        Objects.requireNonNull(sort, "sort cannot be null");
+        if(totalHitsThreshold < 0) {
+            throw new IllegalArgumentException("Total hits threshold must not be negative: " + totalHitsThreshold);
+        }
+        fields = Set.copyOf(fields);
+    }
+}
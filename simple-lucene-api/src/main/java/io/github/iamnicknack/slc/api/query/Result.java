@@ -1,5 +1,7 @@
 package io.github.iamnicknack.slc.api.query;
 
+import org.apache.lucene.search.TotalHits;
+
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Function;
@@ -20,6 +22,14 @@ public interface Result<T> extends Iterable<Hit<T>>, AutoCloseable {
         return 0;
     }
 
+    /**
+     * Whether {@link #totalHits()} is exact or a lower bound, as limited by {@link QueryOptions#totalHitsThreshold()}
+     * @return defaults to {@link TotalHits.Relation#EQUAL_TO}
+     */
+    default TotalHits.Relation totalHitsRelation() {
+        return TotalHits.Relation.EQUAL_TO;
+    }
+
     /**
      * Close any resources used by the instance
      */
@@ -59,6 +69,11 @@ public interface Result<T> extends Iterable<Hit<T>>, AutoCloseable {
                 return Result.this.totalHits();
             }
 
+            @Override
+            public TotalHits.Relation totalHitsRelation() {
+                return Result.this.totalHitsRelation();
+            }
+
             @Override
             public void close() {
                 Result.this.close();
@@ -8,7 +8,15 @@ import io.github.iamnicknack.slc.api.lease.LeaseFactory.ReleaseConsumer;
 import org.apache.lucene.facet.FacetsConfig;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 class LuceneBackendTest {
@@ -81,4 +89,127 @@ class LuceneBackendTest {
         verify(updateConsumer).release(updateComponents);
     }
 
-}
\ No newline at end of file
+    @Test
+    @SuppressWarnings({"unchecked", "resource"})
+    void defaultGenerationsAreNotTracked() throws Exception {
+        SearchComponents searchComponents = mock(SearchComponents.class);
+        UpdateComponents updateComponents = mock(UpdateComponents.class);
+        ReleaseConsumer<SearchComponents> searchConsumer = mock(ReleaseConsumer.class);
+        ReleaseConsumer<UpdateComponents> updateConsumer = mock(ReleaseConsumer.class);
+        LeaseFactory<SearchComponents> searchComponentsLeaseFactory = LeaseFactory.create(() -> searchComponents, searchConsumer);
+        LeaseFactory<UpdateComponents> updateComponentsLeaseFactory = LeaseFactory.create(() -> updateComponents, updateConsumer);
+
+        LuceneBackend backend = new LuceneBackend() {
+            @Override
+            public LeaseFactory<SearchComponents> searcherLeaseFactory() {
+                return searchComponentsLeaseFactory;
+            }
+
+            @Override
+            public LeaseFactory<UpdateComponents> updateLeaseFactory() {
+                return updateComponentsLeaseFactory;
+            }
+
+            @Override
+            public FacetsConfig facetsConfig() {
+                return null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        var updateResult = backend.trackedUpdate(leasedValue -> "updated");
+        assertEquals("updated", updateResult.value());
+        assertEquals(LuceneBackend.UpdateResult.NO_GENERATION, updateResult.generation());
+        verify(updateConsumer).release(updateComponents);
+
+        assertEquals("searched", backend.search(updateResult.generation(), leasedValue -> "searched"));
+        verify(searchConsumer).release(searchComponents);
+
+        assertEquals("durable", backend.durableUpdate(leasedValue -> "durable").value());
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "resource"})
+    void asyncOperationsCloseLeases() throws Exception {
+        SearchComponents searchComponents = mock(SearchComponents.class);
+        UpdateComponents updateComponents = mock(UpdateComponents.class);
+        ReleaseConsumer<SearchComponents> searchConsumer = mock(ReleaseConsumer.class);
+        ReleaseConsumer<UpdateComponents> updateConsumer = mock(ReleaseConsumer.class);
+        LeaseFactory<SearchComponents> searchComponentsLeaseFactory = LeaseFactory.create(() -> searchComponents, searchConsumer);
+        LeaseFactory<UpdateComponents> updateComponentsLeaseFactory = LeaseFactory.create(() -> updateComponents, updateConsumer);
+
+        LuceneBackend backend = new LuceneBackend() {
+            @Override
+            public LeaseFactory<SearchComponents> searcherLeaseFactory() {
+                return searchComponentsLeaseFactory;
+            }
+
+            @Override
+            public LeaseFactory<UpdateComponents> updateLeaseFactory() {
+                return updateComponentsLeaseFactory;
+            }
+
+            @Override
+            public FacetsConfig facetsConfig() {
+                return null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        assertEquals("searched", backend.searchAsync(leasedValue -> "searched").get(1, TimeUnit.MINUTES));
+        verify(searchConsumer).release(searchComponents);
+
+        assertEquals("updated", backend.updateAsync(leasedValue -> "updated").get(1, TimeUnit.MINUTES));
+        verify(updateConsumer).release(updateComponents);
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "resource"})
+    void searchScopeSharesScopedSearcher() throws Exception {
+        ReleaseConsumer<SearchComponents> searchConsumer = mock(ReleaseConsumer.class);
+        var leaseFactory = new AtomicReference<LeaseFactory<SearchComponents>>(
+                LeaseFactory.create(() -> mock(SearchComponents.class), searchConsumer)
+        );
+
+        LuceneBackend backend = new LuceneBackend() {
+            @Override
+            public LeaseFactory<SearchComponents> searcherLeaseFactory() {
+                return leaseFactory.get();
+            }
+
+            @Override
+            public LeaseFactory<UpdateComponents> updateLeaseFactory() {
+                return null;
+            }
+
+            @Override
+            public FacetsConfig facetsConfig() {
+                return null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        // without a scoped factory the scope holds its own searcher
+        try(var scope = backend.searchScope()) {
+            var scoped = scope.execute(leasedValue -> leasedValue);
+            assertNotSame(scoped, backend.search(leasedValue -> leasedValue));
+        }
+        verify(searchConsumer, times(2)).release(any());
+
+        leaseFactory.set(leaseFactory.get().scoped());
+        try(var scope = backend.searchScope()) {
+            var scoped = scope.execute(leasedValue -> leasedValue);
+            assertSame(scoped, backend.search(leasedValue -> leasedValue));
+        }
+        verify(searchConsumer, times(3)).release(any());
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.iamnicknack.slc.api.document;
+
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DocumentDescriptorTest {
+
+    private final FieldDescriptor<?> population = sortable("population", SortField.Type.LONG);
+
+    private final DocumentDescriptor descriptor = () -> Map.of(
+            "name", sortable("name", SortField.Type.STRING),
+            "iso", mock(FieldDescriptor.class),
+            "place", mock(FieldDescriptor.class),
+            "population", population
+    );
+
+    @Test
+    void projectsDescribedFields() {
+        assertEquals(Set.of("name", "iso"), descriptor.projection("name", "iso"));
+    }
+
+    @Test
+    void rejectsUnknownFields() {
+        assertThrows(IllegalArgumentException.class, () -> descriptor.projection("name", "unknown"));
+    }
+
+    @Test
+    void sortsByFieldNames() {
+        var sort = descriptor.sort("-population", "name");
+
+        assertEquals(new Sort(
+                new SortField("population.sort", SortField.Type.LONG, true),
+                new SortField("name.sort", SortField.Type.STRING, false)
+        ), sort);
+    }
+
+    @Test
+    void rejectsUnsortableFields() {
+        assertThrows(IllegalArgumentException.class, () -> descriptor.sort("unknown"));
+        assertThrows(IllegalArgumentException.class, () -> descriptor.sort("-iso"));
+    }
+
+    private static FieldDescriptor<?> sortable(String name, SortField.Type type) {
+        FieldDescriptor<?> field = mock(FieldDescriptor.class);
+        when(field.sortField(anyBoolean())).thenAnswer(invocation -> Optional.of(
+                new SortField(name + ".sort", type, invocation.<Boolean>getArgument(0))
+        ));
+        return field;
+    }
+}
@@ -3,7 +3,10 @@ package io.github.iamnicknack.slc.api.document;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FieldDescriptorTest {
 
@@ -34,4 +37,24 @@ class FieldDescriptorTest {
         Mockito.when(field.facetable()).thenCallRealMethod();
         assertFalse(field.facetable());
     }
-}
\ No newline at end of file
+
+    @Test
+    void defaultIndexSortIsEmpty() {
+        var field = Mockito.mock(FieldDescriptor.class);
+        Mockito.when(field.indexSort()).thenCallRealMethod();
+        assertTrue(field.indexSort().isEmpty());
+    }
+
+    @Test
+    void defaultSortFieldIsEmpty() {
+        var field = Mockito.mock(FieldDescriptor.class);
+        Mockito.when(field.sortField(true)).thenCallRealMethod();
+        assertTrue(field.sortField(true).isEmpty());
+    }
+
+    @Test
+    void defaultDocumentIndexSortIsEmpty() {
+        DocumentDescriptor document = Map::of;
+        assertTrue(document.indexSort().isEmpty());
+    }
+}
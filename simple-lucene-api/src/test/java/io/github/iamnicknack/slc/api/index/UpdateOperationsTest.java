@@ -5,11 +5,14 @@ import org.junit.jupiter.api.Test;
 import io.github.iamnicknack.slc.api.backend.LuceneBackend.UpdateComponents;
 import io.github.iamnicknack.slc.api.lease.Lease;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -91,6 +94,20 @@ class UpdateOperationsTest {
         testValues.forEach(value -> verify(invocationCheck).accept(value));
     }
 
+    @Test
+    void chainAppliesLargeCollectionsInOrder() throws Exception {
+        var values = IntStream.range(0, 100_000).boxed().toList();
+        var applied = new ArrayList<Integer>();
+
+        var operation = UpdateOperations.chain(values, value -> components -> {
+            applied.add(value);
+            return null;
+        });
+
+        assertEquals(values.size(), operation.execute(updateComponents));
+        assertEquals(values, applied);
+    }
+
     /**
      * Relatively redundant test for default method
      */
@@ -100,6 +117,15 @@ class UpdateOperationsTest {
         assertThrows(UnsupportedOperationException.class, () -> operations.updateAll(List.of(1)));
     }
 
+    /**
+     * Relatively redundant test for default method
+     */
+    @Test
+    void defaultUpdateDocValuesThrowsException() {
+        UpdateOperations<Integer> operations = value -> null;
+        assertThrows(UnsupportedOperationException.class, () -> operations.updateDocValues(1, "field"));
+    }
+
     /**
      * Relatively redundant test for default method
      */
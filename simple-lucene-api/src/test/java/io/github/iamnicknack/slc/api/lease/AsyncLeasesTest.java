@@ -0,0 +1,81 @@
+package io.github.iamnicknack.slc.api.lease;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AsyncLeasesTest {
+
+    @Test
+    void suppliesOnVirtualThread() throws Exception {
+        var future = AsyncLeases.supplyAsync(
+                () -> Thread.currentThread().isVirtual(),
+                value -> fail("unexpected discard"),
+                AsyncLeases.virtualThreads()
+        );
+
+        assertTrue(future.get(1, TimeUnit.MINUTES));
+    }
+
+    @Test
+    void doesNotSupplyWhenCancelledBeforeStart() {
+        var tasks = new ArrayList<Runnable>();
+        var supplied = new AtomicInteger();
+
+        var future = AsyncLeases.supplyAsync(supplied::incrementAndGet, value -> fail("unexpected discard"), tasks::add);
+        future.cancel(false);
+        tasks.forEach(Runnable::run);
+
+        assertEquals(0, supplied.get());
+        assertThrows(CancellationException.class, future::join);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void discardsValueWhenCancelledWhileSupplying() {
+        var futureRef = new AtomicReference<CompletableFuture<String>>();
+        var tasks = new ArrayList<Runnable>();
+        Consumer<String> discard = mock(Consumer.class);
+
+        futureRef.set(AsyncLeases.supplyAsync(() -> {
+            futureRef.get().cancel(true);
+            return "value";
+        }, discard, tasks::add));
+        tasks.forEach(Runnable::run);
+
+        verify(discard).accept("value");
+        assertTrue(futureRef.get().isCancelled());
+    }
+
+    @Test
+    void completesExceptionallyWhenSupplierFails() {
+        var failure = new Lease.LeaseException("failed", new IllegalStateException());
+        var future = AsyncLeases.<String>supplyAsync(() -> {
+            throw failure;
+        }, value -> fail("unexpected discard"), Runnable::run);
+
+        var e = assertThrows(ExecutionException.class, future::get);
+        assertSame(failure, e.getCause());
+    }
+
+    @Test
+    void completesExceptionallyWhenRejected() {
+        var future = AsyncLeases.supplyAsync(() -> "value", value -> fail("unexpected discard"), runnable -> {
+            throw new RejectedExecutionException();
+        });
+
+        var e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+    }
+}
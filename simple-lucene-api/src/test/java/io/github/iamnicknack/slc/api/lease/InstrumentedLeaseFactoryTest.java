@@ -0,0 +1,153 @@
+package io.github.iamnicknack.slc.api.lease;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedLeaseFactoryTest {
+
+    private final LeaseFactory<String> delegate = LeaseFactory.create(() -> "TEST", value -> {});
+
+    @Test
+    void tracksOutstandingLeases() {
+        var factory = delegate.instrumented(LeakDetection.disabled());
+
+        var first = factory.lease();
+        try(var second = factory.lease()) {
+            assertEquals("TEST", second.execute(value -> value));
+            assertEquals(2, factory.outstanding());
+        }
+        assertEquals(1, factory.outstanding());
+
+        first.close();
+        first.close();
+        assertEquals(2, factory.acquired());
+        assertEquals(2, factory.released());
+        assertEquals(0, factory.outstanding());
+        assertEquals(2, factory.holdTimes().count());
+        assertTrue(factory.leaks().isEmpty());
+    }
+
+    @Test
+    void recordsHoldTimes() throws InterruptedException {
+        var factory = delegate.instrumented(LeakDetection.disabled());
+        try(var ignored = factory.lease()) {
+            Thread.sleep(10);
+        }
+
+        var holdTimes = factory.holdTimes();
+        assertTrue(holdTimes.max().compareTo(Duration.ofMillis(10)) >= 0);
+        assertTrue(holdTimes.mean().compareTo(Duration.ofMillis(10)) >= 0);
+        assertTrue(holdTimes.percentile(50).compareTo(holdTimes.max()) >= 0);
+    }
+
+    @Test
+    void reportsLeaksOnce() {
+        var reports = new ArrayList<LeakReport>();
+        var clock = new AtomicLong();
+        var factory = new InstrumentedLeaseFactory<>(delegate, new LeakDetection(Duration.ofNanos(5), 1, reports::add), clock::get);
+
+        var leaked = factory.lease();
+        clock.addAndGet(10);
+        var later = factory.lease();
+        assertEquals(1, reports.size());
+        assertNotNull(reports.get(0).acquisitionTrace());
+        assertEquals(Duration.ofNanos(10), reports.get(0).heldFor());
+
+        // within the check period
+        clock.addAndGet(1);
+        factory.lease().close();
+        assertEquals(1, reports.size());
+
+        clock.addAndGet(10);
+        factory.lease().close();
+        assertEquals(2, reports.size());
+        assertEquals(2, factory.leaks().size());
+
+        leaked.close();
+        later.close();
+        assertTrue(factory.leaks().isEmpty());
+    }
+
+    @Test
+    void reportsLeaksOnRelease() {
+        var reports = new ArrayList<LeakReport>();
+        var clock = new AtomicLong();
+        var factory = new InstrumentedLeaseFactory<>(delegate, new LeakDetection(Duration.ofNanos(5), 0, reports::add), clock::get);
+
+        var leaked = factory.lease();
+        var released = factory.lease();
+        clock.addAndGet(10);
+
+        // no further leases are acquired, so the leak is found when the other lease is released
+        released.close();
+        assertEquals(1, reports.size());
+        assertNull(reports.get(0).acquisitionTrace());
+        assertEquals(Duration.ofNanos(10), reports.get(0).heldFor());
+
+        leaked.close();
+        assertEquals(1, reports.size());
+    }
+
+    @Test
+    void listsOnlyLeasesExceedingThreshold() {
+        var factory = delegate.instrumented(LeakDetection.logging(Duration.ofMinutes(1), 0));
+        try(var ignored = factory.lease()) {
+            assertTrue(factory.leaks().isEmpty());
+        }
+    }
+
+    @Test
+    void samplesAcquisitionTraces() {
+        var reports = new ArrayList<LeakReport>();
+        var clock = new AtomicLong();
+        var factory = new InstrumentedLeaseFactory<>(delegate, new LeakDetection(Duration.ofNanos(1), 0, reports::add), clock::get);
+
+        var leaked = factory.lease();
+        clock.addAndGet(5);
+        factory.lease().close();
+        assertEquals(1, reports.size());
+        assertNull(reports.get(0).acquisitionTrace());
+        leaked.close();
+    }
+
+    @Test
+    void logsLeaks() throws InterruptedException {
+        var factory = delegate.instrumented(LeakDetection.logging(Duration.ofMillis(1), 1));
+        var leaked = factory.lease();
+        Thread.sleep(5);
+        assertDoesNotThrow(() -> factory.lease().close());
+        leaked.close();
+    }
+
+    @Test
+    void validatesLeakDetection() {
+        assertThrows(IllegalArgumentException.class, () -> new LeakDetection(Duration.ofSeconds(-1), 0, report -> {}));
+        assertThrows(IllegalArgumentException.class, () -> new LeakDetection(Duration.ZERO, -0.1, report -> {}));
+        assertThrows(IllegalArgumentException.class, () -> new LeakDetection(Duration.ZERO, 1.1, report -> {}));
+        assertFalse(LeakDetection.disabled().enabled());
+        assertTrue(LeakDetection.logging(Duration.ofSeconds(1), 0).enabled());
+    }
+
+    @Test
+    void histogramPercentiles() {
+        var histogram = new HoldTimeHistogram();
+        assertEquals(Duration.ZERO, histogram.percentile(99));
+        assertEquals(Duration.ZERO, histogram.mean());
+
+        List.of(0L, 100L, 1_000L, 1_000_000L).forEach(histogram::record);
+        assertEquals(4, histogram.count());
+        assertEquals(Duration.ofNanos(1), histogram.percentile(0));
+        assertEquals(Duration.ofNanos(127), histogram.percentile(50));
+        assertEquals(Duration.ofNanos((1 << 20) - 1), histogram.percentile(100));
+        assertEquals(Duration.ofNanos(1_000_000), histogram.max());
+
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.iamnicknack.slc.api.lease;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.github.iamnicknack.slc.api.lease.LeaseFactory.LeaseSupplier;
+import io.github.iamnicknack.slc.api.lease.LeaseFactory.ReleaseConsumer;
+import io.github.iamnicknack.slc.api.test.MatchedLoggingEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.*;
+
+class PooledLeaseFactoryTest {
+
+    @SuppressWarnings("unchecked")
+    static Appender<ILoggingEvent> mockAppender = mock(Appender.class);
+
+    static {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger logger = loggerContext.getLogger(LeaseFactory.class.getName());
+        logger.addAppender(mockAppender);
+    }
+
+    @SuppressWarnings("unchecked")
+    private final ReleaseConsumer<String> releaseCheck = mock(ReleaseConsumer.class);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void beforeEach() {
+        reset(mockAppender);
+    }
+
+    @Test
+    void rejectsInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new PooledLeaseFactory<>(() -> "TEST", releaseCheck, 0));
+    }
+
+    @Test
+    void reusesClosedLeases() throws Exception {
+        var factory = new PooledLeaseFactory<>(() -> "TEST", releaseCheck, 1);
+
+        var lease = factory.lease();
+        assertEquals("TEST", lease.execute(value -> value));
+        lease.close();
+        verify(releaseCheck).release("TEST");
+        assertEquals(1, factory.idle());
+
+        try(var reused = factory.lease()) {
+            assertEquals(0, factory.idle());
+            assertNotSame(lease, reused);
+            assertEquals("TEST", reused.execute(value -> value));
+        }
+        assertEquals(1, factory.idle());
+    }
+
+    @Test
+    void discardsLeasesWhenFull() {
+        var factory = new PooledLeaseFactory<>(() -> "TEST", releaseCheck, 1);
+
+        var first = factory.lease();
+        var second = factory.lease();
+        assertNotSame(first, second);
+        first.close();
+        second.close();
+
+        assertEquals(1, factory.idle());
+    }
+
+    @Test
+    void closedLeaseDoesNotAffectLaterLease() throws Exception {
+        var values = new AtomicInteger();
+        var factory = new PooledLeaseFactory<>(() -> "TEST-" + values.incrementAndGet(), releaseCheck, 1);
+
+        var stale = factory.lease();
+        stale.close();
+        try(var current = factory.lease()) {
+            stale.close();
+            assertThrows(IllegalStateException.class, () -> stale.execute(value -> value));
+
+            assertEquals("TEST-2", current.execute(value -> value));
+            verify(releaseCheck).release("TEST-1");
+            verify(releaseCheck, never()).release("TEST-2");
+        }
+        verify(releaseCheck).release("TEST-2");
+    }
+
+    @Test
+    @SuppressWarnings("resource")
+    void closedLeaseCannotBeUsed() throws Exception {
+        var lease = LeaseFactory.pooled(() -> "TEST", releaseCheck).lease();
+        lease.close();
+        lease.close();
+
+        verify(releaseCheck, times(1)).release("TEST");
+        assertThrows(IllegalStateException.class, () -> lease.execute(value -> value));
+    }
+
+    @Test
+    void supplierExceptionThrowsLeaseException() {
+        LeaseSupplier<String> supplier = () -> {
+            throw new RuntimeException("EX");
+        };
+        var factory = LeaseFactory.pooled(supplier, releaseCheck);
+
+        var thrown = assertThrows(Lease.LeaseException.class, factory::lease);
+        assertEquals("EX", thrown.getCause().getMessage());
+    }
+
+    @Test
+    void functionExceptionThrowsLeaseException() throws Exception {
+        try(var lease = LeaseFactory.pooled(() -> "TEST", releaseCheck).lease()) {
+            var thrown = assertThrows(Lease.LeaseException.class, () -> lease.execute(ignored -> {
+                throw new RuntimeException("EX");
+            }));
+            assertEquals("EX", thrown.getCause().getMessage());
+        }
+        verify(releaseCheck).release("TEST");
+    }
+
+    @Test
+    void consumerExceptionIsLogged() {
+        ReleaseConsumer<String> consumer = value -> {
+            throw new RuntimeException("EX");
+        };
+        LeaseFactory.pooled(() -> "TEST", consumer)
+                .lease()
+                .close();
+
+        verify(mockAppender).doAppend(argThat(new MatchedLoggingEvent("WARN", "Release failed: {}", "EX")));
+    }
+
+    /**
+     * Once the lease cycle has been compiled, leasing from a warm pool should not allocate, allowing for a
+     * small amount of measurement noise. Lease handles only become allocation-free after escape analysis,
+     * so measurement is repeated until the JIT has compiled the cycle
+     */
+    @Test
+    void leasesWithoutAllocation() {
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        var factory = LeaseFactory.pooled(() -> "TEST", value -> {});
+        Lease.LeaseFunction<String, Integer> function = String::length;
+
+        long threadId = Thread.currentThread().threadId();
+        long allocated = Long.MAX_VALUE;
+        for(int round = 0; round < 100 && allocated >= 10_000; round++) {
+            long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            leaseRepeatedly(factory, function);
+            allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+        }
+        assertTrue(allocated < 10_000, "Allocated " + allocated + " bytes");
+    }
+
+    private static void leaseRepeatedly(LeaseFactory<String> factory, Lease.LeaseFunction<String, Integer> function) {
+        for(int i = 0; i < 100_000; i++) {
+            try(var lease = factory.lease()) {
+                lease.execute(function);
+            }
+        }
+    }
+}
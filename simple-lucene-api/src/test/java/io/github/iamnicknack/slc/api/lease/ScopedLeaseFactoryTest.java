@@ -0,0 +1,106 @@
+package io.github.iamnicknack.slc.api.lease;
+
+import io.github.iamnicknack.slc.api.lease.LeaseFactory.ReleaseConsumer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ScopedLeaseFactoryTest {
+
+    private final AtomicInteger acquired = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    private final ReleaseConsumer<String> releaseCheck = mock(ReleaseConsumer.class);
+
+    private final ScopedLeaseFactory<String> factory = LeaseFactory
+            .create(() -> "value " + acquired.incrementAndGet(), releaseCheck)
+            .scoped();
+
+    @Test
+    void leasesFromDelegateOutsideScope() throws Exception {
+        try(var first = factory.lease(); var second = factory.lease()) {
+            assertEquals("value 1", first.execute(value -> value));
+            assertEquals("value 2", second.execute(value -> value));
+        }
+        assertFalse(factory.inScope());
+        verify(releaseCheck).release("value 1");
+        verify(releaseCheck).release("value 2");
+    }
+
+    @Test
+    void sharesValueWithinScope() throws Exception {
+        try(var scope = factory.scope()) {
+            assertTrue(factory.inScope());
+            try(var nested = factory.lease(); var nestedScope = factory.scope()) {
+                assertEquals("value 1", nested.execute(value -> value));
+                assertEquals("value 1", nestedScope.execute(value -> value));
+            }
+            assertTrue(factory.inScope());
+            assertEquals("value 1", scope.execute(value -> value));
+            verify(releaseCheck, never()).release(any());
+        }
+
+        assertFalse(factory.inScope());
+        verify(releaseCheck).release("value 1");
+        assertEquals(1, acquired.get());
+
+        try(var lease = factory.lease()) {
+            assertEquals("value 2", lease.execute(value -> value));
+        }
+    }
+
+    @Test
+    void releasesOnceLeasesOutliveScope() throws Exception {
+        var scope = factory.scope();
+        var nested = factory.lease();
+        scope.close();
+        scope.close();
+
+        assertFalse(factory.inScope());
+        assertEquals("value 1", nested.execute(value -> value));
+        verify(releaseCheck, never()).release(any());
+
+        try(var lease = factory.lease()) {
+            assertEquals("value 2", lease.execute(value -> value));
+        }
+
+        nested.close();
+        verify(releaseCheck).release("value 1");
+        assertThrows(IllegalStateException.class, () -> nested.execute(value -> value));
+    }
+
+    @Test
+    void doesNotShareAcrossThreads() throws Exception {
+        try(var scope = factory.scope()) {
+            var other = CompletableFuture.supplyAsync(() -> {
+                try(var lease = factory.lease()) {
+                    return lease.execute(value -> value);
+                }
+            }).join();
+
+            assertEquals("value 2", other);
+            assertEquals("value 1", scope.execute(value -> value));
+        }
+    }
+
+    @Test
+    void scopeClosedOnAnotherThreadIsNotJoined() throws Exception {
+        var scope = factory.scope();
+        CompletableFuture.runAsync(scope::close).join();
+
+        assertFalse(factory.inScope());
+        verify(releaseCheck).release("value 1");
+
+        try(var lease = factory.lease()) {
+            assertEquals("value 2", lease.execute(value -> value));
+        }
+        try(var reopened = factory.scope()) {
+            assertTrue(factory.inScope());
+            assertEquals("value 3", reopened.execute(value -> value));
+        }
+    }
+}
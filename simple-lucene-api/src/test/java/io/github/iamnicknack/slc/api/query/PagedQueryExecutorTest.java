@@ -2,10 +2,16 @@ package io.github.iamnicknack.slc.api.query;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class PagedQueryExecutorTest {
@@ -67,4 +73,34 @@ class PagedQueryExecutorTest {
 
         assertEquals(QueryOptions.DEFAULT, wrappedExecutor.options());
     }
+
+    @Test
+    @SuppressWarnings("resource")
+    void executesAsynchronously() throws Exception {
+        var closeCheck = mock(Runnable.class);
+        var executor = new FakePagedQueryExecutor(List.of("first", "second"), closeCheck);
+
+        var result = executor.executeAsync("TEST").get(1, TimeUnit.MINUTES);
+        assertEquals(2, result.stream().count());
+        verify(closeCheck, never()).run();
+    }
+
+    @Test
+    @SuppressWarnings("resource")
+    void closesResultWhenCancelledWhileExecuting() {
+        var closeCheck = mock(Runnable.class);
+        var delegate = new FakePagedQueryExecutor(List.of("first"), closeCheck);
+        var futureRef = new AtomicReference<CompletableFuture<PagedResult<Object>>>();
+        PagedQueryExecutor<Object, Object> executor = (query, options) -> {
+            futureRef.get().cancel(true);
+            return delegate.execute(query, options);
+        };
+
+        var tasks = new ArrayList<Runnable>();
+        futureRef.set(executor.executeAsync("TEST", tasks::add));
+        tasks.forEach(Runnable::run);
+
+        assertTrue(futureRef.get().isCancelled());
+        verify(closeCheck).run();
+    }
 }
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -83,4 +84,14 @@ class QueryExecutorTest {
             assertEquals(data.get(i), list.get(i).value().value);
         }
     }
+
+    @Test
+    void executesAsynchronouslyWithOptions() throws Exception {
+        var data = List.<Object>of("first", "second");
+        var executor = new FakeQueryExecutor(data)
+                .withOptions(QueryOptions.TOP_HIT);
+
+        var result = executor.executeAsync("TEST").get(1, TimeUnit.MINUTES);
+        assertEquals(data, result.stream().map(Hit::value).toList());
+    }
 }
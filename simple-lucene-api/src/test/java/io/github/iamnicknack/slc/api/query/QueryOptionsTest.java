@@ -0,0 +1,71 @@
+package io.github.iamnicknack.slc.api.query;
+
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryOptionsTest {
+
+    @Test
+    void defaultsToRelevance() {
+        assertEquals(Sort.RELEVANCE, QueryOptions.DEFAULT.sort());
+    }
+
+    @Test
+    void sortedOptionsCarrySort() {
+        var sort = new Sort(new SortField("field", SortField.Type.LONG, true));
+        var options = QueryOptions.sorted(5, sort);
+
+        assertEquals(5, options.maxHits());
+        assertSame(sort, options.sort());
+        assertThrows(NullPointerException.class, () -> QueryOptions.sorted(5, null));
+    }
+
+    @Test
+    void loadsAllFieldsByDefault() {
+        assertTrue(QueryOptions.DEFAULT.fields().isEmpty());
+    }
+
+    @Test
+    void withFieldsRetainsOtherOptions() {
+        var sort = new Sort(new SortField("field", SortField.Type.LONG, true));
+        var options = QueryOptions.sorted(5, sort).withFields("name", "iso");
+
+        assertEquals(5, options.maxHits());
+        assertSame(sort, options.sort());
+        assertEquals(Set.of("name", "iso"), options.fields());
+    }
+
+    @Test
+    void countsDefaultThresholdOfHits() {
+        assertEquals(QueryOptions.DEFAULT_TOTAL_HITS_THRESHOLD, QueryOptions.DEFAULT.totalHitsThreshold());
+        assertEquals(QueryOptions.DEFAULT_TOTAL_HITS_THRESHOLD, QueryOptions.DEFAULT.withFields("name").totalHitsThreshold());
+    }
+
+    @Test
+    void withTotalHitsThresholdRetainsOtherOptions() {
+        var sort = new Sort(new SortField("field", SortField.Type.LONG, true));
+        var options = QueryOptions.sorted(5, sort).withFields("name").withTotalHitsThreshold(0);
+
+        assertEquals(5, options.maxHits());
+        assertSame(sort, options.sort());
+        assertEquals(Set.of("name"), options.fields());
+        assertEquals(0, options.totalHitsThreshold());
+        assertEquals(0, options.withFields("iso").totalHitsThreshold());
+        assertEquals(Integer.MAX_VALUE, options.withExactTotalHits().totalHitsThreshold());
+        assertThrows(IllegalArgumentException.class, () -> options.withTotalHitsThreshold(-1));
+    }
+
+    @Test
+    void withersCopyAllOptions() {
+        var sort = new Sort(new SortField("field", SortField.Type.LONG, true));
+        var options = QueryOptions.sorted(5, sort).withTotalHitsThreshold(0).withFields("name");
+
+        assertEquals(new QueryOptionsRecord(5, sort, 0, Set.of("name")), options);
+        assertEquals(options, options.withTotalHitsThreshold(0));
+    }
+}
@@ -1,7 +1,9 @@
 package io.github.iamnicknack.slc.api.query;
 
+import org.apache.lucene.search.TotalHits;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 class ResultTest {
@@ -29,4 +31,16 @@ class ResultTest {
 
         verify(result).totalHits();
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void withIteratorDefersTotalHitsRelation() {
+        Result<String> result = mock(Result.class);
+        when(result.totalHitsRelation()).thenCallRealMethod();
+        when(result.withIterator(any(Result.IteratorFactory.class))).thenCallRealMethod();
+
+        assertEquals(TotalHits.Relation.EQUAL_TO, result.withIterator(ignored -> ignored).totalHitsRelation());
+
+        verify(result).totalHitsRelation();
+    }
+}
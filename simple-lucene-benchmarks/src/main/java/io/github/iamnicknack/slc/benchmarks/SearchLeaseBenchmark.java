@@ -0,0 +1,79 @@
+package io.github.iamnicknack.slc.benchmarks;
+
+import io.github.iamnicknack.slc.api.backend.LuceneBackend;
+import io.github.iamnicknack.slc.api.lease.Lease;
+import io.github.iamnicknack.slc.api.lease.LeaseFactory;
+import io.github.iamnicknack.slc.core.backend.LuceneBackends;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of leasing search components for trivial work, along with the lease factories
+ * used to provide them.
+ *
+ * <p>Run with the GC profiler to report the bytes allocated by each lease as {@code gc.alloc.rate.norm}:</p>
+ * <pre>
+ * mvn -P benchmark package
+ * java -jar simple-lucene-benchmarks/target/benchmarks.jar SearchLeaseBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchLeaseBenchmark {
+
+    private static final Lease.LeaseFunction<LuceneBackend.SearchComponents, Integer> MAX_DOC =
+            components -> components.indexSearcher().getIndexReader().maxDoc();
+
+    private final LeaseFactory<String> createdLeases = LeaseFactory.create(() -> "value", value -> {});
+    private final LeaseFactory<String> pooledLeases = LeaseFactory.pooled(() -> "value", value -> {});
+
+    private LuceneBackend backend;
+
+    @Setup
+    public void setup() throws IOException {
+        backend = LuceneBackends.memory();
+        backend.update(components -> components.indexWriter()
+                .addDocument(List.of(new StringField("field", "value", Field.Store.YES)))
+        );
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        backend.close();
+    }
+
+    @Benchmark
+    public int search() {
+        return backend.search(MAX_DOC);
+    }
+
+    @Benchmark
+    public int lease() {
+        try(var lease = backend.searcherLeaseFactory().lease()) {
+            return lease.execute(MAX_DOC);
+        }
+    }
+
+    @Benchmark
+    public int createdLease() {
+        try(var lease = createdLeases.lease()) {
+            return lease.execute(String::length);
+        }
+    }
+
+    @Benchmark
+    public int pooledLease() {
+        try(var lease = pooledLeases.lease()) {
+            return lease.execute(String::length);
+        }
+    }
+}
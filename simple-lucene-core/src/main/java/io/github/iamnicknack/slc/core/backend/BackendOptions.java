@@ -0,0 +1,48 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import io.github.iamnicknack.slc.api.lease.LeakDetection;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Configuration choices applied to a {@link DefaultLuceneBackend}, as reported by {@link DefaultLuceneBackend#options()}.
+ * Options other than the defaults are configured using {@link LuceneBackendBuilder}
+ *
+ * @param directory the directory implementation used for the index and taxonomy
+ * @param refresh when changes become visible to searchers
+ * @param commit when changes are committed to the index and taxonomy
+ * @param closeMode the work performed when the backend is closed
+ * @param searchConcurrency whether searchers search segments concurrently
+ * @param warmingQueries queries run against new searchers and merged segments before use
+ * @param taxonomy whether a taxonomy is maintained alongside the index
+ * @param leaseMetrics leak detection applied when recording searcher and update lease metrics, or {@code null}
+ *                     if no metrics are recorded
+ */
+public record BackendOptions(DirectoryOptions directory,
+                             RefreshPolicy refresh,
+                             CommitPolicy commit,
+                             CloseMode closeMode,
+                             SearchConcurrency searchConcurrency,
+                             List<WarmingQuery<?>> warmingQueries,
+                             TaxonomyMode taxonomy,
+                             LeakDetection leaseMetrics) {
+
+    public BackendOptions {
+        Objects.requireNonNull(directory, "directory cannot be null");
+        Objects.requireNonNull(refresh, "refresh cannot be null");
+        Objects.requireNonNull(commit, "commit cannot be null");
+        Objects.requireNonNull(closeMode, "closeMode cannot be null");
+        Objects.requireNonNull(searchConcurrency, "searchConcurrency cannot be null");
+        warmingQueries = List.copyOf(warmingQueries);
+        Objects.requireNonNull(taxonomy, "taxonomy cannot be null");
+    }
+
+    /**
+     * Options for a backend stored using the specified directory type, using defaults for all other options
+     * @param directory the directory options
+     */
+    public static BackendOptions of(DirectoryOptions directory) {
+        return new BackendOptions(directory, RefreshPolicy.onUpdate(), CommitPolicy.onRelease(), CloseMode.FULL, SearchConcurrency.serial(), List.of(), TaxonomyMode.ENABLED, null);
+    }
+}
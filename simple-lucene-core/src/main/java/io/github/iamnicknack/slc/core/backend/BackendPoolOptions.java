@@ -0,0 +1,91 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configuration of a {@link LuceneBackendPool}
+ *
+ * @param maxOpenBackends the number of backends kept open before the least recently used idle backend is closed
+ * @param idleTimeout the time after which a backend which has not been leased is closed
+ * @param ramBudgetMB the memory used to buffer indexed documents across all backends, after which
+ *                    the largest buffers are flushed
+ * @param mergeThreads the number of threads used to merge segments across all backends
+ * @param maintenanceInterval the period between checks of idle backends and buffer usage
+ */
+public record BackendPoolOptions(int maxOpenBackends,
+                                 Duration idleTimeout,
+                                 double ramBudgetMB,
+                                 int mergeThreads,
+                                 Duration maintenanceInterval) {
+
+    public BackendPoolOptions {
+        if(maxOpenBackends < 1) {
+            throw new IllegalArgumentException("maxOpenBackends must be at least 1");
+        }
+        Objects.requireNonNull(idleTimeout, "idleTimeout cannot be null");
+        if(ramBudgetMB <= 0) {
+            throw new IllegalArgumentException("ramBudgetMB must be positive");
+        }
+        if(mergeThreads < 1) {
+            throw new IllegalArgumentException("mergeThreads must be at least 1");
+        }
+        if(maintenanceInterval.isNegative() || maintenanceInterval.isZero()) {
+            throw new IllegalArgumentException("maintenanceInterval must be positive");
+        }
+    }
+
+    /**
+     * Up to 100 open backends closed after 5 minutes idle, sharing a 256MB buffer and half of the
+     * available processors for merging
+     */
+    public static BackendPoolOptions defaults() {
+        return new BackendPoolOptions(
+                100,
+                Duration.ofMinutes(5),
+                256,
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                Duration.ofSeconds(1)
+        );
+    }
+
+    /**
+     * Copy of these options with an alternative open backend limit
+     * @param maxOpenBackends the number of backends kept open
+     */
+    public BackendPoolOptions withMaxOpenBackends(int maxOpenBackends) {
+        return new BackendPoolOptions(maxOpenBackends, idleTimeout, ramBudgetMB, mergeThreads, maintenanceInterval);
+    }
+
+    /**
+     * Copy of these options with an alternative idle timeout
+     * @param idleTimeout the time after which an idle backend is closed
+     */
+    public BackendPoolOptions withIdleTimeout(Duration idleTimeout) {
+        return new BackendPoolOptions(maxOpenBackends, idleTimeout, ramBudgetMB, mergeThreads, maintenanceInterval);
+    }
+
+    /**
+     * Copy of these options with an alternative buffer budget
+     * @param ramBudgetMB the memory used to buffer indexed documents across all backends
+     */
+    public BackendPoolOptions withRamBudgetMB(double ramBudgetMB) {
+        return new BackendPoolOptions(maxOpenBackends, idleTimeout, ramBudgetMB, mergeThreads, maintenanceInterval);
+    }
+
+    /**
+     * Copy of these options with an alternative number of merge threads
+     * @param mergeThreads the number of threads used to merge segments across all backends
+     */
+    public BackendPoolOptions withMergeThreads(int mergeThreads) {
+        return new BackendPoolOptions(maxOpenBackends, idleTimeout, ramBudgetMB, mergeThreads, maintenanceInterval);
+    }
+
+    /**
+     * Copy of these options with an alternative maintenance interval
+     * @param maintenanceInterval the period between checks of idle backends and buffer usage
+     */
+    public BackendPoolOptions withMaintenanceInterval(Duration maintenanceInterval) {
+        return new BackendPoolOptions(maxOpenBackends, idleTimeout, ramBudgetMB, mergeThreads, maintenanceInterval);
+    }
+}
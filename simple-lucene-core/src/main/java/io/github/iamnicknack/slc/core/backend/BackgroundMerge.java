@@ -0,0 +1,126 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import org.apache.lucene.index.IndexWriter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle to a forced merge running on a background thread
+ *
+ * @see DefaultLuceneBackend#optimize(int)
+ * @see DefaultLuceneBackend#forceMergeDeletes()
+ */
+public class BackgroundMerge {
+
+    private final String description;
+    private final IndexWriter indexWriter;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    private volatile State state = State.QUEUED;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    BackgroundMerge(String description, IndexWriter indexWriter) {
+        this.description = description;
+        this.indexWriter = indexWriter;
+    }
+
+    /**
+     * Describes the requested merge
+     */
+    public String description() {
+        return description;
+    }
+
+    /**
+     * Completes once the merged segments have been committed, or exceptionally if the merge fails or
+     * is aborted by the backend being closed
+     */
+    public CompletableFuture<Void> future() {
+        return future.copy();
+    }
+
+    /**
+     * A snapshot of the merge progress
+     */
+    public Progress progress() {
+        var current = state;
+        var elapsed = switch (current) {
+            case QUEUED -> Duration.ZERO;
+            case RUNNING -> Duration.ofNanos(System.nanoTime() - startNanos);
+            case COMPLETED, FAILED -> Duration.ofNanos(endNanos - startNanos);
+        };
+        var mergingSegments = current == State.RUNNING
+                ? indexWriter.getMergingSegments().size()
+                : 0;
+
+        return new Progress(current, mergingSegments, elapsed);
+    }
+
+    /**
+     * Run the merge on the calling thread
+     * @param operation the merge operation
+     */
+    void run(MergeOperation operation) {
+        startNanos = System.nanoTime();
+        state = State.RUNNING;
+        try {
+            operation.merge();
+            endNanos = System.nanoTime();
+            state = State.COMPLETED;
+            future.complete(null);
+        } catch (Exception e) {
+            endNanos = System.nanoTime();
+            state = State.FAILED;
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Fail a merge which will not be run
+     * @param cause the reason the merge was not run
+     */
+    void reject(Exception cause) {
+        state = State.FAILED;
+        future.completeExceptionally(cause);
+    }
+
+    /**
+     * The merge and commit to be performed
+     */
+    interface MergeOperation {
+        void merge() throws Exception;
+    }
+
+    /**
+     * Progress of a background merge
+     * @param state the merge state
+     * @param mergingSegments the number of segments currently being merged by the index writer
+     * @param elapsed the time spent running the merge
+     */
+    public record Progress(State state, int mergingSegments, Duration elapsed) {
+    }
+
+    /**
+     * Background merge states
+     */
+    public enum State {
+        /**
+         * Waiting for an earlier merge to complete
+         */
+        QUEUED,
+        /**
+         * Merging segments
+         */
+        RUNNING,
+        /**
+         * The merge has been committed
+         */
+        COMPLETED,
+        /**
+         * The merge failed or was aborted
+         */
+        FAILED
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.iamnicknack.slc.core.backend;
+
+/**
+ * Determines the work performed when a {@link DefaultLuceneBackend} is closed
+ */
+public enum CloseMode {
+    /**
+     * Commit outstanding changes and close, aborting any running merges
+     */
+    FAST,
+    /**
+     * Merge the index to a single segment before committing and closing
+     */
+    FULL
+}
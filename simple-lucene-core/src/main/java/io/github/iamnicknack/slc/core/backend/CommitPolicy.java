@@ -0,0 +1,61 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Determines when changes made via an update lease are committed to the index and taxonomy
+ *
+ * @param mode the commit strategy
+ * @param interval the longest period for which changes remain uncommitted. Only applicable to {@link Mode#GROUPED}
+ * @param maxPendingUpdates the number of released update leases which triggers a commit before {@code interval}
+ *                          has elapsed. Only applicable to {@link Mode#GROUPED}
+ */
+public record CommitPolicy(Mode mode,
+                           Duration interval,
+                           int maxPendingUpdates) {
+
+    public CommitPolicy {
+        Objects.requireNonNull(mode, "mode cannot be null");
+        Objects.requireNonNull(interval, "interval cannot be null");
+
+        if(mode == Mode.GROUPED) {
+            if(interval.isNegative() || interval.isZero()) {
+                throw new IllegalArgumentException("interval must be positive");
+            }
+            if(maxPendingUpdates < 1) {
+                throw new IllegalArgumentException("maxPendingUpdates must be at least 1");
+            }
+        }
+    }
+
+    /**
+     * Commit each time an update lease is released
+     */
+    public static CommitPolicy onRelease() {
+        return new CommitPolicy(Mode.ON_RELEASE, Duration.ZERO, 0);
+    }
+
+    /**
+     * Coalesce commits for concurrent update leases
+     * @param interval the longest period for which changes remain uncommitted
+     * @param maxPendingUpdates the number of released update leases which triggers an early commit
+     */
+    public static CommitPolicy grouped(Duration interval, int maxPendingUpdates) {
+        return new CommitPolicy(Mode.GROUPED, interval, maxPendingUpdates);
+    }
+
+    /**
+     * Supported commit strategies
+     */
+    public enum Mode {
+        /**
+         * Commit on update lease release
+         */
+        ON_RELEASE,
+        /**
+         * Commit periodically or once a number of update leases have been released
+         */
+        GROUPED
+    }
+}
@@ -0,0 +1,253 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import org.apache.lucene.facet.taxonomy.FacetLabel;
+import org.apache.lucene.facet.taxonomy.TaxonomyWriter;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.util.IOSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Commits the index and taxonomy according to a {@link CommitPolicy}, tracking the highest
+ * {@link IndexWriter} sequence number known to be durable.
+ *
+ * <p>The taxonomy is committed before the index, so that an index commit left without its taxonomy
+ * commit by a crash does not refer to uncommitted ordinals. New ordinals cannot be added through
+ * {@link #taxonomyWriter()} between the two commits, so a document using an ordinal added after the
+ * taxonomy commit is not added to the index until the index commit has completed. Backends without a
+ * taxonomy provide a {@code null} taxonomy writer</p>
+ */
+class CommitScheduler implements Closeable {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final IndexWriter indexWriter;
+    private final TaxonomyWriter taxonomyWriter;
+    private final CommitPolicy policy;
+
+    private final ReentrantLock commitLock = new ReentrantLock();
+    /**
+     * Held for reading while categories are added to the taxonomy and for writing while committing
+     */
+    private final ReentrantReadWriteLock ordinalLock = new ReentrantReadWriteLock();
+    private final TaxonomyWriter gatedTaxonomyWriter;
+    private final AtomicInteger pendingUpdates = new AtomicInteger();
+    private volatile long durableGeneration = -1;
+
+    /**
+     * Performs periodic and size-triggered commits for {@link CommitPolicy.Mode#GROUPED}, otherwise {@code null}
+     */
+    private final ScheduledExecutorService executor;
+
+    CommitScheduler(IndexWriter indexWriter,
+                    TaxonomyWriter taxonomyWriter,
+                    CommitPolicy policy) {
+        this.indexWriter = indexWriter;
+        this.taxonomyWriter = taxonomyWriter;
+        this.gatedTaxonomyWriter = taxonomyWriter != null ? new GatedTaxonomyWriter() : null;
+        this.policy = policy;
+
+        if(policy.mode() == CommitPolicy.Mode.GROUPED) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "slc-group-commit");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = policy.interval().toNanos();
+            executor.scheduleWithFixedDelay(this::commitPending, interval, interval, TimeUnit.NANOSECONDS);
+        }
+        else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Notify the scheduler that an update lease has been released.
+     * Commits immediately for {@link CommitPolicy.Mode#ON_RELEASE}
+     * @throws IOException if an immediate commit fails
+     */
+    void updated() throws IOException {
+        if(executor == null) {
+            commit();
+        }
+        else if(pendingUpdates.incrementAndGet() == policy.maxPendingUpdates()) {
+            executor.execute(this::commitPending);
+        }
+    }
+
+    /**
+     * The taxonomy writer to provide to updates, which waits for any commit in progress before adding
+     * categories, or {@code null} without a taxonomy
+     */
+    TaxonomyWriter taxonomyWriter() {
+        return gatedTaxonomyWriter;
+    }
+
+    /**
+     * The highest generation known to have been committed
+     */
+    long durableGeneration() {
+        return durableGeneration;
+    }
+
+    /**
+     * Block until the specified generation has been committed. If no commit is in progress
+     * the calling thread performs the commit, while concurrent callers wait for and share its result.
+     * @param generation the generation reported by an update
+     * @throws IOException if the commit fails
+     */
+    void awaitDurable(long generation) throws IOException {
+        if(durableGeneration >= generation) {
+            return;
+        }
+
+        commitLock.lock();
+        try {
+            if(durableGeneration < generation) {
+                commit();
+            }
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Commit the taxonomy and index
+     * @throws IOException if either commit fails
+     */
+    void commit() throws IOException {
+        commitLock.lock();
+        ordinalLock.writeLock().lock();
+        try {
+            pendingUpdates.set(0);
+            // all operations up to this sequence number are included in the following commit
+            long generation = indexWriter.getMaxCompletedSequenceNumber();
+            if(taxonomyWriter != null) {
+                taxonomyWriter.commit();
+            }
+            indexWriter.commit();
+            durableGeneration = Math.max(durableGeneration, generation);
+        } finally {
+            ordinalLock.writeLock().unlock();
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Perform an operation while no commit can be in progress
+     * @param operation the operation
+     * @return the operation result
+     * @throws IOException if the operation fails
+     */
+    <T> T withCommitLock(IOSupplier<T> operation) throws IOException {
+        commitLock.lock();
+        try {
+            return operation.get();
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void commitPending() {
+        if(pendingUpdates.get() == 0) {
+            return;
+        }
+
+        try {
+            commit();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Group commit failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stop scheduled commits, committing any outstanding changes
+     */
+    @Override
+    public void close() throws IOException {
+        if(executor != null) {
+            executor.shutdown();
+            try {
+                if(!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    logger.warn("Timed out waiting for group commit to complete");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if(pendingUpdates.get() > 0) {
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Delegates to the taxonomy writer, adding categories only while no commit is in progress
+     */
+    private class GatedTaxonomyWriter implements TaxonomyWriter {
+
+        @Override
+        public int addCategory(FacetLabel categoryPath) throws IOException {
+            ordinalLock.readLock().lock();
+            try {
+                return taxonomyWriter.addCategory(categoryPath);
+            } finally {
+                ordinalLock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public int getParent(int ordinal) throws IOException {
+            return taxonomyWriter.getParent(ordinal);
+        }
+
+        @Override
+        public int getSize() {
+            return taxonomyWriter.getSize();
+        }
+
+        @Override
+        public void setLiveCommitData(Iterable<Map.Entry<String, String>> commitUserData) {
+            taxonomyWriter.setLiveCommitData(commitUserData);
+        }
+
+        @Override
+        public Iterable<Map.Entry<String, String>> getLiveCommitData() {
+            return taxonomyWriter.getLiveCommitData();
+        }
+
+        @Override
+        public boolean useNumericDocValuesForOrdinals() {
+            return taxonomyWriter.useNumericDocValuesForOrdinals();
+        }
+
+        @Override
+        public long prepareCommit() throws IOException {
+            return taxonomyWriter.prepareCommit();
+        }
+
+        @Override
+        public long commit() throws IOException {
+            return taxonomyWriter.commit();
+        }
+
+        @Override
+        public void rollback() throws IOException {
+            taxonomyWriter.rollback();
+        }
+
+        @Override
+        public void close() throws IOException {
+            taxonomyWriter.close();
+        }
+    }
+}
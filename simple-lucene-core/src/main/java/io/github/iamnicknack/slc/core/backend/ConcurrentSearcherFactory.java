@@ -0,0 +1,50 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherFactory;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link SearcherFactory} creating searchers which search slices of segments concurrently
+ * as specified by {@link SearchConcurrency}
+ */
+public class ConcurrentSearcherFactory extends SearcherFactory {
+
+    private final SearchConcurrency concurrency;
+    private final Executor executor;
+
+    /**
+     * @param concurrency the slice sizing
+     * @param executor the executor used to search slices, or {@code null} to search on the calling thread
+     */
+    public ConcurrentSearcherFactory(SearchConcurrency concurrency, Executor executor) {
+        this.concurrency = concurrency;
+        this.executor = executor;
+    }
+
+    @Override
+    public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) {
+        return executor == null
+                ? new IndexSearcher(reader)
+                : new SlicedIndexSearcher(reader, executor, concurrency);
+    }
+
+    private static class SlicedIndexSearcher extends IndexSearcher {
+
+        private final SearchConcurrency concurrency;
+
+        SlicedIndexSearcher(IndexReader reader, Executor executor, SearchConcurrency concurrency) {
+            super(reader, executor);
+            this.concurrency = concurrency;
+        }
+
+        @Override
+        protected LeafSlice[] slices(List<LeafReaderContext> leaves) {
+            return slices(leaves, concurrency.maxDocsPerSlice(), concurrency.maxSegmentsPerSlice());
+        }
+    }
+}
@@ -2,61 +2,199 @@ package io.github.iamnicknack.slc.core.backend;
 
 import org.apache.lucene.facet.FacetsConfig;
 import org.apache.lucene.facet.taxonomy.SearcherTaxonomyManager;
-import org.apache.lucene.facet.taxonomy.TaxonomyReader;
 import org.apache.lucene.facet.taxonomy.TaxonomyWriter;
 import org.apache.lucene.index.IndexWriter;
-import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.index.SnapshotDeletionPolicy;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.ReferenceManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.github.iamnicknack.slc.api.backend.LuceneBackend;
+import io.github.iamnicknack.slc.api.lease.Lease;
 import io.github.iamnicknack.slc.api.lease.LeaseFactory;
+import io.github.iamnicknack.slc.api.lease.LeaseMetrics;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Default implementation of {@link LuceneBackend} that constructs {@link LeaseFactory} instances
  * using provided Lucene components.
+ *
+ * <p>Backends using {@link TaxonomyMode#DISABLED} have no taxonomy writer, in which case searchers
+ * are provided without a taxonomy reader and commits only apply to the index</p>
  */
 public class DefaultLuceneBackend implements LuceneBackend {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final LeaseFactory<SearchComponents> searcherLeaseFactory;
+    private final LeaseMetrics searcherLeaseMetrics;
     private final LeaseFactory<UpdateComponents> updateLeaseFactory;
+    private final LeaseMetrics updateLeaseMetrics;
 
     private final IndexWriter indexWriter;
     private final TaxonomyWriter taxonomyWriter;
     private final FacetsConfig facetsConfig;
-    private final SearcherTaxonomyManager searcherTaxonomyManager;
+    private final ReferenceManager<SearcherTaxonomyManager.SearcherAndTaxonomy> searcherTaxonomyManager;
+    private final BackendOptions options;
 
-    @SuppressWarnings("resource")
+    /**
+     * Search executor created for this backend by {@link SearchConcurrency#executorFactory()}, otherwise {@code null}
+     */
+    private final ExecutorService searchExecutor;
+
+    /**
+     * Refreshes searchers when using {@link RefreshPolicy.Mode#BACKGROUND}, otherwise {@code null}
+     */
+    private final ControlledRealTimeReopenThread<SearcherTaxonomyManager.SearcherAndTaxonomy> reopenThread;
+
+    private final CommitScheduler commitScheduler;
+
+    /**
+     * Runs forced merges requested via {@link #optimize(int)} and {@link #forceMergeDeletes()} one at a time
+     */
+    private final ExecutorService mergeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "slc-background-merge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Create a backend, deriving {@link BackendOptions} from the provided components
+     */
     public DefaultLuceneBackend(IndexWriter indexWriter,
                                 TaxonomyWriter taxonomyWriter,
                                 FacetsConfig facetsConfig,
                                 SearcherTaxonomyManager searcherTaxonomyManager) {
+        this(indexWriter,
+                taxonomyWriter,
+                facetsConfig,
+                searcherTaxonomyManager,
+                BackendOptions.of(DirectoryOptions.of(indexWriter.getDirectory()))
+        );
+    }
 
+    /**
+     * Create a backend using the provided components
+     * @param indexWriter the index writer
+     * @param taxonomyWriter the taxonomy writer, or {@code null} when using {@link TaxonomyMode#DISABLED}
+     * @param facetsConfig the facets configuration
+     * @param searcherTaxonomyManager the manager providing searchers, with taxonomy readers
+     *                                unless the taxonomy is disabled
+     * @param options the options with which the components were configured
+     */
+    public DefaultLuceneBackend(IndexWriter indexWriter,
+                                TaxonomyWriter taxonomyWriter,
+                                FacetsConfig facetsConfig,
+                                ReferenceManager<SearcherTaxonomyManager.SearcherAndTaxonomy> searcherTaxonomyManager,
+                                BackendOptions options) {
+        this(indexWriter, taxonomyWriter, facetsConfig, searcherTaxonomyManager, options, null);
+    }
+
+    /**
+     * Create a backend which owns the executor used by its searchers
+     * @param searchExecutor the executor created by {@link SearchConcurrency#executorFactory()}, which is shut
+     *                       down when the backend is closed, or {@code null}
+     */
+    @SuppressWarnings("resource")
+    DefaultLuceneBackend(IndexWriter indexWriter,
+                         TaxonomyWriter taxonomyWriter,
+                         FacetsConfig facetsConfig,
+                         ReferenceManager<SearcherTaxonomyManager.SearcherAndTaxonomy> searcherTaxonomyManager,
+                         BackendOptions options,
+                         ExecutorService searchExecutor) {
+        if((taxonomyWriter == null) != (options.taxonomy() == TaxonomyMode.DISABLED)) {
+            throw new IllegalArgumentException("A taxonomy writer is required unless the taxonomy is " + TaxonomyMode.DISABLED);
+        }
+
+        this.options = options;
+        this.searchExecutor = searchExecutor;
         this.indexWriter = indexWriter;
         this.taxonomyWriter = taxonomyWriter;
         this.facetsConfig = facetsConfig;
         this.searcherTaxonomyManager = searcherTaxonomyManager;
 
-        this.searcherLeaseFactory = LeaseFactory.create(
-                () -> new SearchComponentsRecord(searcherTaxonomyManager.acquire(), facetsConfig),
-                value -> searcherTaxonomyManager.release(((SearchComponentsRecord)value).searcherAndTaxonomy())
-        );
+        if(options.refresh().mode() == RefreshPolicy.Mode.BACKGROUND) {
+            this.reopenThread = new ControlledRealTimeReopenThread<>(
+                    indexWriter,
+                    searcherTaxonomyManager,
+                    options.refresh().maxStale().toNanos() / 1e9,
+                    options.refresh().minStale().toNanos() / 1e9
+            );
+            reopenThread.setName("slc-nrt-reopen");
+            reopenThread.setDaemon(true);
+            reopenThread.start();
+        }
+        else {
+            this.reopenThread = null;
+        }
+
+        this.commitScheduler = new CommitScheduler(indexWriter, taxonomyWriter, options.commit());
 
-        this.updateLeaseFactory = LeaseFactory.create(
-                () -> new UpdateComponentsRecord(
-                        indexWriter,
-                        taxonomyWriter,
-                        facetsConfig
-                ),
+        var searcherLeases = SearchComponentsRecord.leaseFactory(searcherTaxonomyManager, facetsConfig);
+        if(options.leaseMetrics() != null) {
+            var instrumented = searcherLeases.instrumented(options.leaseMetrics());
+            this.searcherLeaseMetrics = instrumented;
+            this.searcherLeaseFactory = instrumented.scoped();
+        }
+        else {
+            this.searcherLeaseMetrics = null;
+            this.searcherLeaseFactory = searcherLeases.scoped();
+        }
+
+        var updateComponents = new UpdateComponentsRecord(indexWriter, commitScheduler.taxonomyWriter(), facetsConfig);
+        var updateLeases = LeaseFactory.<UpdateComponents>pooled(
+                () -> updateComponents,
                 components -> {
-                    components.indexWriter().commit();
-                    components.taxonomyWriter().commit();
-                    searcherTaxonomyManager.maybeRefresh();
+                    commitScheduler.updated();
+                    if(reopenThread == null) {
+                        searcherTaxonomyManager.maybeRefresh();
+                    }
                 }
         );
+        if(options.leaseMetrics() != null) {
+            var instrumented = updateLeases.instrumented(options.leaseMetrics());
+            this.updateLeaseMetrics = instrumented;
+            this.updateLeaseFactory = instrumented;
+        }
+        else {
+            this.updateLeaseMetrics = null;
+            this.updateLeaseFactory = updateLeases;
+        }
+    }
+
+    /**
+     * The options with which this backend was configured
+     */
+    public BackendOptions options() {
+        return options;
+    }
+
+    /**
+     * Metrics for searcher leases, if enabled by {@link BackendOptions#leaseMetrics()}
+     */
+    public Optional<LeaseMetrics> searcherLeaseMetrics() {
+        return Optional.ofNullable(searcherLeaseMetrics);
+    }
+
+    /**
+     * Metrics for update leases, if enabled by {@link BackendOptions#leaseMetrics()}
+     */
+    public Optional<LeaseMetrics> updateLeaseMetrics() {
+        return Optional.ofNullable(updateLeaseMetrics);
+    }
+
+    /**
+     * The index writer, for use by components which manage the backend without leasing it
+     */
+    IndexWriter indexWriter() {
+        return indexWriter;
     }
 
     @Override
@@ -74,36 +212,202 @@ public class DefaultLuceneBackend implements LuceneBackend {
         return updateLeaseFactory;
     }
 
+    /**
+     * Executes the update, reporting the highest sequence number completed by the {@link IndexWriter}
+     * as the generation containing the changes
+     */
+    @Override
+    public <T> UpdateResult<T> trackedUpdate(Lease.LeaseFunction<UpdateComponents, T> updateFunction) {
+        try(var lease = updateLeaseFactory.lease()) {
+            var value = lease.execute(updateFunction);
+            return new UpdateResult<>(value, indexWriter.getMaxCompletedSequenceNumber());
+        }
+    }
+
+    /**
+     * Waits for the background reopen thread to make the generation visible before searching.
+     * Searchers are refreshed before update leases are released when using
+     * {@link RefreshPolicy.Mode#ON_UPDATE}, in which case no wait is required
+     */
+    @Override
+    public <T> T search(long generation, Lease.LeaseFunction<SearchComponents, T> searchFunction) {
+        if(reopenThread != null && generation != UpdateResult.NO_GENERATION) {
+            try {
+                reopenThread.waitForGeneration(generation);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new Lease.LeaseException("Interrupted waiting for generation " + generation, e);
+            }
+        }
+        return search(searchFunction);
+    }
+
+    /**
+     * Blocks until the generation has been committed, performing the commit on the calling thread
+     * if none is in progress. Changes are committed before update leases are released when using
+     * {@link CommitPolicy.Mode#ON_RELEASE}, in which case no wait is required
+     */
+    @Override
+    public void awaitDurable(long generation) {
+        if(generation == UpdateResult.NO_GENERATION) {
+            return;
+        }
+
+        try {
+            commitScheduler.awaitDurable(generation);
+        } catch (IOException e) {
+            throw new Lease.LeaseException("Failed to commit generation " + generation, e);
+        }
+    }
+
+    /**
+     * Merge the index down to at most the specified number of segments on a background thread,
+     * committing and refreshing searchers once the merge completes
+     * @param maxSegments the maximum number of segments to leave in the index
+     * @return a handle to monitor the merge
+     */
+    public BackgroundMerge optimize(int maxSegments) {
+        if(maxSegments < 1) {
+            throw new IllegalArgumentException("maxSegments must be at least 1");
+        }
+        return submitMerge("Merge to " + maxSegments + " segment(s)", () -> indexWriter.forceMerge(maxSegments, true));
+    }
+
+    /**
+     * Merge segments with deletions on a background thread, committing and refreshing searchers
+     * once the merge completes
+     * @return a handle to monitor the merge
+     */
+    public BackgroundMerge forceMergeDeletes() {
+        return submitMerge("Merge deletes", () -> indexWriter.forceMergeDeletes(true));
+    }
+
+    private BackgroundMerge submitMerge(String description, BackgroundMerge.MergeOperation merge) {
+        var backgroundMerge = new BackgroundMerge(description, indexWriter);
+        try {
+            mergeExecutor.execute(new MergeTask(backgroundMerge, () -> {
+                merge.merge();
+                commitScheduler.commit();
+                if(reopenThread == null) {
+                    searcherTaxonomyManager.maybeRefresh();
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            backgroundMerge.reject(e);
+        }
+        return backgroundMerge;
+    }
+
+    /**
+     * Commit any outstanding changes and retain the resulting index and taxonomy commits until the
+     * snapshot is closed. Requires the index writer to use a {@link SnapshotDeletionPolicy} and
+     * any taxonomy writer to be a {@link SnapshotTaxonomyWriter}, as configured by {@link LuceneBackendBuilder}
+     * @return the snapshot, which must be closed to release its files
+     * @throws IllegalStateException if the writers do not support snapshots
+     */
+    public IndexSnapshot snapshot() {
+        if(!(indexWriter.getConfig().getIndexDeletionPolicy() instanceof SnapshotDeletionPolicy indexPolicy)) {
+            throw new IllegalStateException("Index writer does not use " + SnapshotDeletionPolicy.class.getSimpleName());
+        }
+        if(taxonomyWriter != null && !(taxonomyWriter instanceof SnapshotTaxonomyWriter)) {
+            throw new IllegalStateException("Taxonomy writer is not a " + SnapshotTaxonomyWriter.class.getSimpleName());
+        }
+
+        var taxonomyPolicy = taxonomyWriter != null
+                ? ((SnapshotTaxonomyWriter) taxonomyWriter).deletionPolicy()
+                : null;
+        try {
+            // both commits are pinned under the commit lock, so they are those of the same consistent commit
+            return commitScheduler.withCommitLock(() -> {
+                commitScheduler.commit();
+                var indexCommit = indexPolicy.snapshot();
+                try {
+                    var taxonomyCommit = taxonomyPolicy != null ? taxonomyPolicy.snapshot() : null;
+                    return new IndexSnapshot(indexPolicy, indexCommit, taxonomyPolicy, taxonomyCommit);
+                } catch (IOException | RuntimeException e) {
+                    indexPolicy.release(indexCommit);
+                    throw e;
+                }
+            });
+        } catch (IOException e) {
+            throw new Lease.LeaseException("Failed to snapshot index", e);
+        }
+    }
+
+    /**
+     * Close the backend as specified by {@link BackendOptions#closeMode()}.
+     * Background merges are aborted by {@link CloseMode#FAST}, failing the handles of queued merges with a
+     * {@link CancellationException}, and awaited by {@link CloseMode#FULL}
+     */
     @Override
     public void close() throws IOException {
-        indexWriter.flush();
-        indexWriter.forceMerge(1, true);
+        if(options.closeMode() == CloseMode.FAST) {
+            // a running merge is aborted by the rollback below
+            for(var task : mergeExecutor.shutdownNow()) {
+                ((MergeTask)task).merge().reject(new CancellationException("Backend closed before merge started"));
+            }
+        }
+        else {
+            mergeExecutor.shutdown();
+        }
+        if(reopenThread != null) {
+            reopenThread.close();
+        }
+        commitScheduler.close();
+
+        if(options.closeMode() == CloseMode.FULL) {
+            awaitBackgroundMerges();
+            indexWriter.flush();
+            indexWriter.forceMerge(1, true);
+        }
 
         searcherTaxonomyManager.close();
+        if(searchExecutor != null) {
+            searchExecutor.shutdown();
+        }
         try {
-            indexWriter.close();
+            if(options.closeMode() == CloseMode.FAST) {
+                try {
+                    commitScheduler.commit();
+                } finally {
+                    // committed changes are retained while running merges are aborted
+                    indexWriter.rollback();
+                }
+            }
+            else {
+                indexWriter.close();
+            }
         } catch (IOException e) {
             logger.warn("Failed to close index writer: {}", e.getMessage(), e);
         }
 
         try {
-            taxonomyWriter.close();
+            if(taxonomyWriter != null) {
+                taxonomyWriter.close();
+            }
         } catch (IOException e) {
             logger.warn("Failed to close taxonomy writer: {}", e.getMessage(), e);
         }
     }
 
-    private record SearchComponentsRecord(SearcherTaxonomyManager.SearcherAndTaxonomy searcherAndTaxonomy,
-                                          FacetsConfig facetsConfig) implements SearchComponents {
-
-        @Override
-        public IndexSearcher indexSearcher() {
-            return searcherAndTaxonomy.searcher;
+    private void awaitBackgroundMerges() {
+        try {
+            while(!mergeExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.info("Waiting for background merge to complete");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+    }
+
+    /**
+     * A background merge submitted to the merge executor, identifying the handle of merges which are not run
+     */
+    private record MergeTask(BackgroundMerge merge, BackgroundMerge.MergeOperation operation) implements Runnable {
 
         @Override
-        public TaxonomyReader taxonomyReader() {
-            return searcherAndTaxonomy.taxonomyReader;
+        public void run() {
+            merge.run(operation);
         }
     }
 
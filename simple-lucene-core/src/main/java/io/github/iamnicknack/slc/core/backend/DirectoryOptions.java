@@ -0,0 +1,204 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import org.apache.lucene.index.IndexFileNames;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.store.NIOFSDirectory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Describes the {@link Directory} implementation used to store the index and taxonomy of a backend.
+ *
+ * @param type the directory implementation
+ * @param preloadExtensions extensions of files which are loaded into physical memory when opened.
+ *                          Only applicable to {@link Type#MMAP}
+ * @param offHeapBudget the memory limit shared by all directories opened with these options.
+ *                      Only applicable to, and required by, {@link Type#OFF_HEAP}
+ */
+public record DirectoryOptions(Type type,
+                               Set<String> preloadExtensions,
+                               OffHeapBudget offHeapBudget) {
+
+    /**
+     * Extension value which matches any file
+     */
+    public static final String ALL_FILES = "*";
+
+    public DirectoryOptions {
+        Objects.requireNonNull(type, "type cannot be null");
+        preloadExtensions = preloadExtensions.stream()
+                .map(extension -> extension.startsWith(".") ? extension.substring(1) : extension)
+                .collect(Collectors.toUnmodifiableSet());
+
+        if(type != Type.MMAP && !preloadExtensions.isEmpty()) {
+            throw new IllegalArgumentException("Preloading is only supported by " + Type.MMAP);
+        }
+        if((type == Type.OFF_HEAP) != (offHeapBudget != null)) {
+            throw new IllegalArgumentException("A budget is required by, and only supported by, " + Type.OFF_HEAP);
+        }
+    }
+
+    public DirectoryOptions(Type type, Set<String> preloadExtensions) {
+        this(type, preloadExtensions, null);
+    }
+
+    /**
+     * Heap-based {@link ByteBuffersDirectory}
+     */
+    public static DirectoryOptions memory() {
+        return new DirectoryOptions(Type.MEMORY, Set.of());
+    }
+
+    /**
+     * {@link OffHeapDirectory} storing files in direct memory outside the Java heap
+     * @param maxBytes the maximum memory used by the index and taxonomy combined
+     */
+    public static DirectoryOptions offHeap(long maxBytes) {
+        return offHeap(new OffHeapBudget(maxBytes));
+    }
+
+    /**
+     * {@link OffHeapDirectory} storing files in direct memory outside the Java heap
+     * @param budget the memory limit, which may be shared with other backends
+     */
+    public static DirectoryOptions offHeap(OffHeapBudget budget) {
+        return new DirectoryOptions(Type.OFF_HEAP, Set.of(), Objects.requireNonNull(budget, "budget cannot be null"));
+    }
+
+    /**
+     * File system {@link NIOFSDirectory}
+     */
+    public static DirectoryOptions nio() {
+        return new DirectoryOptions(Type.NIO, Set.of());
+    }
+
+    /**
+     * Memory-mapped {@link MMapDirectory}
+     * @param preloadExtensions extensions of files to load into physical memory when opened, such as
+     *                          {@code doc}, {@code tim} or {@link #ALL_FILES}
+     */
+    public static DirectoryOptions mmap(String... preloadExtensions) {
+        return mmap(Set.of(preloadExtensions));
+    }
+
+    /**
+     * Memory-mapped {@link MMapDirectory}
+     * @param preloadExtensions extensions of files to load into physical memory when opened, such as
+     *                          {@code doc}, {@code tim} or {@link #ALL_FILES}
+     */
+    public static DirectoryOptions mmap(Set<String> preloadExtensions) {
+        return new DirectoryOptions(Type.MMAP, preloadExtensions);
+    }
+
+    /**
+     * Describes a directory implementation which cannot be created from options, such as a custom
+     * or wrapped directory. Options of this type cannot be used to {@link #open(Path)} a directory
+     */
+    public static DirectoryOptions other() {
+        return new DirectoryOptions(Type.OTHER, Set.of());
+    }
+
+    /**
+     * Derive the options describing an existing directory. Subclasses and wrappers of the supported
+     * implementations are reported as {@link Type#OTHER}, as they may behave differently. The preload
+     * configuration of an {@link MMapDirectory} is only known if it was opened using {@link #open(Path)},
+     * otherwise it is reported as empty
+     * @param directory the directory to describe
+     * @return options matching the directory type
+     */
+    public static DirectoryOptions of(Directory directory) {
+        if(directory instanceof OffHeapDirectory offHeapDirectory) {
+            return offHeap(offHeapDirectory.budget());
+        }
+        if(directory instanceof PreloadingMMapDirectory mmapDirectory) {
+            return mmapDirectory.options;
+        }
+
+        var type = directory.getClass();
+        if(type == MMapDirectory.class) {
+            return mmap();
+        }
+        else if(type == NIOFSDirectory.class) {
+            return nio();
+        }
+        else if(type == ByteBuffersDirectory.class) {
+            return memory();
+        }
+        return other();
+    }
+
+    /**
+     * Whether the directory is held in memory rather than on the file system
+     */
+    public boolean inMemory() {
+        return type == Type.MEMORY || type == Type.OFF_HEAP;
+    }
+
+    /**
+     * Whether the named file should be preloaded when opened
+     * @param fileName the index file name
+     */
+    public boolean preload(String fileName) {
+        if(preloadExtensions.contains(ALL_FILES)) {
+            return true;
+        }
+        // immutable sets do not permit `contains(null)` for files such as `segments_N`
+        var extension = IndexFileNames.getExtension(fileName);
+        return extension != null && preloadExtensions.contains(extension);
+    }
+
+    /**
+     * Open a directory of the configured type
+     * @param path the directory location. Ignored by {@link Type#MEMORY} and {@link Type#OFF_HEAP}
+     * @return the directory
+     * @throws IOException if the directory cannot be opened
+     * @throws IllegalArgumentException for {@link Type#OTHER}
+     */
+    public Directory open(Path path) throws IOException {
+        return switch (type) {
+            case MEMORY -> new ByteBuffersDirectory();
+            case OFF_HEAP -> new OffHeapDirectory(offHeapBudget);
+            case NIO -> new NIOFSDirectory(path);
+            case MMAP -> new PreloadingMMapDirectory(path, this);
+            case OTHER -> throw new IllegalArgumentException("Directories of type " + type + " cannot be opened");
+        };
+    }
+
+    /**
+     * Supported directory implementations
+     */
+    public enum Type {
+        MEMORY,
+        OFF_HEAP,
+        NIO,
+        MMAP,
+        /**
+         * A directory implementation not created from options
+         */
+        OTHER
+    }
+
+    /**
+     * {@link MMapDirectory} which retains the options from which it was opened, as the preload
+     * configuration cannot otherwise be read back
+     */
+    private static class PreloadingMMapDirectory extends MMapDirectory {
+
+        private final DirectoryOptions options;
+
+        private PreloadingMMapDirectory(Path path, DirectoryOptions options) throws IOException {
+            super(path);
+            this.options = options;
+            setPreload(options.preloadExtensions().isEmpty()
+                    ? MMapDirectory.NO_FILES
+                    : (fileName, context) -> options.preload(fileName)
+            );
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import org.apache.lucene.facet.taxonomy.SearcherTaxonomyManager.SearcherAndTaxonomy;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.search.ReferenceManager;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+
+import java.io.IOException;
+
+/**
+ * Near-real-time searcher manager for backends using {@link TaxonomyMode#DISABLED}, providing
+ * {@link SearcherAndTaxonomy} instances without a taxonomy reader so that backends can manage
+ * searchers in the same way with or without a taxonomy
+ */
+class IndexSearcherManager extends ReferenceManager<SearcherAndTaxonomy> {
+
+    private final SearcherFactory searcherFactory;
+
+    /**
+     * @param indexWriter the writer from which readers are opened
+     * @param searcherFactory factory for searchers, or {@code null} for the Lucene default
+     * @throws IOException if the initial reader cannot be opened
+     */
+    IndexSearcherManager(IndexWriter indexWriter, SearcherFactory searcherFactory) throws IOException {
+        this.searcherFactory = searcherFactory != null ? searcherFactory : new SearcherFactory();
+        current = new SearcherAndTaxonomy(
+                SearcherManager.getSearcher(this.searcherFactory, DirectoryReader.open(indexWriter), null),
+                null
+        );
+    }
+
+    @Override
+    protected void decRef(SearcherAndTaxonomy reference) throws IOException {
+        reference.searcher.getIndexReader().decRef();
+    }
+
+    @Override
+    protected SearcherAndTaxonomy refreshIfNeeded(SearcherAndTaxonomy reference) throws IOException {
+        var reader = (DirectoryReader) reference.searcher.getIndexReader();
+        var newReader = DirectoryReader.openIfChanged(reader);
+        if(newReader == null) {
+            return null;
+        }
+        return new SearcherAndTaxonomy(SearcherManager.getSearcher(searcherFactory, newReader, reader), null);
+    }
+
+    @Override
+    protected boolean tryIncRef(SearcherAndTaxonomy reference) {
+        return reference.searcher.getIndexReader().tryIncRef();
+    }
+
+    @Override
+    protected int getRefCount(SearcherAndTaxonomy reference) {
+        return reference.searcher.getIndexReader().getRefCount();
+    }
+}
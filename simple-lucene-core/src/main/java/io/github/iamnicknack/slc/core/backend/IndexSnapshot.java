@@ -0,0 +1,142 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import org.apache.lucene.index.IndexCommit;
+import org.apache.lucene.index.SnapshotDeletionPolicy;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.IOContext;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Index and taxonomy commits retained together so that their files can be copied while the
+ * backend continues to accept updates. Files are released for deletion when the snapshot is closed.
+ *
+ * @see DefaultLuceneBackend#snapshot()
+ */
+public class IndexSnapshot implements Closeable {
+
+    private final SnapshotDeletionPolicy indexPolicy;
+    private final IndexCommit indexCommit;
+    private final SnapshotDeletionPolicy taxonomyPolicy;
+    private final IndexCommit taxonomyCommit;
+
+    private boolean released = false;
+
+    IndexSnapshot(SnapshotDeletionPolicy indexPolicy,
+                  IndexCommit indexCommit,
+                  SnapshotDeletionPolicy taxonomyPolicy,
+                  IndexCommit taxonomyCommit) {
+        this.indexPolicy = indexPolicy;
+        this.indexCommit = indexCommit;
+        this.taxonomyPolicy = taxonomyPolicy;
+        this.taxonomyCommit = taxonomyCommit;
+    }
+
+    /**
+     * The generation of the retained index commit
+     */
+    public long generation() {
+        return indexCommit.getGeneration();
+    }
+
+    /**
+     * Names of the files referenced by the index commit
+     */
+    public Collection<String> indexFiles() throws IOException {
+        return indexCommit.getFileNames();
+    }
+
+    /**
+     * Names of the files referenced by the taxonomy commit, empty for backends without a taxonomy
+     */
+    public Collection<String> taxonomyFiles() throws IOException {
+        return taxonomyCommit != null
+                ? taxonomyCommit.getFileNames()
+                : List.of();
+    }
+
+    /**
+     * Copy the snapshot to {@code index} and {@code taxonomy} subdirectories of the target, as used by
+     * {@link LuceneBackends#directory(Path)}. Files already present in the target with the same length
+     * are not copied again, and files which are not part of the snapshot are deleted from the target.
+     * @param target the root directory of the copy
+     * @return the number of files copied
+     * @throws IOException if copying fails
+     */
+    public int copyTo(Path target) throws IOException {
+        int copied = copy(indexCommit, target.resolve("index"));
+        return taxonomyCommit != null
+                ? copied + copy(taxonomyCommit, target.resolve("taxonomy"))
+                : copied;
+    }
+
+    /**
+     * Release the commits, allowing their files to be deleted by a subsequent commit
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if(released) {
+            return;
+        }
+        released = true;
+        try {
+            indexPolicy.release(indexCommit);
+        } finally {
+            if(taxonomyCommit != null) {
+                taxonomyPolicy.release(taxonomyCommit);
+            }
+        }
+    }
+
+    private static int copy(IndexCommit commit, Path path) throws IOException {
+        Files.createDirectories(path);
+
+        var source = commit.getDirectory();
+        var files = commit.getFileNames();
+        var copied = new ArrayList<String>();
+
+        try(var target = FSDirectory.open(path)) {
+            var existing = new HashSet<>(List.of(target.listAll()));
+
+            // copy the segments file last so that the target never refers to missing files
+            for(var file : files) {
+                if(!file.equals(commit.getSegmentsFileName()) && copy(source, target, file, existing)) {
+                    copied.add(file);
+                }
+            }
+            if(copy(source, target, commit.getSegmentsFileName(), existing)) {
+                copied.add(commit.getSegmentsFileName());
+            }
+
+            target.sync(copied);
+            target.syncMetaData();
+
+            for(var file : existing) {
+                if(!files.contains(file)) {
+                    target.deleteFile(file);
+                }
+            }
+        }
+
+        return copied.size();
+    }
+
+    private static boolean copy(Directory source, Directory target, String file, Collection<String> existing) throws IOException {
+        if(existing.contains(file)) {
+            if(target.fileLength(file) == source.fileLength(file)) {
+                return false;
+            }
+            target.deleteFile(file);
+        }
+        target.copyFrom(source, file, file, IOContext.DEFAULT);
+        return true;
+    }
+}
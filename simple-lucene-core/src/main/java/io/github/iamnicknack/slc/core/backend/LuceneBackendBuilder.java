@@ -0,0 +1,549 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import io.github.iamnicknack.slc.api.document.DocumentDescriptor;
+import io.github.iamnicknack.slc.api.lease.LeakDetection;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.taxonomy.SearcherTaxonomyManager;
+import org.apache.lucene.index.ConcurrentMergeScheduler;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.KeepOnlyLastCommitDeletionPolicy;
+import org.apache.lucene.index.MergeScheduler;
+import org.apache.lucene.index.SnapshotDeletionPolicy;
+import org.apache.lucene.index.TieredMergePolicy;
+import org.apache.lucene.search.ReferenceManager;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.IOUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Builder utility to construct {@link DefaultLuceneBackend} instances, exposing {@link IndexWriterConfig},
+ * {@link TieredMergePolicy} and {@link ConcurrentMergeScheduler} settings.
+ *
+ * <p>Settings which are not specified retain the Lucene defaults. All settings are validated by
+ * {@link #build()} before any directory is opened</p>
+ */
+public class LuceneBackendBuilder {
+
+    /**
+     * Soft deletes field used by {@link #softDeletes()}
+     */
+    public static final String DEFAULT_SOFT_DELETES_FIELD = "_soft_deleted";
+
+    private Analyzer analyzer = new StandardAnalyzer();
+    private FacetsConfig facetsConfig = new FacetsConfig();
+
+    private Path path;
+    private DirectoryOptions directoryOptions = DirectoryOptions.memory();
+    private IndexWriterConfig.OpenMode openMode;
+
+    private RefreshPolicy refreshPolicy = RefreshPolicy.onUpdate();
+    private CommitPolicy commitPolicy = CommitPolicy.onRelease();
+    private CloseMode closeMode = CloseMode.FULL;
+    private SearchConcurrency searchConcurrency = SearchConcurrency.serial();
+    private final List<WarmingQuery<?>> warmingQueries = new ArrayList<>();
+    private TaxonomyMode taxonomyMode = TaxonomyMode.ENABLED;
+    private LeakDetection leaseMetrics;
+
+    private Sort indexSort;
+    private String softDeletesField;
+
+    private Double ramBufferSizeMB;
+    private Integer maxBufferedDocs;
+
+    private Double maxMergedSegmentMB;
+    private Double segmentsPerTier;
+    private Integer maxMergeAtOnce;
+    private Double floorSegmentMB;
+    private Double deletesPctAllowed;
+
+    private MergeScheduler mergeScheduler;
+    private Integer maxMergeCount;
+    private Integer maxMergeThreads;
+    private Boolean autoIOThrottle;
+
+    /**
+     * The analyzer used to process text. Defaults to {@link StandardAnalyzer}
+     * @param analyzer the analyzer
+     */
+    public LuceneBackendBuilder analyzer(Analyzer analyzer) {
+        this.analyzer = Objects.requireNonNull(analyzer, "analyzer cannot be null");
+        return this;
+    }
+
+    /**
+     * The facets configuration provided by the backend
+     * @param facetsConfig the facets configuration
+     */
+    public LuceneBackendBuilder facetsConfig(FacetsConfig facetsConfig) {
+        this.facetsConfig = Objects.requireNonNull(facetsConfig, "facetsConfig cannot be null");
+        return this;
+    }
+
+    /**
+     * Store the index in memory. This is the default
+     */
+    public LuceneBackendBuilder memory() {
+        this.path = null;
+        this.directoryOptions = DirectoryOptions.memory();
+        return this;
+    }
+
+    /**
+     * Store the index in direct memory outside the Java heap
+     * @param maxBytes the maximum memory used by the index and taxonomy combined
+     * @see DirectoryOptions#offHeap(long)
+     */
+    public LuceneBackendBuilder offHeap(long maxBytes) {
+        return offHeap(new OffHeapBudget(maxBytes));
+    }
+
+    /**
+     * Store the index in direct memory outside the Java heap
+     * @param budget the memory limit, which may be shared with other backends
+     * @see DirectoryOptions#offHeap(OffHeapBudget)
+     */
+    public LuceneBackendBuilder offHeap(OffHeapBudget budget) {
+        this.path = null;
+        this.directoryOptions = DirectoryOptions.offHeap(budget);
+        return this;
+    }
+
+    /**
+     * Store the index on the file system using {@link org.apache.lucene.store.NIOFSDirectory}
+     * @param path the root directory under which the index and taxonomy are created
+     */
+    public LuceneBackendBuilder directory(Path path) {
+        return directory(path, DirectoryOptions.nio());
+    }
+
+    /**
+     * Store the index on the file system using {@link org.apache.lucene.store.MMapDirectory}
+     * @param path the root directory under which the index and taxonomy are created
+     * @param preloadExtensions extensions of index files to load into physical memory when opened
+     * @see DirectoryOptions#mmap(String...)
+     */
+    public LuceneBackendBuilder mmapDirectory(Path path, String... preloadExtensions) {
+        return directory(path, DirectoryOptions.mmap(preloadExtensions));
+    }
+
+    /**
+     * Store the index on the file system using the specified directory implementation
+     * @param path the root directory under which the index and taxonomy are created
+     * @param directoryOptions the directory implementation
+     */
+    public LuceneBackendBuilder directory(Path path, DirectoryOptions directoryOptions) {
+        this.path = Objects.requireNonNull(path, "path cannot be null");
+        this.directoryOptions = Objects.requireNonNull(directoryOptions, "directoryOptions cannot be null");
+        return this;
+    }
+
+    /**
+     * Whether to create or append to an existing index. Defaults to {@link IndexWriterConfig.OpenMode#CREATE}
+     * for in-memory indexes and {@link IndexWriterConfig.OpenMode#CREATE_OR_APPEND} otherwise
+     * @param openMode the open mode
+     */
+    public LuceneBackendBuilder openMode(IndexWriterConfig.OpenMode openMode) {
+        this.openMode = openMode;
+        return this;
+    }
+
+    /**
+     * When changes become visible to searchers. Defaults to {@link RefreshPolicy#onUpdate()}
+     * @param refreshPolicy the refresh policy
+     */
+    public LuceneBackendBuilder refresh(RefreshPolicy refreshPolicy) {
+        this.refreshPolicy = Objects.requireNonNull(refreshPolicy, "refreshPolicy cannot be null");
+        return this;
+    }
+
+    /**
+     * When changes are committed. Defaults to {@link CommitPolicy#onRelease()}
+     * @param commitPolicy the commit policy
+     */
+    public LuceneBackendBuilder commit(CommitPolicy commitPolicy) {
+        this.commitPolicy = Objects.requireNonNull(commitPolicy, "commitPolicy cannot be null");
+        return this;
+    }
+
+    /**
+     * The work performed when the backend is closed. Defaults to {@link CloseMode#FULL}
+     * @param closeMode the close mode
+     */
+    public LuceneBackendBuilder closeMode(CloseMode closeMode) {
+        this.closeMode = Objects.requireNonNull(closeMode, "closeMode cannot be null");
+        return this;
+    }
+
+    /**
+     * Whether searchers search slices of segments concurrently. Defaults to {@link SearchConcurrency#serial()}
+     * @param searchConcurrency the search concurrency
+     */
+    public LuceneBackendBuilder searchConcurrency(SearchConcurrency searchConcurrency) {
+        this.searchConcurrency = Objects.requireNonNull(searchConcurrency, "searchConcurrency cannot be null");
+        return this;
+    }
+
+    /**
+     * Queries run against new searchers and merged segments before they are used
+     * @param warmingQueries the warming queries
+     */
+    public LuceneBackendBuilder warmingQueries(WarmingQuery<?>... warmingQueries) {
+        return warmingQueries(List.of(warmingQueries));
+    }
+
+    /**
+     * Queries run against new searchers and merged segments before they are used
+     * @param warmingQueries the warming queries
+     */
+    public LuceneBackendBuilder warmingQueries(Collection<? extends WarmingQuery<?>> warmingQueries) {
+        this.warmingQueries.addAll(warmingQueries);
+        return this;
+    }
+
+    /**
+     * Whether a taxonomy is maintained alongside the index. Defaults to {@link TaxonomyMode#ENABLED}.
+     * When using {@link TaxonomyMode#AUTO}, document descriptors should be built using the
+     * {@link #facetsConfig(FacetsConfig) facets configuration} before the backend is built
+     * @param taxonomyMode the taxonomy mode
+     */
+    public LuceneBackendBuilder taxonomy(TaxonomyMode taxonomyMode) {
+        this.taxonomyMode = Objects.requireNonNull(taxonomyMode, "taxonomyMode cannot be null");
+        return this;
+    }
+
+    /**
+     * Record metrics for searcher and update leases, available from {@link DefaultLuceneBackend#searcherLeaseMetrics()}
+     * and {@link DefaultLuceneBackend#updateLeaseMetrics()}
+     * @param leakDetection leak detection applied to leases, such as {@link LeakDetection#disabled()}
+     */
+    public LuceneBackendBuilder leaseMetrics(LeakDetection leakDetection) {
+        this.leaseMetrics = Objects.requireNonNull(leakDetection, "leakDetection cannot be null");
+        return this;
+    }
+
+    /**
+     * Apply every setting of the backend options, replacing any warming queries already added.
+     * File system directories also require a path, provided via {@link #directory(Path, DirectoryOptions)}
+     * @param options the backend options
+     */
+    public LuceneBackendBuilder options(BackendOptions options) {
+        this.directoryOptions = options.directory();
+        if(directoryOptions.inMemory()) {
+            this.path = null;
+        }
+        this.refreshPolicy = options.refresh();
+        this.commitPolicy = options.commit();
+        this.closeMode = options.closeMode();
+        this.searchConcurrency = options.searchConcurrency();
+        this.warmingQueries.clear();
+        this.warmingQueries.addAll(options.warmingQueries());
+        this.taxonomyMode = options.taxonomy();
+        this.leaseMetrics = options.leaseMetrics();
+        return this;
+    }
+
+    /**
+     * The order in which documents are stored in each segment. Searches sorted by a prefix of the index sort
+     * stop collecting once enough hits have been found. The index sort of an existing index cannot be changed
+     * @param indexSort the index sort
+     * @see IndexWriterConfig#setIndexSort(Sort)
+     */
+    public LuceneBackendBuilder indexSort(Sort indexSort) {
+        this.indexSort = indexSort;
+        return this;
+    }
+
+    /**
+     * Sort the index as declared by the document descriptor, if any
+     * @param documentDescriptor the document descriptor
+     * @see DocumentDescriptor#indexSort()
+     */
+    public LuceneBackendBuilder indexSort(DocumentDescriptor documentDescriptor) {
+        return indexSort(documentDescriptor.indexSort().orElse(null));
+    }
+
+    /**
+     * Soft delete documents using the {@link #DEFAULT_SOFT_DELETES_FIELD}
+     * @see #softDeletes(String)
+     */
+    public LuceneBackendBuilder softDeletes() {
+        return softDeletes(DEFAULT_SOFT_DELETES_FIELD);
+    }
+
+    /**
+     * Mark documents as deleted with a numeric doc value rather than deleting them, which is cheaper to apply
+     * and to reclaim during merges. Applies to deletes and updates made by the core update operations.
+     * Readers opened directly from the index directory, such as by {@link ReadOnlyLuceneBackend}, must
+     * exclude soft deleted documents themselves
+     * @param softDeletesField the name of the doc values field marking deleted documents
+     * @see IndexWriterConfig#setSoftDeletesField(String)
+     */
+    public LuceneBackendBuilder softDeletes(String softDeletesField) {
+        this.softDeletesField = softDeletesField;
+        return this;
+    }
+
+    /**
+     * Amount of RAM used to buffer documents before flushing a new segment
+     * @see IndexWriterConfig#setRAMBufferSizeMB(double)
+     */
+    public LuceneBackendBuilder ramBufferSizeMB(double ramBufferSizeMB) {
+        this.ramBufferSizeMB = ramBufferSizeMB;
+        return this;
+    }
+
+    /**
+     * Number of buffered documents which triggers a flush of a new segment
+     * @see IndexWriterConfig#setMaxBufferedDocs(int)
+     */
+    public LuceneBackendBuilder maxBufferedDocs(int maxBufferedDocs) {
+        this.maxBufferedDocs = maxBufferedDocs;
+        return this;
+    }
+
+    /**
+     * Approximate maximum size of segments produced during normal merging
+     * @see TieredMergePolicy#setMaxMergedSegmentMB(double)
+     */
+    public LuceneBackendBuilder maxMergedSegmentMB(double maxMergedSegmentMB) {
+        this.maxMergedSegmentMB = maxMergedSegmentMB;
+        return this;
+    }
+
+    /**
+     * Allowed number of segments per tier
+     * @see TieredMergePolicy#setSegmentsPerTier(double)
+     */
+    public LuceneBackendBuilder segmentsPerTier(double segmentsPerTier) {
+        this.segmentsPerTier = segmentsPerTier;
+        return this;
+    }
+
+    /**
+     * Maximum number of segments merged at once during normal merging
+     * @see TieredMergePolicy#setMaxMergeAtOnce(int)
+     */
+    public LuceneBackendBuilder maxMergeAtOnce(int maxMergeAtOnce) {
+        this.maxMergeAtOnce = maxMergeAtOnce;
+        return this;
+    }
+
+    /**
+     * Segments smaller than this size are rounded up for merge selection
+     * @see TieredMergePolicy#setFloorSegmentMB(double)
+     */
+    public LuceneBackendBuilder floorSegmentMB(double floorSegmentMB) {
+        this.floorSegmentMB = floorSegmentMB;
+        return this;
+    }
+
+    /**
+     * Maximum percentage of deleted documents tolerated in the index
+     * @see TieredMergePolicy#setDeletesPctAllowed(double)
+     */
+    public LuceneBackendBuilder deletesPctAllowed(double deletesPctAllowed) {
+        this.deletesPctAllowed = deletesPctAllowed;
+        return this;
+    }
+
+    /**
+     * Merge scheduler used in place of a {@link ConcurrentMergeScheduler}, such as a {@link SharedMergeScheduler}
+     * shared with other backends. Cannot be combined with {@link #mergeThreads(int, int)} or
+     * {@link #autoIOThrottle(boolean)}
+     * @param mergeScheduler the merge scheduler
+     */
+    public LuceneBackendBuilder mergeScheduler(MergeScheduler mergeScheduler) {
+        this.mergeScheduler = mergeScheduler;
+        return this;
+    }
+
+    /**
+     * Number of merges which may run concurrently and be queued before indexing threads are stalled
+     * @param maxMergeCount maximum number of running and pending merges
+     * @param maxMergeThreads maximum number of merge threads
+     * @see ConcurrentMergeScheduler#setMaxMergesAndThreads(int, int)
+     */
+    public LuceneBackendBuilder mergeThreads(int maxMergeCount, int maxMergeThreads) {
+        this.maxMergeCount = maxMergeCount;
+        this.maxMergeThreads = maxMergeThreads;
+        return this;
+    }
+
+    /**
+     * Whether merge IO is throttled dynamically to favour indexing and search
+     * @see ConcurrentMergeScheduler#enableAutoIOThrottle()
+     */
+    public LuceneBackendBuilder autoIOThrottle(boolean autoIOThrottle) {
+        this.autoIOThrottle = autoIOThrottle;
+        return this;
+    }
+
+    /**
+     * Create the backend
+     * @return the backend
+     * @throws IllegalArgumentException if any setting is invalid
+     * @throws IOException if Lucene fails to create writers
+     */
+    public DefaultLuceneBackend build() throws IOException {
+        var config = indexWriterConfig();
+        var taxonomy = taxonomyMode();
+
+        Path indexPath = null;
+        Path taxonomyPath = null;
+
+        if(!directoryOptions.inMemory()) {
+            if(path == null) {
+                throw new IllegalArgumentException("A path is required for " + directoryOptions.type());
+            }
+
+            indexPath = path.resolve("index");
+            taxonomyPath = path.resolve("taxonomy");
+
+            Files.createDirectories(indexPath.toAbsolutePath());
+            if(taxonomy == TaxonomyMode.ENABLED) {
+                Files.createDirectories(taxonomyPath.toAbsolutePath());
+            }
+        }
+
+        var options = new BackendOptions(directoryOptions, refreshPolicy, commitPolicy, closeMode, searchConcurrency, warmingQueries, taxonomy, leaseMetrics);
+        var indexDirectory = directoryOptions.open(indexPath);
+        IndexWriter indexWriter;
+        try {
+            indexWriter = new IndexWriter(indexDirectory, config);
+        } catch (IOException | RuntimeException e) {
+            IOUtils.closeWhileHandlingException(indexDirectory);
+            throw e;
+        }
+
+        ExecutorService searchExecutor = null;
+        Directory taxonomyDirectory = null;
+        SnapshotTaxonomyWriter taxonomyWriter = null;
+        ReferenceManager<SearcherTaxonomyManager.SearcherAndTaxonomy> searcherManager = null;
+        try {
+            // each backend owns the executor created by the factory, rather than sharing it with others built from the same options
+            searchExecutor = searchConcurrency.createExecutor();
+            if(taxonomy == TaxonomyMode.DISABLED) {
+                searcherManager = new IndexSearcherManager(indexWriter, searcherFactory(searchExecutor));
+            }
+            else {
+                taxonomyDirectory = directoryOptions.open(taxonomyPath);
+                taxonomyWriter = new SnapshotTaxonomyWriter(taxonomyDirectory);
+                searcherManager = new SearcherTaxonomyManager(indexWriter, searcherFactory(searchExecutor), taxonomyWriter);
+            }
+
+            return new DefaultLuceneBackend(
+                    indexWriter,
+                    taxonomyWriter,
+                    facetsConfig,
+                    searcherManager,
+                    options,
+                    searchExecutor
+            );
+        } catch (IOException | RuntimeException e) {
+            // the index writer holds the write lock of the index until closed
+            if(searchExecutor != null) {
+                searchExecutor.shutdownNow();
+            }
+            IOUtils.closeWhileHandlingException(
+                    searcherManager,
+                    taxonomyWriter != null ? taxonomyWriter::rollback : null,
+                    taxonomyDirectory,
+                    indexWriter::rollback,
+                    indexDirectory
+            );
+            throw e;
+        }
+    }
+
+    /**
+     * Resolve {@link TaxonomyMode#AUTO} using the facet dimensions registered with the facets configuration
+     */
+    TaxonomyMode taxonomyMode() {
+        if(taxonomyMode != TaxonomyMode.AUTO) {
+            return taxonomyMode;
+        }
+        return facetsConfig.getDimConfigs().isEmpty()
+                ? TaxonomyMode.DISABLED
+                : TaxonomyMode.ENABLED;
+    }
+
+    /**
+     * Construct the writer configuration, relying on Lucene to validate individual settings
+     */
+    IndexWriterConfig indexWriterConfig() {
+        var config = new IndexWriterConfig(analyzer)
+                .setOpenMode(openMode != null
+                        ? openMode
+                        : directoryOptions.inMemory()
+                                ? IndexWriterConfig.OpenMode.CREATE
+                                : IndexWriterConfig.OpenMode.CREATE_OR_APPEND
+                );
+
+        // apply the enabled setting first so that the other cannot be disabled while both are unset
+        if(maxBufferedDocs != null && maxBufferedDocs != IndexWriterConfig.DISABLE_AUTO_FLUSH) {
+            config.setMaxBufferedDocs(maxBufferedDocs);
+            if(ramBufferSizeMB != null) config.setRAMBufferSizeMB(ramBufferSizeMB);
+        }
+        else {
+            if(ramBufferSizeMB != null) config.setRAMBufferSizeMB(ramBufferSizeMB);
+            if(maxBufferedDocs != null) config.setMaxBufferedDocs(maxBufferedDocs);
+        }
+
+        if(indexSort != null) config.setIndexSort(indexSort);
+        if(softDeletesField != null) config.setSoftDeletesField(softDeletesField);
+
+        var mergePolicy = new TieredMergePolicy();
+        if(maxMergedSegmentMB != null) mergePolicy.setMaxMergedSegmentMB(maxMergedSegmentMB);
+        if(segmentsPerTier != null) mergePolicy.setSegmentsPerTier(segmentsPerTier);
+        if(maxMergeAtOnce != null) mergePolicy.setMaxMergeAtOnce(maxMergeAtOnce);
+        if(floorSegmentMB != null) mergePolicy.setFloorSegmentMB(floorSegmentMB);
+        if(deletesPctAllowed != null) mergePolicy.setDeletesPctAllowed(deletesPctAllowed);
+        config.setMergePolicy(mergePolicy);
+
+        if(this.mergeScheduler != null) {
+            if(maxMergeCount != null || autoIOThrottle != null) {
+                throw new IllegalArgumentException("Merge thread settings only apply to " + ConcurrentMergeScheduler.class.getSimpleName());
+            }
+            config.setMergeScheduler(this.mergeScheduler);
+        }
+        else {
+            var mergeScheduler = new ConcurrentMergeScheduler();
+            if(maxMergeCount != null) mergeScheduler.setMaxMergesAndThreads(maxMergeCount, maxMergeThreads);
+            if(autoIOThrottle != null) {
+                if(autoIOThrottle) mergeScheduler.enableAutoIOThrottle();
+                else mergeScheduler.disableAutoIOThrottle();
+            }
+            config.setMergeScheduler(mergeScheduler);
+        }
+
+        // allows commits to be retained by DefaultLuceneBackend#snapshot()
+        config.setIndexDeletionPolicy(new SnapshotDeletionPolicy(new KeepOnlyLastCommitDeletionPolicy()));
+
+        if(!warmingQueries.isEmpty()) {
+            config.setMergedSegmentWarmer(new WarmingSearcherFactory(new SearcherFactory(), warmingQueries));
+        }
+
+        return config;
+    }
+
+    private SearcherFactory searcherFactory(ExecutorService searchExecutor) {
+        var executor = searchExecutor != null ? searchExecutor : searchConcurrency.executor();
+        SearcherFactory searcherFactory = new ConcurrentSearcherFactory(searchConcurrency, executor);
+        return warmingQueries.isEmpty()
+                ? searcherFactory
+                : new WarmingSearcherFactory(searcherFactory, warmingQueries);
+    }
+}
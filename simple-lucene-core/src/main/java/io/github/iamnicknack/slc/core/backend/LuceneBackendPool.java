@@ -0,0 +1,359 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import io.github.iamnicknack.slc.api.backend.LuceneBackend;
+import io.github.iamnicknack.slc.api.lease.Lease;
+import io.github.iamnicknack.slc.api.lease.LeaseFactory;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Pool of {@link DefaultLuceneBackend}s identified by key, such as one index per tenant, which bounds
+ * the threads and memory used as the number of backends grows.
+ *
+ * <ul>
+ *     <li>Backends are opened on first use and closed when idle, or when more than
+ *     {@link BackendPoolOptions#maxOpenBackends()} are open, least recently used first</li>
+ *     <li>All backends merge segments using a single {@link SharedMergeScheduler}</li>
+ *     <li>Buffered documents are flushed from the largest index writers whenever the combined buffers
+ *     exceed {@link BackendPoolOptions#ramBudgetMB()}</li>
+ * </ul>
+ *
+ * <p>Backends are only closed while no lease is held, so leases should be short-lived.
+ * Backends are created with {@link CloseMode#FAST} unless otherwise configured, as eviction should not
+ * merge the index</p>
+ */
+public class LuceneBackendPool implements Closeable {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final BackendFactory backendFactory;
+    private final BackendPoolOptions options;
+    private final SharedMergeScheduler mergeScheduler;
+
+    /**
+     * Open and opening backends in access order, guarded by {@code this}
+     */
+    private final LinkedHashMap<String, PooledBackend> backends = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * Evicted backends which are still closing, guarded by {@code this}. A backend is not reopened until
+     * the previous instance has closed, as both would otherwise write to the same directory
+     */
+    private final Map<String, PooledBackend> closing = new HashMap<>();
+    private boolean closed = false;
+
+    private final ScheduledExecutorService maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "slc-backend-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Create a pool using default options
+     * @param backendFactory configures the backend for each key
+     */
+    public LuceneBackendPool(BackendFactory backendFactory) {
+        this(backendFactory, BackendPoolOptions.defaults());
+    }
+
+    /**
+     * @param backendFactory configures the backend for each key
+     * @param options the pool options
+     */
+    public LuceneBackendPool(BackendFactory backendFactory, BackendPoolOptions options) {
+        this.backendFactory = backendFactory;
+        this.options = options;
+        this.mergeScheduler = new SharedMergeScheduler(options.mergeThreads());
+
+        long interval = options.maintenanceInterval().toNanos();
+        maintenance.scheduleWithFixedDelay(this::maintain, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The options with which this pool was configured
+     */
+    public BackendPoolOptions options() {
+        return options;
+    }
+
+    /**
+     * Lease the backend identified by the key, opening it if required. The backend will not be closed
+     * by the pool until the lease is released
+     * @param key the backend key
+     * @return a lease of the backend
+     * @throws Lease.LeaseException if the backend cannot be opened
+     */
+    public Lease<LuceneBackend> lease(String key) {
+        return LeaseFactory.<LuceneBackend>create(() -> acquire(key), backend -> release(key)).lease();
+    }
+
+    /**
+     * The number of open backends
+     */
+    public synchronized int size() {
+        return backends.size();
+    }
+
+    /**
+     * Whether the backend identified by the key is open
+     * @param key the backend key
+     */
+    public synchronized boolean isOpen(String key) {
+        // `containsKey` does not affect access order
+        return backends.containsKey(key);
+    }
+
+    /**
+     * The memory currently used to buffer documents across all open backends
+     */
+    public long ramBytesUsed() {
+        return openWriters().stream()
+                .mapToLong(IndexWriter::ramBytesUsed)
+                .sum();
+    }
+
+    /**
+     * Close all backends and stop the merge threads. Backends are closed even if leases are held
+     */
+    @Override
+    public void close() throws IOException {
+        List<PooledBackend> toClose;
+        synchronized (this) {
+            if(closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(backends.values());
+            backends.clear();
+        }
+
+        maintenance.shutdownNow();
+        toClose.stream()
+                .filter(pooled -> pooled.leases > 0)
+                .forEach(pooled -> logger.warn("Closing backend with outstanding leases: {}", pooled.key));
+        toClose.forEach(this::closeBackend);
+        mergeScheduler.shutdown();
+    }
+
+    /**
+     * Close idle backends and flush buffers exceeding the memory budget
+     */
+    void maintain() {
+        try {
+            evict(false);
+            flushLargestBuffers();
+        } catch (RuntimeException e) {
+            logger.warn("Pool maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private LuceneBackend acquire(String key) throws IOException {
+        PooledBackend pooled = null;
+        boolean create = false;
+        while(pooled == null) {
+            PooledBackend evicted;
+            synchronized (this) {
+                if(closed) {
+                    throw new IllegalStateException("Backend pool is closed");
+                }
+                evicted = closing.get(key);
+                if(evicted == null) {
+                    pooled = backends.get(key);
+                    if(pooled == null) {
+                        pooled = new PooledBackend(key);
+                        backends.put(key, pooled);
+                        create = true;
+                    }
+                    pooled.leases++;
+                }
+            }
+            if(evicted != null) {
+                evicted.closed.join();
+            }
+        }
+
+        // backends are opened outside the lock so that other keys are not blocked
+        if(create) {
+            try {
+                pooled.backend.complete(createBackend(key));
+            } catch (IOException | RuntimeException e) {
+                pooled.backend.completeExceptionally(e);
+                synchronized (this) {
+                    backends.remove(key, pooled);
+                }
+            }
+            evict(true);
+        }
+
+        try {
+            return pooled.backend.join();
+        } catch (CompletionException e) {
+            release(pooled);
+            if(e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if(e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private DefaultLuceneBackend createBackend(String key) throws IOException {
+        var builder = backendFactory.configure(key, new LuceneBackendBuilder().closeMode(CloseMode.FAST))
+                .mergeScheduler(mergeScheduler)
+                // each writer may use the whole budget, with the pool flushing the largest buffers when exceeded
+                .ramBufferSizeMB(options.ramBudgetMB());
+        return builder.build();
+    }
+
+    private void release(String key) {
+        PooledBackend pooled;
+        synchronized (this) {
+            pooled = backends.get(key);
+        }
+        if(pooled != null) {
+            release(pooled);
+        }
+    }
+
+    private synchronized void release(PooledBackend pooled) {
+        pooled.leases--;
+        pooled.lastReleased = System.nanoTime();
+    }
+
+    /**
+     * Close idle backends
+     * @param excessOnly only close the least recently used backends exceeding the open backend limit
+     */
+    private void evict(boolean excessOnly) {
+        var toClose = new ArrayList<PooledBackend>();
+        synchronized (this) {
+            long idleBefore = System.nanoTime() - options.idleTimeout().toNanos();
+            int excess = backends.size() - options.maxOpenBackends();
+            var iterator = backends.values().iterator();
+            while(iterator.hasNext()) {
+                var pooled = iterator.next();
+                if(pooled.leases > 0 || !pooled.backend.isDone()) {
+                    continue;
+                }
+                if(excess > 0 || (!excessOnly && pooled.lastReleased - idleBefore < 0)) {
+                    iterator.remove();
+                    closing.put(pooled.key, pooled);
+                    toClose.add(pooled);
+                    excess--;
+                }
+            }
+        }
+        for(var pooled : toClose) {
+            try {
+                closeBackend(pooled);
+            } finally {
+                synchronized (this) {
+                    closing.remove(pooled.key, pooled);
+                }
+                pooled.closed.complete(null);
+            }
+        }
+    }
+
+    private void flushLargestBuffers() {
+        long budget = (long)(options.ramBudgetMB() * 1024 * 1024);
+        var writers = openWriters();
+        long used = writers.stream().mapToLong(IndexWriter::ramBytesUsed).sum();
+        if(used <= budget) {
+            return;
+        }
+
+        writers.sort(Comparator.comparingLong(IndexWriter::ramBytesUsed).reversed());
+        for(var writer : writers) {
+            if(used <= budget) {
+                break;
+            }
+            long writerBytes = writer.ramBytesUsed();
+            try {
+                writer.flush();
+                used -= writerBytes;
+            } catch (AlreadyClosedException e) {
+                // evicted since the writers were listed
+            } catch (IOException e) {
+                logger.warn("Failed to flush index buffer: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private synchronized List<IndexWriter> openWriters() {
+        return backends.values().stream()
+                .map(pooled -> pooled.backend.getNow(null))
+                .filter(Objects::nonNull)
+                .map(DefaultLuceneBackend::indexWriter)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private void closeBackend(PooledBackend pooled) {
+        var backend = pooled.backend.getNow(null);
+        if(backend == null) {
+            return;
+        }
+        try {
+            closeBackend(pooled.key, backend);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to close backend {}: {}", pooled.key, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Close a backend which is no longer available to leases
+     * @param key the backend key
+     * @param backend the backend
+     * @throws IOException if the backend fails to close
+     */
+    void closeBackend(String key, DefaultLuceneBackend backend) throws IOException {
+        backend.close();
+    }
+
+    /**
+     * Configures the backend for a key
+     */
+    @FunctionalInterface
+    public interface BackendFactory {
+        /**
+         * Configure the backend identified by the key. Merge scheduling and buffer sizes are
+         * subsequently set by the pool
+         * @param key the backend key
+         * @param builder a builder for the backend
+         * @return the configured builder
+         * @throws IOException if the backend cannot be configured
+         */
+        LuceneBackendBuilder configure(String key, LuceneBackendBuilder builder) throws IOException;
+    }
+
+    private static class PooledBackend {
+        private final String key;
+        private final CompletableFuture<DefaultLuceneBackend> backend = new CompletableFuture<>();
+        private final CompletableFuture<Void> closed = new CompletableFuture<>();
+        private int leases;
+        private long lastReleased = System.nanoTime();
+
+        private PooledBackend(String key) {
+            this.key = key;
+        }
+    }
+}
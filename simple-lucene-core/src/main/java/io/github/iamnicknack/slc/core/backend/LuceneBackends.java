@@ -3,20 +3,16 @@ package io.github.iamnicknack.slc.core.backend;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.facet.FacetsConfig;
-import org.apache.lucene.facet.taxonomy.SearcherTaxonomyManager;
-import org.apache.lucene.facet.taxonomy.directory.DirectoryTaxonomyWriter;
-import org.apache.lucene.index.IndexWriter;
-import org.apache.lucene.index.IndexWriterConfig;
-import org.apache.lucene.store.ByteBuffersDirectory;
-import org.apache.lucene.store.NIOFSDirectory;
 import io.github.iamnicknack.slc.api.backend.LuceneBackend;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Helper factories for constructing {@link LuceneBackend}s.
+ * Use {@link LuceneBackendBuilder} to tune the underlying Lucene components.
  */
 public class LuceneBackends {
 
@@ -36,19 +32,37 @@ public class LuceneBackends {
      * @throws IOException if Lucene fails to create writers
      */
     public static LuceneBackend memory(Analyzer analyzer) throws IOException {
+        return memory(analyzer, BackendOptions.of(DirectoryOptions.memory()));
+    }
 
-        var config = new IndexWriterConfig(analyzer)
-                .setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+    /**
+     * Configures an index held in direct memory outside the Java heap, using the {@link StandardAnalyzer}
+     * to process text
+     * @param maxBytes the maximum memory used by the index and taxonomy combined
+     * @return a backend instance
+     * @throws IOException if Lucene fails to create writers
+     */
+    public static DefaultLuceneBackend offHeap(long maxBytes) throws IOException {
+        return memory(new StandardAnalyzer(), BackendOptions.of(DirectoryOptions.offHeap(maxBytes)));
+    }
 
-        var indexWriter = new IndexWriter(new ByteBuffersDirectory(), config);
-        var taxonomyWriter = new DirectoryTaxonomyWriter(new ByteBuffersDirectory());
+    /**
+     * Configures an in-memory index using the specified {@link Analyzer} to process text
+     * @param analyzer the analyzer
+     * @param options backend options, which must specify {@link DirectoryOptions.Type#MEMORY}
+     *                or {@link DirectoryOptions.Type#OFF_HEAP}
+     * @return a backend instance
+     * @throws IOException if Lucene fails to create writers
+     */
+    public static DefaultLuceneBackend memory(Analyzer analyzer, BackendOptions options) throws IOException {
+        if(!options.directory().inMemory()) {
+            throw new IllegalArgumentException("In-memory backends require an in-memory directory");
+        }
 
-        return new DefaultLuceneBackend(
-                indexWriter,
-                taxonomyWriter,
-                new FacetsConfig(),
-                new SearcherTaxonomyManager(indexWriter, null, taxonomyWriter)
-        );
+        return new LuceneBackendBuilder()
+                .analyzer(analyzer)
+                .options(options)
+                .build();
     }
 
     /**
@@ -67,24 +81,115 @@ public class LuceneBackends {
      * @throws IOException if Lucene fails to create writers
      */
     public static LuceneBackend directory(Path path, Analyzer analyzer) throws IOException {
+        return directory(path, analyzer, DirectoryOptions.nio());
+    }
 
-        Path indexPath = path.resolve("index");
-        Path taxonomyPath = path.resolve("taxonomy");
+    /**
+     * Configures a memory-mapped index on the file system using the {@link StandardAnalyzer} to process text
+     * @param preloadExtensions extensions of index files to load into physical memory when opened
+     * @return a backend instance
+     * @throws IOException if Lucene fails to create writers
+     * @see DirectoryOptions#mmap(String...)
+     */
+    public static DefaultLuceneBackend mmapDirectory(Path path, String... preloadExtensions) throws IOException {
+        return mmapDirectory(path, new StandardAnalyzer(), preloadExtensions);
+    }
 
-        Files.createDirectories(indexPath.toAbsolutePath());
-        Files.createDirectories(taxonomyPath.toAbsolutePath());
+    /**
+     * Configures a memory-mapped index on the file system using the specified analyzer to process text
+     * @param analyzer the analyzer
+     * @param preloadExtensions extensions of index files to load into physical memory when opened
+     * @return a backend instance
+     * @throws IOException if Lucene fails to create writers
+     * @see DirectoryOptions#mmap(String...)
+     */
+    public static DefaultLuceneBackend mmapDirectory(Path path, Analyzer analyzer, String... preloadExtensions) throws IOException {
+        return directory(path, analyzer, DirectoryOptions.mmap(preloadExtensions));
+    }
 
-        var config = new IndexWriterConfig(analyzer)
-                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+    /**
+     * Configures an index on the file system using the specified analyzer and directory implementation
+     * @param analyzer the analyzer
+     * @param directoryOptions the directory implementation used for both the index and taxonomy
+     * @return a backend instance
+     * @throws IOException if Lucene fails to create writers
+     */
+    public static DefaultLuceneBackend directory(Path path,
+                                                 Analyzer analyzer,
+                                                 DirectoryOptions directoryOptions) throws IOException {
+        return directory(path, analyzer, BackendOptions.of(directoryOptions));
+    }
+
+    /**
+     * Configures an index on the file system using the specified analyzer and backend options
+     * @param analyzer the analyzer
+     * @param options backend options including the directory implementation used for both the index and taxonomy
+     * @return a backend instance
+     * @throws IOException if Lucene fails to create writers
+     */
+    public static DefaultLuceneBackend directory(Path path,
+                                                 Analyzer analyzer,
+                                                 BackendOptions options) throws IOException {
+        return new LuceneBackendBuilder()
+                .analyzer(analyzer)
+                .options(options)
+                .directory(path, options.directory())
+                .build();
+    }
 
-        var indexWriter = new IndexWriter(new NIOFSDirectory(indexPath), config);
-        var taxonomyWriter = new DirectoryTaxonomyWriter(new NIOFSDirectory(taxonomyPath));
+    /**
+     * Configures a read-only backend serving an index on the file system maintained by another process
+     * @param pollInterval the period between checks for new commits
+     * @return a backend instance
+     * @throws IOException if the index or taxonomy does not contain a commit
+     */
+    public static ReadOnlyLuceneBackend readOnly(Path path, Duration pollInterval) throws IOException {
+        return readOnly(path, DirectoryOptions.nio(), pollInterval);
+    }
+
+    /**
+     * Configures a read-only backend serving an index on the file system maintained by another process
+     * @param directoryOptions the directory implementation used for both the index and taxonomy
+     * @param pollInterval the period between checks for new commits
+     * @return a backend instance
+     * @throws IOException if the index or taxonomy does not contain a commit
+     */
+    public static ReadOnlyLuceneBackend readOnly(Path path,
+                                                 DirectoryOptions directoryOptions,
+                                                 Duration pollInterval) throws IOException {
+        if(directoryOptions.inMemory()) {
+            throw new IllegalArgumentException("Read-only backends require a file system directory");
+        }
+
+        var indexDirectory = directoryOptions.open(path.resolve("index"));
+        var taxonomyDirectory = directoryOptions.open(path.resolve("taxonomy"));
+        try {
+            return new ReadOnlyLuceneBackend(indexDirectory, taxonomyDirectory, new FacetsConfig(), null, pollInterval);
+        } catch (IOException | RuntimeException e) {
+            indexDirectory.close();
+            taxonomyDirectory.close();
+            throw e;
+        }
+    }
 
-        return new DefaultLuceneBackend(
-                indexWriter,
-                taxonomyWriter,
-                new FacetsConfig(),
-                new SearcherTaxonomyManager(indexWriter, null, taxonomyWriter)
-        );
+    /**
+     * Describe the directories in which a backend stores its indexes
+     * @param backend the backend
+     * @return the directory of a {@link DefaultLuceneBackend} or {@link ReadOnlyLuceneBackend}, those of each shard
+     * of a {@link ShardedLuceneBackend} in routing order, or an empty list for other implementations
+     */
+    public static List<DirectoryOptions> directoryOptions(LuceneBackend backend) {
+        if(backend instanceof DefaultLuceneBackend defaultBackend) {
+            return List.of(defaultBackend.options().directory());
+        }
+        else if(backend instanceof ReadOnlyLuceneBackend readOnlyBackend) {
+            return List.of(readOnlyBackend.directory());
+        }
+        else if(backend instanceof ShardedLuceneBackend shardedBackend) {
+            return shardedBackend.shards().stream()
+                    .flatMap(shard -> directoryOptions(shard).stream())
+                    .toList();
+        }
+        return List.of();
     }
 }
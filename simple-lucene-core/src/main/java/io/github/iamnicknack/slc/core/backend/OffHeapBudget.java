@@ -0,0 +1,67 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the direct memory allocated by {@link OffHeapDirectory} instances sharing the budget,
+ * such as the index and taxonomy of a backend
+ */
+public class OffHeapBudget {
+
+    private final long maxBytes;
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    /**
+     * @param maxBytes the maximum number of bytes which may be allocated
+     */
+    public OffHeapBudget(long maxBytes) {
+        if(maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The maximum number of bytes which may be allocated
+     */
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * The number of bytes currently allocated to files, including files still being written
+     */
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * Reserve memory for a new buffer
+     * @param bytes the buffer size
+     * @throws UncheckedIOException if the allocation would exceed the budget
+     */
+    void reserve(long bytes) {
+        long used = usedBytes.addAndGet(bytes);
+        if(used > maxBytes) {
+            usedBytes.addAndGet(-bytes);
+            throw new UncheckedIOException(new IOException(
+                    "Off-heap budget of %d bytes exceeded allocating %d bytes".formatted(maxBytes, bytes)
+            ));
+        }
+    }
+
+    /**
+     * Return memory to the budget
+     * @param bytes the number of bytes released
+     */
+    void release(long bytes) {
+        usedBytes.addAndGet(-bytes);
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapBudget[maxBytes=%d, usedBytes=%d]".formatted(maxBytes, usedBytes());
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import org.apache.lucene.store.ByteBuffersDataOutput;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.FilterDirectory;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.store.SingleInstanceLockFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory directory storing file data in direct {@link ByteBuffer}s outside the Java heap, limited by
+ * an {@link OffHeapBudget}.
+ *
+ * <p>Memory is returned to the budget when files are deleted and when the directory is closed. The buffers
+ * themselves are freed once no longer referenced by open readers, so {@code -XX:MaxDirectMemorySize} should
+ * allow some headroom above the budget</p>
+ */
+public class OffHeapDirectory extends FilterDirectory {
+
+    private final OffHeapBudget budget;
+
+    /**
+     * Bytes allocated to outputs which have not yet been closed
+     */
+    private final Map<ByteBuffersDataOutput, AtomicLong> openOutputs = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Bytes allocated to each completed file
+     */
+    private final Map<String, Long> fileBytes = new ConcurrentHashMap<>();
+
+    /**
+     * Create a directory with a budget of its own
+     * @param maxBytes the maximum number of bytes which may be allocated
+     */
+    public OffHeapDirectory(long maxBytes) {
+        this(new OffHeapBudget(maxBytes));
+    }
+
+    /**
+     * Create a directory allocating from a shared budget
+     * @param budget the budget
+     */
+    public OffHeapDirectory(OffHeapBudget budget) {
+        this(budget, new Delegate());
+    }
+
+    private OffHeapDirectory(OffHeapBudget budget, Delegate delegate) {
+        super(new ByteBuffersDirectory(
+                new SingleInstanceLockFactory(),
+                delegate::newOutput,
+                delegate::toInput
+        ));
+        this.budget = budget;
+        delegate.directory = this;
+    }
+
+    /**
+     * The budget from which memory is allocated
+     */
+    public OffHeapBudget budget() {
+        return budget;
+    }
+
+    /**
+     * The number of bytes allocated by this directory
+     */
+    public long usedBytes() {
+        return fileBytes.values().stream().mapToLong(Long::longValue).sum()
+                + openOutputs.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    @Override
+    public void deleteFile(String name) throws IOException {
+        in.deleteFile(name);
+        var bytes = fileBytes.remove(name);
+        if(bytes != null) {
+            budget.release(bytes);
+        }
+    }
+
+    @Override
+    public void rename(String source, String dest) throws IOException {
+        in.rename(source, dest);
+        var bytes = fileBytes.remove(source);
+        if(bytes != null) {
+            fileBytes.put(dest, bytes);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        in.close();
+        fileBytes.values().forEach(budget::release);
+        fileBytes.clear();
+        // outputs left open, such as those of an aborted flush, are never converted to files
+        synchronized (openOutputs) {
+            openOutputs.values().forEach(allocated -> budget.release(allocated.getAndSet(0)));
+            openOutputs.clear();
+        }
+    }
+
+    private ByteBuffersDataOutput newOutput() {
+        var allocated = new AtomicLong();
+        var output = new ByteBuffersDataOutput(
+                ByteBuffersDataOutput.DEFAULT_MIN_BITS_PER_BLOCK,
+                ByteBuffersDataOutput.DEFAULT_MAX_BITS_PER_BLOCK,
+                size -> {
+                    budget.reserve(size);
+                    allocated.addAndGet(size);
+                    return ByteBuffer.allocateDirect(size);
+                },
+                // blocks discarded when the output consolidates into larger blocks
+                buffer -> {
+                    budget.release(buffer.capacity());
+                    allocated.addAndGet(-buffer.capacity());
+                }
+        );
+        openOutputs.put(output, allocated);
+        return output;
+    }
+
+    private IndexInput toInput(String fileName, ByteBuffersDataOutput output) {
+        var allocated = openOutputs.remove(output);
+        if(allocated != null) {
+            fileBytes.put(fileName, allocated.get());
+        }
+        return ByteBuffersDirectory.OUTPUT_AS_MANY_BUFFERS.apply(fileName, output);
+    }
+
+    /**
+     * Forwards callbacks from the wrapped directory, which is created before this instance is initialised
+     */
+    private static class Delegate {
+        private OffHeapDirectory directory;
+
+        ByteBuffersDataOutput newOutput() {
+            return directory.newOutput();
+        }
+
+        IndexInput toInput(String fileName, ByteBuffersDataOutput output) {
+            return directory.toInput(fileName, output);
+        }
+    }
+}
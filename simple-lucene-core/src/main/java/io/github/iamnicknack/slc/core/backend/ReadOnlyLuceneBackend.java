@@ -0,0 +1,153 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import io.github.iamnicknack.slc.api.backend.LuceneBackend;
+import io.github.iamnicknack.slc.api.lease.LeaseFactory;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.taxonomy.SearcherTaxonomyManager;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.store.Directory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LuceneBackend} which serves queries from an index and taxonomy maintained by a writer
+ * in another process, without taking the write lock or allocating writer buffers.
+ *
+ * <p>Searchers are reopened when the writer publishes a new commit, either periodically or on calling
+ * {@link #refresh()}. Leases from {@link #updateLeaseFactory()} cannot be acquired</p>
+ */
+public class ReadOnlyLuceneBackend implements LuceneBackend {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Directory indexDirectory;
+    private final Directory taxonomyDirectory;
+    private final DirectoryOptions directoryOptions;
+    private final FacetsConfig facetsConfig;
+    private final SearcherTaxonomyManager searcherTaxonomyManager;
+
+    private final LeaseFactory<SearchComponents> searcherLeaseFactory;
+    private final LeaseFactory<UpdateComponents> updateLeaseFactory;
+
+    /**
+     * Polls for new commits when a poll interval is specified, otherwise {@code null}
+     */
+    private final ScheduledExecutorService poller;
+
+    /**
+     * Open the most recent commits of an existing index and taxonomy. The directories are closed with the backend
+     * @param indexDirectory the index directory
+     * @param taxonomyDirectory the taxonomy directory
+     * @param facetsConfig the facets configuration used by the writer
+     * @param searcherFactory factory for searchers, or {@code null} for the Lucene default
+     * @param pollInterval the period between checks for new commits, or {@link Duration#ZERO} to only
+     *                     reopen on calling {@link #refresh()}
+     * @throws IOException if either directory does not contain a commit
+     */
+    public ReadOnlyLuceneBackend(Directory indexDirectory,
+                                 Directory taxonomyDirectory,
+                                 FacetsConfig facetsConfig,
+                                 SearcherFactory searcherFactory,
+                                 Duration pollInterval) throws IOException {
+        if(pollInterval.isNegative()) {
+            throw new IllegalArgumentException("pollInterval cannot be negative");
+        }
+
+        this.indexDirectory = indexDirectory;
+        this.taxonomyDirectory = taxonomyDirectory;
+        this.directoryOptions = DirectoryOptions.of(indexDirectory);
+        this.facetsConfig = facetsConfig;
+        this.searcherTaxonomyManager = new SearcherTaxonomyManager(indexDirectory, taxonomyDirectory, searcherFactory);
+
+        this.searcherLeaseFactory = SearchComponentsRecord.leaseFactory(searcherTaxonomyManager, facetsConfig).scoped();
+
+        this.updateLeaseFactory = () -> {
+            throw new UnsupportedOperationException("Updates are not supported by a read-only backend");
+        };
+
+        if(pollInterval.isZero()) {
+            this.poller = null;
+        }
+        else {
+            this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "slc-read-only-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = pollInterval.toNanos();
+            poller.scheduleWithFixedDelay(this::pollForCommits, interval, interval, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Reopen searchers if a new commit is available
+     * @return {@code true} if searchers are up to date with the latest commit
+     * @throws IOException if reopening fails
+     */
+    public boolean refresh() throws IOException {
+        return searcherTaxonomyManager.maybeRefresh();
+    }
+
+    /**
+     * The directory implementation from which the index is read
+     */
+    public DirectoryOptions directory() {
+        return directoryOptions;
+    }
+
+    @Override
+    public FacetsConfig facetsConfig() {
+        return facetsConfig;
+    }
+
+    @Override
+    public LeaseFactory<SearchComponents> searcherLeaseFactory() {
+        return searcherLeaseFactory;
+    }
+
+    /**
+     * A factory which throws {@link UnsupportedOperationException} for every lease
+     */
+    @Override
+    public LeaseFactory<UpdateComponents> updateLeaseFactory() {
+        return updateLeaseFactory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(poller != null) {
+            poller.shutdown();
+            try {
+                if(!poller.awaitTermination(1, TimeUnit.MINUTES)) {
+                    logger.warn("Timed out waiting for refresh to complete");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        try {
+            searcherTaxonomyManager.close();
+        } finally {
+            try {
+                indexDirectory.close();
+            } finally {
+                taxonomyDirectory.close();
+            }
+        }
+    }
+
+    private void pollForCommits() {
+        try {
+            refresh();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to reopen searchers: {}", e.getMessage(), e);
+        }
+    }
+}
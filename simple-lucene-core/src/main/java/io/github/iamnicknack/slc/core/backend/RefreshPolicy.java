@@ -0,0 +1,63 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Determines when changes made via an update lease become visible to searchers
+ *
+ * @param mode the refresh strategy
+ * @param maxStale the longest period for which searchers may be stale when no caller is waiting
+ *                 for a generation. Only applicable to {@link Mode#BACKGROUND}
+ * @param minStale the period after which searchers are refreshed when a caller is waiting
+ *                 for a generation. Only applicable to {@link Mode#BACKGROUND}
+ */
+public record RefreshPolicy(Mode mode,
+                            Duration maxStale,
+                            Duration minStale) {
+
+    public RefreshPolicy {
+        Objects.requireNonNull(mode, "mode cannot be null");
+        Objects.requireNonNull(maxStale, "maxStale cannot be null");
+        Objects.requireNonNull(minStale, "minStale cannot be null");
+
+        if(mode == Mode.BACKGROUND) {
+            if(minStale.isNegative() || minStale.isZero()) {
+                throw new IllegalArgumentException("minStale must be positive");
+            }
+            if(maxStale.compareTo(minStale) < 0) {
+                throw new IllegalArgumentException("maxStale must not be less than minStale");
+            }
+        }
+    }
+
+    /**
+     * Refresh searchers on the updating thread each time an update lease is released
+     */
+    public static RefreshPolicy onUpdate() {
+        return new RefreshPolicy(Mode.ON_UPDATE, Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * Refresh searchers from a background thread
+     * @param maxStale the longest period for which searchers may be stale when no caller is waiting
+     * @param minStale the period after which searchers are refreshed when a caller is waiting
+     */
+    public static RefreshPolicy background(Duration maxStale, Duration minStale) {
+        return new RefreshPolicy(Mode.BACKGROUND, maxStale, minStale);
+    }
+
+    /**
+     * Supported refresh strategies
+     */
+    public enum Mode {
+        /**
+         * Refresh searchers on update lease release
+         */
+        ON_UPDATE,
+        /**
+         * Refresh searchers using a background reopen thread
+         */
+        BACKGROUND
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import io.github.iamnicknack.slc.api.backend.LuceneBackend.SearchComponents;
+import io.github.iamnicknack.slc.api.lease.LeaseFactory;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.taxonomy.SearcherTaxonomyManager;
+import org.apache.lucene.facet.taxonomy.TaxonomyReader;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ReferenceManager;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link SearchComponents} leased from a {@link SearcherTaxonomyManager} or, without a taxonomy,
+ * from an {@link IndexSearcherManager}
+ */
+record SearchComponentsRecord(SearcherTaxonomyManager.SearcherAndTaxonomy searcherAndTaxonomy,
+                              FacetsConfig facetsConfig) implements SearchComponents {
+
+    /**
+     * Create a pooled lease factory for components acquired from the manager. Components are reused
+     * for as long as the manager returns the same searcher, rather than created for each lease
+     * @param searcherManager the searcher manager
+     * @param facetsConfig the facets configuration
+     * @return the lease factory
+     */
+    static LeaseFactory<SearchComponents> leaseFactory(ReferenceManager<SearcherTaxonomyManager.SearcherAndTaxonomy> searcherManager,
+                                                       FacetsConfig facetsConfig) {
+        var current = new AtomicReference<SearchComponentsRecord>();
+        return LeaseFactory.pooled(
+                () -> {
+                    var searcherAndTaxonomy = searcherManager.acquire();
+                    var components = current.get();
+                    if(components == null || components.searcherAndTaxonomy != searcherAndTaxonomy) {
+                        components = new SearchComponentsRecord(searcherAndTaxonomy, facetsConfig);
+                        current.set(components);
+                    }
+                    return components;
+                },
+                value -> searcherManager.release(((SearchComponentsRecord)value).searcherAndTaxonomy())
+        );
+    }
+
+    @Override
+    public IndexSearcher indexSearcher() {
+        return searcherAndTaxonomy.searcher;
+    }
+
+    @Override
+    public TaxonomyReader taxonomyReader() {
+        if(searcherAndTaxonomy.taxonomyReader == null) {
+            throw new UnsupportedOperationException("Taxonomy facets are not supported by " + TaxonomyMode.DISABLED + " backends");
+        }
+        return searcherAndTaxonomy.taxonomyReader;
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import org.apache.lucene.search.IndexSearcher;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Determines whether an {@link IndexSearcher} searches index segments concurrently.
+ * Segments are searched on the calling thread unless an executor or executor factory is provided
+ *
+ * @param executor an executor managed by the caller used to search slices of segments, or {@code null}
+ * @param executorFactory creates an executor for each backend, which is shut down when that backend
+ *                        is closed, or {@code null}
+ * @param maxDocsPerSlice the number of documents above which a slice contains a single segment
+ * @param maxSegmentsPerSlice the maximum number of segments searched by a single task
+ */
+public record SearchConcurrency(Executor executor,
+                                Supplier<? extends ExecutorService> executorFactory,
+                                int maxDocsPerSlice,
+                                int maxSegmentsPerSlice) {
+
+    /**
+     * Lucene's default number of documents above which a slice contains a single segment
+     */
+    public static final int DEFAULT_MAX_DOCS_PER_SLICE = 250_000;
+
+    /**
+     * Lucene's default maximum number of segments per slice
+     */
+    public static final int DEFAULT_MAX_SEGMENTS_PER_SLICE = 5;
+
+    public SearchConcurrency {
+        if(maxDocsPerSlice < 1) {
+            throw new IllegalArgumentException("maxDocsPerSlice must be at least 1");
+        }
+        if(maxSegmentsPerSlice < 1) {
+            throw new IllegalArgumentException("maxSegmentsPerSlice must be at least 1");
+        }
+        if(executor != null && executorFactory != null) {
+            throw new IllegalArgumentException("Only one of executor and executorFactory can be provided");
+        }
+    }
+
+    /**
+     * Search all segments on the calling thread
+     */
+    public static SearchConcurrency serial() {
+        return new SearchConcurrency(null, null, DEFAULT_MAX_DOCS_PER_SLICE, DEFAULT_MAX_SEGMENTS_PER_SLICE);
+    }
+
+    /**
+     * Search slices using a new virtual thread per slice
+     */
+    public static SearchConcurrency virtualThreads() {
+        return owned(Executors::newVirtualThreadPerTaskExecutor);
+    }
+
+    /**
+     * Search slices using a {@link ForkJoinPool} dedicated to each backend
+     * @param parallelism the maximum number of slices searched concurrently by each backend
+     */
+    public static SearchConcurrency forkJoin(int parallelism) {
+        if(parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        return owned(() -> new ForkJoinPool(parallelism));
+    }
+
+    /**
+     * Search slices using an executor managed by the caller, which is not shut down by backends
+     * @param executor the executor
+     */
+    public static SearchConcurrency of(Executor executor) {
+        return new SearchConcurrency(
+                Objects.requireNonNull(executor, "executor cannot be null"),
+                null,
+                DEFAULT_MAX_DOCS_PER_SLICE,
+                DEFAULT_MAX_SEGMENTS_PER_SLICE
+        );
+    }
+
+    /**
+     * Search slices using an executor created for, and shut down by, each backend
+     * @param executorFactory creates the executor of each backend
+     */
+    public static SearchConcurrency owned(Supplier<? extends ExecutorService> executorFactory) {
+        return new SearchConcurrency(
+                null,
+                Objects.requireNonNull(executorFactory, "executorFactory cannot be null"),
+                DEFAULT_MAX_DOCS_PER_SLICE,
+                DEFAULT_MAX_SEGMENTS_PER_SLICE
+        );
+    }
+
+    /**
+     * Copy of this instance with alternative slice sizing
+     * @param maxDocsPerSlice the number of documents above which a slice contains a single segment
+     * @param maxSegmentsPerSlice the maximum number of segments searched by a single task
+     * @see IndexSearcher#slices(java.util.List, int, int)
+     */
+    public SearchConcurrency withSlices(int maxDocsPerSlice, int maxSegmentsPerSlice) {
+        return new SearchConcurrency(executor, executorFactory, maxDocsPerSlice, maxSegmentsPerSlice);
+    }
+
+    /**
+     * Create an executor to be owned by a backend
+     * @return a new executor, or {@code null} when no executor factory is configured
+     */
+    ExecutorService createExecutor() {
+        return executorFactory != null ? executorFactory.get() : null;
+    }
+}
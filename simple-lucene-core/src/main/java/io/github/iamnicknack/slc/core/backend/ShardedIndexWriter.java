@@ -0,0 +1,360 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.CodecReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LiveIndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link IndexWriter} provided to updates of a {@link ShardedLuceneBackend}, which writes changes to the index
+ * writers of its shards.
+ *
+ * <ul>
+ *     <li>Documents are added to the shard selected by the hash of their {@link #ID_FIELD} field, or to each
+ *     shard in turn if they have none</li>
+ *     <li>Changes using a term on the {@link #ID_FIELD} are applied to the shard owning that id, while other
+ *     terms and queries may match documents in any shard so are applied to every shard</li>
+ *     <li>Replacing documents matched by such a term or query deletes them from every shard before adding
+ *     the replacements to their own shard</li>
+ * </ul>
+ *
+ * <p>Sequence numbers returned are those of the shards written to, so are only comparable for a single shard.
+ * Each shard commits and refreshes according to its own backend when the update lease is released, so the
+ * writer's own {@link #commit()} and {@link #flush()} have no effect on the shards, and adding indexes is
+ * not supported</p>
+ */
+class ShardedIndexWriter extends IndexWriter {
+
+    /**
+     * Field identifying documents, as written by the bundled update operations
+     */
+    static final String ID_FIELD = "_id";
+
+    private final List<IndexWriter> shards;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    /**
+     * @param shards the index writer of each shard, in routing order
+     * @throws IOException if the writer cannot be created
+     */
+    ShardedIndexWriter(List<IndexWriter> shards) throws IOException {
+        // changes are never written to this writer's own index
+        super(new ByteBuffersDirectory(), new IndexWriterConfig(shards.get(0).getAnalyzer()).setCommitOnClose(false));
+        this.shards = List.copyOf(shards);
+    }
+
+    /**
+     * The index of the shard owning the identified document
+     * @param id the document id
+     * @param shards the number of shards
+     */
+    static int shardIndex(String id, int shards) {
+        return Math.floorMod(id.hashCode(), shards);
+    }
+
+    /**
+     * The index writers of the shards, in routing order
+     */
+    List<IndexWriter> shards() {
+        return shards;
+    }
+
+    /**
+     * Whether this writer writes to the specified shard writers
+     * @param writers the index writer of each shard, in routing order
+     */
+    boolean writes(List<IndexWriter> writers) {
+        for(int i = 0; i < writers.size(); i++) {
+            if(writers.get(i) != shards.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long addDocument(Iterable<? extends IndexableField> doc) throws IOException {
+        return shards.get(shardIndex(doc)).addDocument(doc);
+    }
+
+    @Override
+    public long addDocuments(Iterable<? extends Iterable<? extends IndexableField>> docs) throws IOException {
+        var block = block(docs);
+        return shards.get(shardIndex(block)).addDocuments(block);
+    }
+
+    @Override
+    public long updateDocument(Term term, Iterable<? extends IndexableField> doc) throws IOException {
+        int target = isId(term) ? shardIndex(term.text()) : shardIndex(doc);
+        long sequenceNumber = deleteFromOthers(target, term);
+        return Math.max(sequenceNumber, shards.get(target).updateDocument(term, doc));
+    }
+
+    @Override
+    public long updateDocuments(Term delTerm, Iterable<? extends Iterable<? extends IndexableField>> docs) throws IOException {
+        var block = block(docs);
+        int target = isId(delTerm) ? shardIndex(delTerm.text()) : shardIndex(block);
+        long sequenceNumber = deleteFromOthers(target, delTerm);
+        return Math.max(sequenceNumber, shards.get(target).updateDocuments(delTerm, block));
+    }
+
+    @Override
+    public long updateDocuments(Query delQuery, Iterable<? extends Iterable<? extends IndexableField>> docs) throws IOException {
+        var block = block(docs);
+        int target = shardIndex(block);
+        long sequenceNumber = -1;
+        for(int i = 0; i < shards.size(); i++) {
+            if(i != target) {
+                sequenceNumber = Math.max(sequenceNumber, shards.get(i).deleteDocuments(delQuery));
+            }
+        }
+        return Math.max(sequenceNumber, shards.get(target).updateDocuments(delQuery, block));
+    }
+
+    @Override
+    public long softUpdateDocument(Term term, Iterable<? extends IndexableField> doc, Field... softDeletes) throws IOException {
+        int target = isId(term) ? shardIndex(term.text()) : shardIndex(doc);
+        long sequenceNumber = softDeleteFromOthers(target, term, softDeletes);
+        return Math.max(sequenceNumber, shards.get(target).softUpdateDocument(term, doc, softDeletes));
+    }
+
+    @Override
+    public long softUpdateDocuments(Term term, Iterable<? extends Iterable<? extends IndexableField>> docs, Field... softDeletes) throws IOException {
+        var block = block(docs);
+        int target = isId(term) ? shardIndex(term.text()) : shardIndex(block);
+        long sequenceNumber = softDeleteFromOthers(target, term, softDeletes);
+        return Math.max(sequenceNumber, shards.get(target).softUpdateDocuments(term, block, softDeletes));
+    }
+
+    @Override
+    public long deleteDocuments(Term... terms) throws IOException {
+        long sequenceNumber = -1;
+        for(int i = 0; i < shards.size(); i++) {
+            var shardTerms = new ArrayList<Term>(terms.length);
+            for(var term : terms) {
+                if(!isId(term) || shardIndex(term.text()) == i) {
+                    shardTerms.add(term);
+                }
+            }
+            if(!shardTerms.isEmpty()) {
+                sequenceNumber = Math.max(sequenceNumber, shards.get(i).deleteDocuments(shardTerms.toArray(Term[]::new)));
+            }
+        }
+        return sequenceNumber;
+    }
+
+    @Override
+    public long deleteDocuments(Query... queries) throws IOException {
+        long sequenceNumber = -1;
+        for(var shard : shards) {
+            sequenceNumber = Math.max(sequenceNumber, shard.deleteDocuments(queries));
+        }
+        return sequenceNumber;
+    }
+
+    @Override
+    public long deleteAll() throws IOException {
+        long sequenceNumber = -1;
+        for(var shard : shards) {
+            sequenceNumber = Math.max(sequenceNumber, shard.deleteAll());
+        }
+        return sequenceNumber;
+    }
+
+    @Override
+    public long updateNumericDocValue(Term term, String field, long value) throws IOException {
+        if(isId(term)) {
+            return shards.get(shardIndex(term.text())).updateNumericDocValue(term, field, value);
+        }
+        long sequenceNumber = -1;
+        for(var shard : shards) {
+            sequenceNumber = Math.max(sequenceNumber, shard.updateNumericDocValue(term, field, value));
+        }
+        return sequenceNumber;
+    }
+
+    @Override
+    public long updateBinaryDocValue(Term term, String field, BytesRef value) throws IOException {
+        if(isId(term)) {
+            return shards.get(shardIndex(term.text())).updateBinaryDocValue(term, field, value);
+        }
+        long sequenceNumber = -1;
+        for(var shard : shards) {
+            sequenceNumber = Math.max(sequenceNumber, shard.updateBinaryDocValue(term, field, value));
+        }
+        return sequenceNumber;
+    }
+
+    @Override
+    public long updateDocValues(Term term, Field... updates) throws IOException {
+        if(isId(term)) {
+            return shards.get(shardIndex(term.text())).updateDocValues(term, updates);
+        }
+        long sequenceNumber = -1;
+        for(var shard : shards) {
+            sequenceNumber = Math.max(sequenceNumber, shard.updateDocValues(term, updates));
+        }
+        return sequenceNumber;
+    }
+
+    /**
+     * Documents are identified by readers of the shards, so cannot be deleted by composite doc id
+     * @return {@code -1}, as permitted when the document cannot be deleted
+     */
+    @Override
+    public synchronized long tryDeleteDocument(IndexReader readerIn, int docID) {
+        return -1;
+    }
+
+    /**
+     * Documents are identified by readers of the shards, so cannot be updated by composite doc id
+     * @return {@code -1}, as permitted when the document cannot be updated
+     */
+    @Override
+    public synchronized long tryUpdateDocValue(IndexReader readerIn, int docID, Field... fields) {
+        return -1;
+    }
+
+    @Override
+    public void forceMerge(int maxNumSegments, boolean doWait) throws IOException {
+        for(var shard : shards) {
+            shard.forceMerge(maxNumSegments, doWait);
+        }
+    }
+
+    @Override
+    public void forceMergeDeletes(boolean doWait) throws IOException {
+        for(var shard : shards) {
+            shard.forceMergeDeletes(doWait);
+        }
+    }
+
+    @Override
+    public long addIndexes(Directory... dirs) {
+        throw new UnsupportedOperationException("Indexes cannot be added to a sharded backend");
+    }
+
+    @Override
+    public long addIndexes(CodecReader... readers) {
+        throw new UnsupportedOperationException("Indexes cannot be added to a sharded backend");
+    }
+
+    /**
+     * The configuration of the first shard, such as its index sort
+     */
+    @Override
+    public LiveIndexWriterConfig getConfig() {
+        return shards.get(0).getConfig();
+    }
+
+    @Override
+    public Analyzer getAnalyzer() {
+        return shards.get(0).getAnalyzer();
+    }
+
+    @Override
+    public Set<String> getFieldNames() {
+        var fieldNames = new HashSet<String>();
+        for(var shard : shards) {
+            fieldNames.addAll(shard.getFieldNames());
+        }
+        return fieldNames;
+    }
+
+    @Override
+    public synchronized boolean hasDeletions() {
+        return shards.stream().anyMatch(IndexWriter::hasDeletions);
+    }
+
+    @Override
+    public synchronized boolean hasPendingMerges() {
+        return shards.stream().anyMatch(IndexWriter::hasPendingMerges);
+    }
+
+    @Override
+    public long getPendingNumDocs() {
+        return shards.stream().mapToLong(IndexWriter::getPendingNumDocs).sum();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return shards.stream().allMatch(IndexWriter::isOpen);
+    }
+
+    private long deleteFromOthers(int target, Term term) throws IOException {
+        long sequenceNumber = -1;
+        if(!isId(term)) {
+            for(int i = 0; i < shards.size(); i++) {
+                if(i != target) {
+                    sequenceNumber = Math.max(sequenceNumber, shards.get(i).deleteDocuments(term));
+                }
+            }
+        }
+        return sequenceNumber;
+    }
+
+    private long softDeleteFromOthers(int target, Term term, Field... softDeletes) throws IOException {
+        long sequenceNumber = -1;
+        if(!isId(term)) {
+            for(int i = 0; i < shards.size(); i++) {
+                if(i != target) {
+                    sequenceNumber = Math.max(sequenceNumber, shards.get(i).updateDocValues(term, softDeletes));
+                }
+            }
+        }
+        return sequenceNumber;
+    }
+
+    private int shardIndex(Iterable<? extends IndexableField> doc) {
+        for(var field : doc) {
+            if(ID_FIELD.equals(field.name()) && field.stringValue() != null) {
+                return shardIndex(field.stringValue(), shards.size());
+            }
+        }
+        return Math.floorMod(nextShard.getAndIncrement(), shards.size());
+    }
+
+    /**
+     * Blocks are routed by the first document with an id, so that the block is added to a single shard
+     */
+    private int shardIndex(List<? extends Iterable<? extends IndexableField>> block) {
+        for(var doc : block) {
+            for(var field : doc) {
+                if(ID_FIELD.equals(field.name()) && field.stringValue() != null) {
+                    return shardIndex(field.stringValue(), shards.size());
+                }
+            }
+        }
+        return Math.floorMod(nextShard.getAndIncrement(), shards.size());
+    }
+
+    private int shardIndex(String id) {
+        return shardIndex(id, shards.size());
+    }
+
+    private static boolean isId(Term term) {
+        return term != null && ID_FIELD.equals(term.field());
+    }
+
+    private static List<? extends Iterable<? extends IndexableField>> block(Iterable<? extends Iterable<? extends IndexableField>> docs) {
+        var block = new ArrayList<Iterable<? extends IndexableField>>();
+        docs.forEach(block::add);
+        return block;
+    }
+}
@@ -0,0 +1,464 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import io.github.iamnicknack.slc.api.backend.LuceneBackend;
+import io.github.iamnicknack.slc.api.lease.Lease;
+import io.github.iamnicknack.slc.api.lease.LeaseFactory;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.taxonomy.TaxonomyReader;
+import org.apache.lucene.facet.taxonomy.TaxonomyWriter;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexReaderContext;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.MultiReader;
+import org.apache.lucene.search.IndexSearcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@link LuceneBackend} which partitions documents across several sub-backends, each with its own
+ * {@link IndexWriter} and searcher manager.
+ *
+ * <p>Updates lease every shard and write via a {@link ShardedIndexWriter}, which adds documents to a single
+ * shard using the hash of their {@code _id} field and applies changes matched by other terms or queries to
+ * every shard. Update operations written for a single index can therefore be used unchanged. Each shard
+ * commits and refreshes according to its own policies when the lease is released</p>
+ *
+ * <p>Searches use a single {@link IndexSearcher} over all shards which searches each shard in parallel
+ * and merges the per-shard results via {@link org.apache.lucene.search.TopDocs#merge}. Document ids
+ * are rebased so that results can be used with {@link IndexSearcher#searchAfter} and
+ * {@link IndexSearcher#storedFields()} as for a single index.</p>
+ *
+ * <p>Tracked updates record the {@link IndexWriter} sequence number of each shard.
+ * {@link #search(long, Lease.LeaseFunction)} and {@link #awaitDurable(long)} wait for every shard to reach
+ * the latest sequence number recorded for it, which includes the changes of the specified generation</p>
+ *
+ * <p>Taxonomy facets are not supported, as taxonomy ordinals are specific to each shard. Shards must be
+ * built with {@link TaxonomyMode#DISABLED}, so that as for any backend without a taxonomy,
+ * {@link UpdateComponents#taxonomyWriter()} is {@code null} and {@link SearchComponents#taxonomyReader()}
+ * throws {@link UnsupportedOperationException}</p>
+ */
+public class ShardedLuceneBackend implements LuceneBackend {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final List<LuceneBackend> shards;
+    private final Executor executor;
+    private final FacetsConfig facetsConfig;
+
+    /**
+     * Search executor created by this backend, otherwise {@code null}
+     */
+    private final ExecutorService ownedExecutor;
+
+    private final LeaseFactory<SearchComponents> searcherLeaseFactory;
+    private final LeaseFactory<UpdateComponents> updateLeaseFactory;
+
+    /**
+     * The latest sequence number recorded by a tracked update for each shard
+     */
+    private final AtomicLongArray shardGenerations;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Searcher over the most recently leased shard searchers, guarded by {@code this}
+     */
+    private CompositeSearcher compositeSearcher = null;
+
+    /**
+     * Writer over the most recently leased shard writers, guarded by {@code this}
+     */
+    private ShardedIndexWriter compositeWriter = null;
+
+    /**
+     * Create a backend which searches shards using a dedicated thread per shard
+     * @param shards the sub-backends, in a fixed order which determines document routing
+     * @throws IllegalArgumentException if a shard maintains a taxonomy
+     */
+    public ShardedLuceneBackend(List<? extends LuceneBackend> shards) {
+        this(shards, null, createExecutor(shards.size()));
+    }
+
+    /**
+     * Create a backend which searches shards using the provided executor
+     * @param shards the sub-backends, in a fixed order which determines document routing
+     * @param executor the executor used to search shards in parallel
+     * @throws IllegalArgumentException if a shard maintains a taxonomy
+     */
+    public ShardedLuceneBackend(List<? extends LuceneBackend> shards, Executor executor) {
+        this(shards, Objects.requireNonNull(executor, "executor cannot be null"), null);
+    }
+
+    private ShardedLuceneBackend(List<? extends LuceneBackend> shards,
+                                 Executor executor,
+                                 ExecutorService ownedExecutor) {
+        if(shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        if(shards.stream().anyMatch(ShardedLuceneBackend::hasTaxonomy)) {
+            throw new IllegalArgumentException("Shards must be built with " + TaxonomyMode.DISABLED
+                    + " taxonomy, as taxonomy ordinals are not shared between shards");
+        }
+
+        this.shards = List.copyOf(shards);
+        this.executor = executor != null ? executor : ownedExecutor;
+        this.ownedExecutor = ownedExecutor;
+        this.facetsConfig = this.shards.get(0).facetsConfig();
+        this.shardGenerations = new AtomicLongArray(this.shards.size());
+        for(int i = 0; i < this.shards.size(); i++) {
+            shardGenerations.set(i, UpdateResult.NO_GENERATION);
+        }
+
+        this.searcherLeaseFactory = LeaseFactory.pooled(
+                this::acquireSearchComponents,
+                value -> ((ShardedSearchComponents)value).close()
+        );
+
+        this.updateLeaseFactory = LeaseFactory.pooled(
+                this::acquireUpdateComponents,
+                value -> ((ShardedUpdateComponents)value).close()
+        );
+    }
+
+    /**
+     * The sub-backends, in routing order
+     */
+    public List<LuceneBackend> shards() {
+        return shards;
+    }
+
+    /**
+     * The index of the shard to which changes for the identified document are routed
+     * @param id the document identifier
+     */
+    public int shardIndex(String id) {
+        return ShardedIndexWriter.shardIndex(id, shards.size());
+    }
+
+    /**
+     * Facets configuration of the first shard, which is applied to documents written to all shards
+     */
+    @Override
+    public FacetsConfig facetsConfig() {
+        return facetsConfig;
+    }
+
+    @Override
+    public LeaseFactory<SearchComponents> searcherLeaseFactory() {
+        return searcherLeaseFactory;
+    }
+
+    @Override
+    public LeaseFactory<UpdateComponents> updateLeaseFactory() {
+        return updateLeaseFactory;
+    }
+
+    /**
+     * Executes the update, recording the sequence number of each shard. The generation
+     * reported identifies the update within this backend rather than any single shard
+     */
+    @Override
+    public <T> UpdateResult<T> trackedUpdate(Lease.LeaseFunction<UpdateComponents, T> updateFunction) {
+        var generations = new long[shards.size()];
+        var value = update(updateFunction, generations);
+        for(int i = 0; i < generations.length; i++) {
+            shardGenerations.accumulateAndGet(i, generations[i], Math::max);
+        }
+        return new UpdateResult<>(value, generation.incrementAndGet());
+    }
+
+    /**
+     * Waits for each shard to make its latest tracked sequence number visible before searching
+     */
+    @Override
+    public <T> T search(long generation, Lease.LeaseFunction<SearchComponents, T> searchFunction) {
+        if(generation != UpdateResult.NO_GENERATION) {
+            for(int i = 0; i < shards.size(); i++) {
+                long shardGeneration = shardGenerations.get(i);
+                if(shardGeneration != UpdateResult.NO_GENERATION) {
+                    shards.get(i).search(shardGeneration, components -> null);
+                }
+            }
+        }
+        return search(searchFunction);
+    }
+
+    /**
+     * Blocks until each shard has committed its latest tracked sequence number
+     */
+    @Override
+    public void awaitDurable(long generation) {
+        if(generation == UpdateResult.NO_GENERATION) {
+            return;
+        }
+        for(int i = 0; i < shards.size(); i++) {
+            shards.get(i).awaitDurable(shardGenerations.get(i));
+        }
+    }
+
+    /**
+     * Executes the update, blocking until each shard has committed the changes
+     */
+    @Override
+    public <T> UpdateResult<T> durableUpdate(Lease.LeaseFunction<UpdateComponents, T> updateFunction) {
+        var generations = new long[shards.size()];
+        var result = new UpdateResult<>(update(updateFunction, generations), generation.incrementAndGet());
+        for(int i = 0; i < generations.length; i++) {
+            long shardGeneration = generations[i];
+            shardGenerations.accumulateAndGet(i, shardGeneration, Math::max);
+            shards.get(i).awaitDurable(shardGeneration);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        synchronized (this) {
+            if(compositeSearcher != null) {
+                compositeSearcher.reader().decRef();
+                compositeSearcher = null;
+            }
+            if(compositeWriter != null) {
+                try {
+                    compositeWriter.close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+                compositeWriter = null;
+            }
+        }
+
+        for(var shard : shards) {
+            try {
+                shard.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close shard: {}", e.getMessage(), e);
+                failure = failure == null ? e : failure;
+            }
+        }
+
+        if(ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+
+        if(failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Execute the update, reporting the sequence number of each shard
+     * @param updateFunction the function to execute
+     * @param generations receives the sequence number of each shard
+     * @return the function result
+     */
+    private <T> T update(Lease.LeaseFunction<UpdateComponents, T> updateFunction, long[] generations) {
+        try(var lease = updateLeaseFactory.lease()) {
+            return lease.execute(components -> {
+                var value = updateFunction.execute(components);
+                ((ShardedUpdateComponents)components).generations(generations);
+                return value;
+            });
+        }
+    }
+
+    private ShardedSearchComponents acquireSearchComponents() throws IOException {
+        var leases = new ArrayList<Lease<SearchComponents>>(shards.size());
+        try {
+            var searchers = new IndexSearcher[shards.size()];
+            for(int i = 0; i < searchers.length; i++) {
+                var lease = shards.get(i).searcherLeaseFactory().lease();
+                leases.add(lease);
+                searchers[i] = lease.execute(SearchComponents::indexSearcher);
+            }
+
+            return new ShardedSearchComponents(compositeSearcher(searchers), leases, facetsConfig);
+        } catch (IOException | RuntimeException e) {
+            leases.forEach(Lease::close);
+            throw e;
+        }
+    }
+
+    private ShardedUpdateComponents acquireUpdateComponents() throws IOException {
+        var leases = new ArrayList<Lease<UpdateComponents>>(shards.size());
+        try {
+            var writers = new ArrayList<IndexWriter>(shards.size());
+            for(var shard : shards) {
+                var lease = shard.updateLeaseFactory().lease();
+                leases.add(lease);
+                writers.add(lease.execute(UpdateComponents::indexWriter));
+            }
+
+            return new ShardedUpdateComponents(compositeWriter(writers), leases, facetsConfig);
+        } catch (IOException | RuntimeException e) {
+            leases.forEach(Lease::close);
+            throw e;
+        }
+    }
+
+    /**
+     * The writer over the shard writers, replacing the cached writer when a shard provides a different writer
+     * @param writers the leased shard writers
+     * @return the writer over all shards
+     */
+    private synchronized ShardedIndexWriter compositeWriter(List<IndexWriter> writers) throws IOException {
+        if(compositeWriter == null || !compositeWriter.writes(writers)) {
+            if(compositeWriter != null) {
+                compositeWriter.close();
+            }
+            compositeWriter = new ShardedIndexWriter(writers);
+        }
+        return compositeWriter;
+    }
+
+    /**
+     * Whether the backend maintains a taxonomy, which is the case unless searches reject taxonomy readers
+     */
+    private static boolean hasTaxonomy(LuceneBackend backend) {
+        try {
+            return backend.search(SearchComponents::taxonomyReader) != null;
+        } catch (Lease.LeaseException e) {
+            if(e.getCause() instanceof UnsupportedOperationException) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reference the searcher over the shard searchers, replacing the cached searcher when any shard
+     * has been refreshed. The returned searcher's reader is released via {@link IndexReader#decRef()}
+     * @param searchers the leased shard searchers
+     * @return the searcher over all shards
+     */
+    private synchronized IndexSearcher compositeSearcher(IndexSearcher[] searchers) throws IOException {
+        if(compositeSearcher == null || !compositeSearcher.searches(searchers)) {
+            var readers = new IndexReader[searchers.length];
+            for(int i = 0; i < readers.length; i++) {
+                readers[i] = searchers[i].getIndexReader();
+            }
+
+            // sub-readers are referenced until the last lease of the composite reader is released
+            var reader = new MultiReader(readers, false);
+            var searcher = new ShardedIndexSearcher(reader, executor);
+            searcher.setSimilarity(searchers[0].getSimilarity());
+
+            if(compositeSearcher != null) {
+                compositeSearcher.reader().decRef();
+            }
+            compositeSearcher = new CompositeSearcher(searchers, reader, searcher);
+        }
+
+        compositeSearcher.reader().incRef();
+        return compositeSearcher.searcher();
+    }
+
+    private static ExecutorService createExecutor(int threads) {
+        var count = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            var thread = new Thread(runnable, "slc-shard-search-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Searcher over a {@link MultiReader} of all shards which uses one slice per shard, so that
+     * each shard is searched by a separate task and the per-slice results are merged
+     */
+    static class ShardedIndexSearcher extends IndexSearcher {
+
+        ShardedIndexSearcher(IndexReader reader, Executor executor) {
+            super(reader, executor);
+        }
+
+        @Override
+        protected LeafSlice[] slices(List<LeafReaderContext> leaves) {
+            var shardLeaves = new LinkedHashMap<IndexReaderContext, List<LeafReaderContext>>();
+            for(var leaf : leaves) {
+                shardLeaves.computeIfAbsent(leaf.parent, parent -> new ArrayList<>()).add(leaf);
+            }
+
+            return shardLeaves.values().stream()
+                    .map(LeafSlice::new)
+                    .toArray(LeafSlice[]::new);
+        }
+    }
+
+    /**
+     * A searcher over all shards along with the shard searchers from which it was created
+     */
+    private record CompositeSearcher(IndexSearcher[] shardSearchers, MultiReader reader, IndexSearcher searcher) {
+
+        boolean searches(IndexSearcher[] searchers) {
+            for(int i = 0; i < searchers.length; i++) {
+                if(searchers[i] != shardSearchers[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private record ShardedSearchComponents(IndexSearcher indexSearcher,
+                                           List<Lease<SearchComponents>> leases,
+                                           FacetsConfig facetsConfig) implements SearchComponents {
+
+        @Override
+        public TaxonomyReader taxonomyReader() {
+            throw new UnsupportedOperationException("Taxonomy facets are not supported by sharded backends");
+        }
+
+        void close() throws IOException {
+            try {
+                indexSearcher.getIndexReader().decRef();
+            } finally {
+                leases.forEach(Lease::close);
+            }
+        }
+    }
+
+    /**
+     * Components which write to all shards via the composite writer
+     */
+    private record ShardedUpdateComponents(ShardedIndexWriter indexWriter,
+                                           List<Lease<UpdateComponents>> leases,
+                                           FacetsConfig facetsConfig) implements UpdateComponents {
+
+        /**
+         * @return {@code null}, as shards do not maintain a taxonomy
+         */
+        @Override
+        public TaxonomyWriter taxonomyWriter() {
+            return null;
+        }
+
+        /**
+         * Report the sequence number of each shard
+         * @param generations receives the sequence number of each shard
+         */
+        void generations(long[] generations) {
+            var writers = indexWriter.shards();
+            for(int i = 0; i < generations.length; i++) {
+                generations[i] = writers.get(i).getMaxCompletedSequenceNumber();
+            }
+        }
+
+        void close() {
+            leases.forEach(Lease::close);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.index.MergeScheduler;
+import org.apache.lucene.index.MergeTrigger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link MergeScheduler} which may be shared by many index writers, running their merges on a fixed
+ * number of threads rather than the threads of a {@link org.apache.lucene.index.ConcurrentMergeScheduler}
+ * per writer.
+ *
+ * <p>Closing an index writer does not close the scheduler. Threads are stopped by {@link #shutdown()}
+ * once all writers using the scheduler have been closed</p>
+ */
+public class SharedMergeScheduler extends MergeScheduler {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final ExecutorService executor;
+
+    /**
+     * @param threads the maximum number of merges which run concurrently across all writers
+     */
+    public SharedMergeScheduler(int threads) {
+        if(threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        var count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, "slc-shared-merge-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public synchronized void merge(MergeSource mergeSource, MergeTrigger trigger) {
+        MergePolicy.OneMerge merge;
+        while((merge = mergeSource.getNextMerge()) != null) {
+            var oneMerge = merge;
+            try {
+                executor.execute(() -> runMerge(mergeSource, oneMerge));
+            } catch (RejectedExecutionException e) {
+                logger.warn("Merge rejected after shutdown: {}", oneMerge.segString());
+                mergeSource.onMergeFinished(oneMerge);
+            }
+        }
+    }
+
+    /**
+     * Writers waiting for merges on close are released as merges complete, so closing a writer
+     * has no effect on the shared threads
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Stop the merge threads, waiting for running merges to complete
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if(!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.warn("Timed out waiting for merges to complete");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runMerge(MergeSource mergeSource, MergePolicy.OneMerge merge) {
+        try {
+            mergeSource.merge(merge);
+        } catch (IOException | RuntimeException e) {
+            // the writer records the failure against the merge, so it is reported to callers waiting on it
+            logger.warn("Merge failed: {}", e.getMessage(), e);
+        }
+    }
+}
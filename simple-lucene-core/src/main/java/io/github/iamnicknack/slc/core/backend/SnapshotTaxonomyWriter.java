@@ -0,0 +1,42 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import org.apache.lucene.facet.taxonomy.directory.DirectoryTaxonomyWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.KeepOnlyLastCommitDeletionPolicy;
+import org.apache.lucene.index.SnapshotDeletionPolicy;
+import org.apache.lucene.store.Directory;
+
+import java.io.IOException;
+
+/**
+ * {@link DirectoryTaxonomyWriter} whose commits can be retained using a {@link SnapshotDeletionPolicy}
+ */
+public class SnapshotTaxonomyWriter extends DirectoryTaxonomyWriter {
+
+    /**
+     * Assigned while the superclass constructor creates the internal index writer
+     */
+    private SnapshotDeletionPolicy deletionPolicy;
+
+    public SnapshotTaxonomyWriter(Directory directory, IndexWriterConfig.OpenMode openMode) throws IOException {
+        super(directory, openMode);
+    }
+
+    public SnapshotTaxonomyWriter(Directory directory) throws IOException {
+        this(directory, IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+    }
+
+    @Override
+    protected IndexWriterConfig createIndexWriterConfig(IndexWriterConfig.OpenMode openMode) {
+        deletionPolicy = new SnapshotDeletionPolicy(new KeepOnlyLastCommitDeletionPolicy());
+        return super.createIndexWriterConfig(openMode)
+                .setIndexDeletionPolicy(deletionPolicy);
+    }
+
+    /**
+     * The deletion policy used to retain taxonomy commits
+     */
+    public SnapshotDeletionPolicy deletionPolicy() {
+        return deletionPolicy;
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.iamnicknack.slc.core.backend;
+
+/**
+ * Determines whether a {@link DefaultLuceneBackend} maintains a taxonomy index for taxonomy facets
+ */
+public enum TaxonomyMode {
+    /**
+     * Create, commit and refresh a taxonomy alongside the index
+     */
+    ENABLED,
+    /**
+     * Search using the index alone. Taxonomy facet fields cannot be indexed and
+     * {@link io.github.iamnicknack.slc.api.backend.LuceneBackend.SearchComponents#taxonomyReader()}
+     * is unavailable, while {@link org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField}
+     * facets are still supported
+     */
+    DISABLED,
+    /**
+     * {@link #DISABLED} if no facet dimensions have been registered with the facets configuration
+     * when the backend is built, otherwise {@link #ENABLED}
+     */
+    AUTO
+}
@@ -0,0 +1,40 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import io.github.iamnicknack.slc.api.query.QueryFactory;
+import org.apache.lucene.search.Query;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Queries executed against new searchers and merged segments before they are used to serve searches
+ *
+ * @param queryFactory the factory used to create queries
+ * @param samples representative query terms
+ * @param <K> the type of query term
+ */
+public record WarmingQuery<K>(QueryFactory<K> queryFactory, List<K> samples) {
+
+    public WarmingQuery {
+        Objects.requireNonNull(queryFactory, "queryFactory cannot be null");
+        samples = List.copyOf(samples);
+    }
+
+    /**
+     * Create warming queries from sample terms
+     * @param queryFactory the factory used to create queries
+     * @param samples representative query terms
+     */
+    @SafeVarargs
+    public static <K> WarmingQuery<K> of(QueryFactory<K> queryFactory, K... samples) {
+        return new WarmingQuery<>(queryFactory, List.of(samples));
+    }
+
+    /**
+     * The Lucene queries for each sample
+     */
+    public Stream<Query> queries() {
+        return samples.stream().map(queryFactory::query);
+    }
+}
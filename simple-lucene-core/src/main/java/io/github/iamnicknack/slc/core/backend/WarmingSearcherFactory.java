@@ -0,0 +1,80 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.SimpleMergedSegmentWarmer;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.util.InfoStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * {@link SearcherFactory} which runs {@link WarmingQuery} instances against each new searcher before it
+ * is published. Also usable as an {@link IndexWriter.IndexReaderWarmer} to warm segments produced
+ * by merges before they become visible to near-real-time readers.
+ *
+ * <p>Warming failures are logged rather than preventing the searcher from being used</p>
+ */
+public class WarmingSearcherFactory extends SearcherFactory implements IndexWriter.IndexReaderWarmer {
+
+    /**
+     * Number of hits retrieved, including stored fields, for each warming query
+     */
+    static final int WARMING_HITS = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final SearcherFactory delegate;
+    private final List<WarmingQuery<?>> warmingQueries;
+    private final IndexWriter.IndexReaderWarmer segmentWarmer = new SimpleMergedSegmentWarmer(InfoStream.NO_OUTPUT);
+
+    /**
+     * @param delegate the factory used to create searchers
+     * @param warmingQueries the queries used to warm searchers
+     */
+    public WarmingSearcherFactory(SearcherFactory delegate, List<WarmingQuery<?>> warmingQueries) {
+        this.delegate = delegate;
+        this.warmingQueries = List.copyOf(warmingQueries);
+    }
+
+    @Override
+    public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) throws IOException {
+        var searcher = delegate.newSearcher(reader, previousReader);
+        warm(searcher);
+        return searcher;
+    }
+
+    /**
+     * Load norms, doc values and points for each field of the merged segment, then run the warming queries
+     * @param reader the merged segment
+     */
+    @Override
+    public void warm(LeafReader reader) throws IOException {
+        segmentWarmer.warm(reader);
+        warm(new IndexSearcher(reader));
+    }
+
+    private void warm(IndexSearcher searcher) {
+        warmingQueries.stream()
+                .flatMap(WarmingQuery::queries)
+                .forEach(query -> warm(searcher, query));
+    }
+
+    private void warm(IndexSearcher searcher, Query query) {
+        try {
+            var storedFields = searcher.storedFields();
+            for(ScoreDoc scoreDoc : searcher.search(query, WARMING_HITS).scoreDocs) {
+                storedFields.document(scoreDoc.doc);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Warming query failed: {}, {}", query, e.getMessage(), e);
+        }
+    }
+}
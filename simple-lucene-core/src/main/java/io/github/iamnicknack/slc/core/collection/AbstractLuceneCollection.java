@@ -1,20 +1,24 @@
 package io.github.iamnicknack.slc.core.collection;
 
+import org.apache.lucene.document.Document;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.*;
 import io.github.iamnicknack.slc.api.backend.LuceneBackend;
 import io.github.iamnicknack.slc.api.index.DomainOperations;
 import io.github.iamnicknack.slc.api.index.UpdateOperations;
+import io.github.iamnicknack.slc.api.lease.Lease;
 import io.github.iamnicknack.slc.api.query.Hit;
 import io.github.iamnicknack.slc.api.query.HitRecord;
 import io.github.iamnicknack.slc.core.query.DefaultPagedQueryExecutor;
 import io.github.iamnicknack.slc.core.query.DefaultQueryExecutor;
 import io.github.iamnicknack.slc.core.query.QueryFactories;
+import io.github.iamnicknack.slc.core.query.StoredDocuments;
 
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility implementation of {@link Collection} which provides a simple API for creating a Lucene index
@@ -22,6 +26,11 @@ import java.util.stream.Stream;
  */
 public abstract class AbstractLuceneCollection<T> extends AbstractCollection<T> {
 
+    /**
+     * Number of hits read from each searcher lease when streaming
+     */
+    private static final int PAGE_SIZE = 100;
+
     private final DomainOperations<T> domainOperations;
     private final LuceneBackend backend;
     private final UpdateOperations<T> updateOperations;
@@ -45,7 +54,10 @@ public abstract class AbstractLuceneCollection<T> extends AbstractCollection<T>
     public boolean addAll(Collection<? extends T> c) {
         var values = c.stream().map(v -> (T)v).toList();
         var operation = updateOperations.addAll(values);
-        backend.update(operation);
+        // searches made while adding, such as duplicate checks, share a single searcher
+        try(var scope = backend.searchScope()) {
+            backend.update(operation);
+        }
 
         return true;
     }
@@ -121,17 +133,15 @@ public abstract class AbstractLuceneCollection<T> extends AbstractCollection<T>
 
     @Override
     public Stream<T> stream() {
-        var executor = new DefaultPagedQueryExecutor<>(QueryFactories.lucene(), backend.searcherLeaseFactory());
-
-        try(var result = executor.execute(new MatchAllDocsQuery())) {
-            return result.stream()
-                    .map(hit -> domainOperations.readDocument(hit.value()));
-        }
+        return hits(new MatchAllDocsQuery())
+                .map(hit -> domainOperations.readDocument(hit.value()));
     }
 
     @Override
     public void forEach(Consumer<? super T> action) {
-        stream().forEach(action);
+        try(var stream = stream()) {
+            stream.forEach(action);
+        }
     }
 
 
@@ -202,11 +212,68 @@ public abstract class AbstractLuceneCollection<T> extends AbstractCollection<T>
     }
 
     public Stream<Hit<T>> queryStream(Query query) {
-        var executor = new DefaultPagedQueryExecutor<>(QueryFactories.lucene(), backend.searcherLeaseFactory());
+        return hits(query)
+                .map(hit -> new HitRecord<>(hit.score(), domainOperations.readDocument(hit.value())));
+    }
 
-        try(var result = executor.execute(query)) {
-            return result.stream()
-                    .map(hit -> new HitRecord<>(hit.score(), domainOperations.readDocument(hit.value())));
-        }
+    /**
+     * Lazily stream the hits for a query. A single searcher is leased for all pages of hits, so that
+     * doc ids remain valid between pages, and released once the stream is exhausted or closed.
+     * Streams which are not read to the end should be closed
+     * @param query the query
+     * @return the hits
+     */
+    private Stream<Hit<Document>> hits(Query query) {
+        var pages = new Iterator<List<Hit<Document>>>() {
+            private Lease<LuceneBackend.SearchComponents> lease = null;
+            private ScoreDoc last = null;
+            private boolean exhausted = false;
+
+            @Override
+            public boolean hasNext() {
+                return !exhausted;
+            }
+
+            @Override
+            public List<Hit<Document>> next() {
+                if(exhausted) {
+                    throw new NoSuchElementException();
+                }
+                if(lease == null) {
+                    lease = backend.searcherLeaseFactory().lease();
+                }
+                try {
+                    var hits = lease.execute(components -> {
+                        var searcher = components.indexSearcher();
+                        var topDocs = searcher.searchAfter(last, query, PAGE_SIZE);
+
+                        exhausted = topDocs.scoreDocs.length < PAGE_SIZE;
+                        if(!exhausted) {
+                            last = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
+                        }
+                        return StoredDocuments.hits(searcher, topDocs.scoreDocs);
+                    });
+                    if(exhausted) {
+                        release();
+                    }
+                    return hits;
+                } catch (RuntimeException e) {
+                    exhausted = true;
+                    release();
+                    throw e;
+                }
+            }
+
+            private void release() {
+                if(lease != null) {
+                    lease.close();
+                    lease = null;
+                }
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED), false)
+                .onClose(pages::release)
+                .flatMap(List::stream);
     }
 }
@@ -5,11 +5,16 @@ import io.github.iamnicknack.slc.api.document.DocumentDescriptor;
 import io.github.iamnicknack.slc.api.document.FieldDescriptor;
 import io.github.iamnicknack.slc.api.document.SubFieldDescriptor;
 import org.apache.lucene.facet.FacetField;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -20,14 +25,23 @@ public class DocumentDescriptorBuilder {
 
     private final List<FieldDescriptor<?>> fieldDescriptors = new ArrayList<>();
 
-    private final LuceneBackend luceneBackend;
+    private final Supplier<FacetsConfig> facetsConfig;
 
     /**
      *
      * @param luceneBackend the backend used to register index field names for taxonomy facets
      */
     public DocumentDescriptorBuilder(LuceneBackend luceneBackend) {
-        this.luceneBackend = luceneBackend;
+        this.facetsConfig = luceneBackend::facetsConfig;
+    }
+
+    /**
+     * Create a builder before the backend, such that the backend can be configured according to
+     * the facets registered, as with {@link io.github.iamnicknack.slc.core.backend.TaxonomyMode#AUTO}
+     * @param facetsConfig the facets configuration subsequently provided to the backend
+     */
+    public DocumentDescriptorBuilder(FacetsConfig facetsConfig) {
+        this.facetsConfig = () -> facetsConfig;
     }
 
     /**
@@ -41,7 +55,8 @@ public class DocumentDescriptorBuilder {
     }
 
     /**
-     * Render the document definition based on the provided field information
+     * Render the document definition based on the provided field information. The index sort
+     * applies the sort fields in the order in which they were registered
      * @return the document definition
      */
     public DocumentDescriptor build() {
@@ -57,12 +72,23 @@ public class DocumentDescriptorBuilder {
                         .map(subFieldDescriptor -> new FacetPair(fieldDescriptor, subFieldDescriptor))
                 )
                 .forEach(facetPair -> {
-                    luceneBackend.facetsConfig()
+                    facetsConfig.get()
                             .setMultiValued(facetPair.subFieldDescriptor().name(), facetPair.fieldDescriptor().multiValue());
-                    luceneBackend.facetsConfig()
+                    facetsConfig.get()
                             .setIndexFieldName(facetPair.fieldDescriptor().name(), facetPair.subFieldDescriptor().name());
                 });
 
-        return () -> fieldDescriptorMap;
+        var sortFields = fieldDescriptors.stream()
+                .flatMap(fieldDescriptor -> fieldDescriptor.indexSort().stream())
+                .toArray(SortField[]::new);
+
+        return new DocumentDescriptorRecord(
+                fieldDescriptorMap,
+                sortFields.length > 0 ? Optional.of(new Sort(sortFields)) : Optional.empty()
+        );
+    }
+
+    private record DocumentDescriptorRecord(Map<String, FieldDescriptor<?>> fieldMap,
+                                            Optional<Sort> indexSort) implements DocumentDescriptor {
     }
 }
@@ -6,6 +6,7 @@ import io.github.iamnicknack.slc.api.document.FieldReader;
 import io.github.iamnicknack.slc.api.document.SubFieldDescriptor;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.search.SortField;
 
 import java.time.Clock;
 import java.time.Instant;
@@ -126,6 +127,38 @@ public class FieldDescriptorBuilder {
             return this;
         }
 
+        /**
+         * Documents are stored in order of this field, as declared by {@link io.github.iamnicknack.slc.api.document.DocumentDescriptor#indexSort()}
+         */
+        public StringFieldDescriptorBuilder indexSort() {
+            return indexSort(false);
+        }
+
+        /**
+         * Documents are stored in order of this field, as declared by {@link io.github.iamnicknack.slc.api.document.DocumentDescriptor#indexSort()}
+         * @param reverse whether documents are stored in descending order
+         */
+        public StringFieldDescriptorBuilder indexSort(boolean reverse) {
+            addIndexSort(SubFieldDescriptors::sortedString, SortField.Type.STRING, reverse);
+            return this;
+        }
+
+        /**
+         * Field is indexed with sorted doc values, from which projected values are read without loading stored fields
+         */
+        public StringFieldDescriptorBuilder docValues() {
+            addDocValues(SubFieldDescriptors::sortedString, SortField.Type.STRING);
+            return this;
+        }
+
+        /**
+         * Results can be sorted by this field, as declared by {@link FieldDescriptor#sortField(boolean)}.
+         * The field is indexed with sorted doc values
+         */
+        public StringFieldDescriptorBuilder sortable() {
+            return docValues();
+        }
+
         /**
          * Additional field names under which to store the value
          * @param fields required alias fields
@@ -162,6 +195,31 @@ public class FieldDescriptorBuilder {
             return this;
         }
 
+        public IntFieldDescriptorBuilder indexSort() {
+            return indexSort(false);
+        }
+
+        public IntFieldDescriptorBuilder indexSort(boolean reverse) {
+            addIndexSort(SubFieldDescriptors::sortedNumber, SortField.Type.INT, reverse);
+            return this;
+        }
+
+        /**
+         * Field is indexed with numeric doc values, from which projected values are read without loading stored fields
+         */
+        public IntFieldDescriptorBuilder docValues() {
+            addDocValues(SubFieldDescriptors::sortedNumber, SortField.Type.INT);
+            return this;
+        }
+
+        /**
+         * Results can be sorted by this field, as declared by {@link FieldDescriptor#sortField(boolean)}.
+         * The field is indexed with numeric doc values
+         */
+        public IntFieldDescriptorBuilder sortable() {
+            return docValues();
+        }
+
         @Override
         public FieldParser<Integer> fieldParser() {
             return field -> field.numericValue().intValue();
@@ -187,6 +245,31 @@ public class FieldDescriptorBuilder {
             return this;
         }
 
+        public LongFieldDescriptorBuilder indexSort() {
+            return indexSort(false);
+        }
+
+        public LongFieldDescriptorBuilder indexSort(boolean reverse) {
+            addIndexSort(SubFieldDescriptors::sortedNumber, SortField.Type.LONG, reverse);
+            return this;
+        }
+
+        /**
+         * Field is indexed with numeric doc values, from which projected values are read without loading stored fields
+         */
+        public LongFieldDescriptorBuilder docValues() {
+            addDocValues(SubFieldDescriptors::sortedNumber, SortField.Type.LONG);
+            return this;
+        }
+
+        /**
+         * Results can be sorted by this field, as declared by {@link FieldDescriptor#sortField(boolean)}.
+         * The field is indexed with numeric doc values
+         */
+        public LongFieldDescriptorBuilder sortable() {
+            return docValues();
+        }
+
         @Override
         public FieldParser<Long> fieldParser() {
             return field -> field.numericValue().longValue();
@@ -227,6 +310,35 @@ public class FieldDescriptorBuilder {
             return this;
         }
 
+        public InstantFieldDescriptorBuilder indexSort() {
+            return indexSort(false);
+        }
+
+        public InstantFieldDescriptorBuilder indexSort(boolean reverse) {
+            addIndexSort(fieldName -> SubFieldDescriptors
+                    .<Long>sortedNumber(fieldName)
+                    .compose(Instant::toEpochMilli), SortField.Type.LONG, reverse);
+            return this;
+        }
+
+        /**
+         * Field is indexed with numeric doc values, from which projected values are read without loading stored fields
+         */
+        public InstantFieldDescriptorBuilder docValues() {
+            addDocValues(fieldName -> SubFieldDescriptors
+                    .<Long>sortedNumber(fieldName)
+                    .compose(Instant::toEpochMilli), SortField.Type.LONG);
+            return this;
+        }
+
+        /**
+         * Results can be sorted by this field, as declared by {@link FieldDescriptor#sortField(boolean)}.
+         * The field is indexed with numeric doc values
+         */
+        public InstantFieldDescriptorBuilder sortable() {
+            return docValues();
+        }
+
         @Override
         public FieldParser<Instant> fieldParser() {
             return field -> Instant.ofEpochMilli(field.numericValue().longValue());
@@ -285,6 +397,36 @@ public class FieldDescriptorBuilder {
             return this;
         }
 
+        public ZonedDateTimeFieldDescriptorBuilder indexSort() {
+            return indexSort(false);
+        }
+
+        public ZonedDateTimeFieldDescriptorBuilder indexSort(boolean reverse) {
+            addIndexSort(fieldName -> SubFieldDescriptors
+                    .<Long>sortedNumber(fieldName)
+                    .compose(this::valueToMillis), SortField.Type.LONG, reverse);
+            return this;
+        }
+
+        /**
+         * Field is indexed with numeric doc values, from which projected values are read without loading
+         * stored fields. Values read from doc values take their timezone from the builder's clock
+         */
+        public ZonedDateTimeFieldDescriptorBuilder docValues() {
+            addDocValues(fieldName -> SubFieldDescriptors
+                    .<Long>sortedNumber(fieldName)
+                    .compose(this::valueToMillis), SortField.Type.LONG);
+            return this;
+        }
+
+        /**
+         * Results can be sorted by this field, as declared by {@link FieldDescriptor#sortField(boolean)}.
+         * The field is indexed with numeric doc values
+         */
+        public ZonedDateTimeFieldDescriptorBuilder sortable() {
+            return docValues();
+        }
+
         @Override
         public FieldParser<ZonedDateTime> fieldParser() {
             return field -> this.millisToValue(field.numericValue().longValue());
@@ -317,10 +459,39 @@ public class FieldDescriptorBuilder {
 
         protected final List<LazySubField<T>> subFieldFactories = new ArrayList<>();
 
+        private SortField.Type indexSortType;
+        private boolean indexSortReverse;
+        private SortField.Type docValuesType;
+
         protected TypedFieldDescriptorBuilder(Class<T> type) {
             this.type = type;
         }
 
+        /**
+         * Add a doc values sub-field by which the index is sorted
+         * @param subField factory for the doc values sub-field
+         * @param sortType the sort type matching the doc values
+         * @param reverse whether documents are stored in descending order
+         */
+        protected void addIndexSort(LazySubField<T> subField, SortField.Type sortType, boolean reverse) {
+            addDocValues(subField, sortType);
+            indexSortType = sortType;
+            indexSortReverse = reverse;
+        }
+
+        /**
+         * Add the doc values sub-field from which the value can be read and by which results can be sorted,
+         * unless already added
+         * @param subField factory for the doc values sub-field
+         * @param sortType the sort type matching the doc values
+         */
+        protected void addDocValues(LazySubField<T> subField, SortField.Type sortType) {
+            if(docValuesType == null) {
+                subFieldFactories.add(subField);
+                docValuesType = sortType;
+            }
+        }
+
         public TypedFieldDescriptorBuilder<T> name(String name) {
             FieldDescriptorBuilder.this.name = name;
             return this;
@@ -328,6 +499,12 @@ public class FieldDescriptorBuilder {
 
         public FieldDescriptor<T> build() {
             Objects.requireNonNull(name);
+            if(indexSortType != null && multiValue) {
+                throw new IllegalArgumentException("Multi-value fields cannot be used to sort the index: " + name);
+            }
+            if(docValuesType != null && multiValue) {
+                throw new IllegalArgumentException("Multi-value fields cannot be read from doc values: " + name);
+            }
 
             var subFields = subFieldFactories.stream()
                     .map(factory -> factory.createField(name))
@@ -337,8 +514,12 @@ public class FieldDescriptorBuilder {
                     id,
                     type.isAssignableFrom(String.class),
                     multiValue,
-                    fieldReader(),
-                    subFields
+                    docValuesType != null ? docValuesFieldReader(fieldReader()) : fieldReader(),
+                    subFields,
+                    indexSortType != null
+                            ? new SortField(SubFieldDescriptors.sortName(name), indexSortType, indexSortReverse)
+                            : null,
+                    docValuesType
             );
         }
 
@@ -352,9 +533,21 @@ public class FieldDescriptorBuilder {
                     ? new MultiValueFieldReader(name, fieldParser())
                     : new SingleValueFieldReader(name, fieldParser());
         }
+
+        /**
+         * Read from the doc values field when the stored value has not been loaded
+         * @param storedFieldReader reader for the stored value
+         */
+        private FieldReader docValuesFieldReader(FieldReader storedFieldReader) {
+            var docValuesReader = new SingleValueFieldReader(SubFieldDescriptors.docValuesName(name), fieldParser());
+            return document -> {
+                var value = storedFieldReader.read(document);
+                return value != null ? value : docValuesReader.read(document);
+            };
+        }
     }
 
-    private interface LazySubField<T> {
+    protected interface LazySubField<T> {
         SubFieldDescriptor<T> createField(String name);
     }
 
@@ -363,7 +556,20 @@ public class FieldDescriptorBuilder {
                                             boolean facetable,
                                             boolean multiValue,
                                             FieldReader fieldReader,
-                                            List<SubFieldDescriptor<T>> subfields) implements FieldDescriptor<T> {
+                                            List<SubFieldDescriptor<T>> subfields,
+                                            SortField indexSortField,
+                                            SortField.Type docValuesType) implements FieldDescriptor<T> {
+
+        @Override
+        public Optional<SortField> indexSort() {
+            return Optional.ofNullable(indexSortField);
+        }
+
+        @Override
+        public Optional<SortField> sortField(boolean reverse) {
+            return Optional.ofNullable(docValuesType)
+                    .map(sortType -> new SortField(SubFieldDescriptors.sortName(name), sortType, reverse));
+        }
 
         @Override
         @SuppressWarnings("unchecked")
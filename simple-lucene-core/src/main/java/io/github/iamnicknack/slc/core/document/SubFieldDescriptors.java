@@ -4,6 +4,7 @@ import io.github.iamnicknack.slc.api.document.SubFieldDescriptor;
 import org.apache.lucene.document.*;
 import org.apache.lucene.facet.FacetField;
 import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.util.BytesRef;
 
 import java.util.function.Function;
 
@@ -45,6 +46,33 @@ public class SubFieldDescriptors {
         return new SubFieldRecord<>(name, NumericDocValuesField.class, n -> new NumericDocValuesField(name, n.longValue()));
     }
 
+    static SubFieldDescriptor<String> sortedString(String field) {
+        String name = sortName(field);
+        return new SubFieldRecord<>(name, SortedDocValuesField.class, s -> new SortedDocValuesField(name, new BytesRef(s)));
+    }
+
+    static <T extends Number> SubFieldDescriptor<T> sortedNumber(String field) {
+        String name = sortName(field);
+        return new SubFieldRecord<>(name, NumericDocValuesField.class, n -> new NumericDocValuesField(name, n.longValue()));
+    }
+
+    /**
+     * The name of the doc values field used to sort by the specified field
+     * @param field the root field name
+     */
+    static String sortName(String field) {
+        return "%s.%s".formatted(field, "sort");
+    }
+
+    /**
+     * The name of the doc values field from which the value of the specified field can be read,
+     * which is also used to sort by the field
+     * @param field the root field name
+     */
+    public static String docValuesName(String field) {
+        return sortName(field);
+    }
+
     static SubFieldDescriptor<Integer> integerPoint(String field) {
         String name = "%s.%s".formatted(field, "point");
         return new SubFieldRecord<>(name, IntPoint.class, i -> new IntPoint(name, i));
@@ -9,8 +9,6 @@ import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.index.Term;
-import org.apache.lucene.search.BooleanClause;
-import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.TermQuery;
 import io.github.iamnicknack.slc.api.backend.LuceneBackend;
 import io.github.iamnicknack.slc.api.lease.Lease;
@@ -32,6 +30,7 @@ import java.util.concurrent.atomic.AtomicLong;
  *     <li>{@link #update(Object)} is implemented to behave in a similar manner to {@link #delete(Object)}
  *     in that only the first occurrence of the document is updated.
  *     </li>
+ *     <li>Documents are soft deleted when the index writer is configured with a soft deletes field</li>
  * </ul>
  *
  * @param <T> the type on which operations are performed
@@ -93,7 +92,7 @@ public class CollectionLikeUpdateOperations<T> implements UpdateOperations<T> {
                     document.add(current.getField(idField));
                     document.add(current.getField(serialField));
 
-                    components.indexWriter().updateDocument(term, components.build(document));
+                    WriterOperations.updateDocument(components.indexWriter(), term, components.build(document));
                 }
                 else {
                     add(value).execute(components);
@@ -103,6 +102,31 @@ public class CollectionLikeUpdateOperations<T> implements UpdateOperations<T> {
         };
      }
 
+    /**
+     * Update the numeric doc values of the named fields of the first document matching the specified value
+     * in place, without reindexing the document. Stored values are unchanged, so values read from the index
+     * reflect the last full update
+     * @param value the value providing the updated field values
+     * @param fields the names of the fields to update
+     * @return the parameter value
+     * @throws IllegalArgumentException if a field is not indexed with numeric doc values, or is in the index sort
+     */
+    @Override
+    public Lease.LeaseFunction<LuceneBackend.UpdateComponents, Void> updateDocValues(T value, String... fields) {
+        return components -> {
+            var indexWriter = components.indexWriter();
+            var updates = WriterOperations.numericDocValues(indexWriter, documentOperations.createDocument(value), fields);
+            try(var result = queryExecutor.execute(value)) {
+                if(result.totalHits() > 0) {
+                    var current = result.iterator().next().value();
+                    var term = new Term(serialField, current.get(serialField));
+                    indexWriter.updateDocValues(term, updates);
+                }
+            }
+            return null;
+        };
+    }
+
     /**
      * Delete the first document matching the specified value
      * @param value the value to delete
@@ -114,8 +138,8 @@ public class CollectionLikeUpdateOperations<T> implements UpdateOperations<T> {
             try(var result = queryExecutor.execute(value)) {
                 if (result.totalHits() > 0) {
                     Document document = result.iterator().next().value();
-                    TermQuery termQuery = new TermQuery(new Term(serialField, document.get(serialField)));
-                    components.indexWriter().deleteDocuments(termQuery);
+                    var term = new Term(serialField, document.get(serialField));
+                    WriterOperations.deleteDocuments(components.indexWriter(), term);
                 }
             }
             return null;
@@ -125,20 +149,18 @@ public class CollectionLikeUpdateOperations<T> implements UpdateOperations<T> {
     /**
      * Delete all documents matching any element in the provided collection
      * @param values the values to match for deletion
-     * @return the number of distinct terms included in the deletion query
+     * @return the number of terms included in the deletion
      */
     @Override
     public Lease.LeaseFunction<LuceneBackend.UpdateComponents, Integer> deleteAll(Collection<T> values) {
-        var builder = new BooleanQuery.Builder();
-        values.stream()
+        var terms = values.stream()
                 .map(documentOperations::id)
-                .map(id -> new BooleanClause(new TermQuery(new Term(idField, id)), BooleanClause.Occur.SHOULD))
-                .forEach(builder::add);
-        var query = builder.build();
+                .map(id -> new Term(idField, id))
+                .toArray(Term[]::new);
 
         return components -> {
-            components.indexWriter().deleteDocuments(query);
-            return query.clauses().size();
+            WriterOperations.deleteDocuments(components.indexWriter(), terms);
+            return terms.length;
         };
     }
 }
@@ -5,8 +5,6 @@ import io.github.iamnicknack.slc.api.index.UpdateOperations;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.index.Term;
-import org.apache.lucene.search.BooleanClause;
-import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.TermQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +15,7 @@ import java.util.Collection;
 
 /**
  * Provides java {@link java.util.Set}-like operations for adding and removing unique documents from the index.
+ * Documents are soft deleted when the index writer is configured with a soft deletes field.
  * @param <T> the type on which operations are performed.
  */
 public class SetLikeUpdateOperations<T> implements UpdateOperations<T> {
@@ -78,7 +77,27 @@ public class SetLikeUpdateOperations<T> implements UpdateOperations<T> {
 
             var document = domainOperations.createDocument(value);
             document.add(new StringField(idField, id, Field.Store.YES));
-            components.indexWriter().updateDocument(term, components.build(document));
+            WriterOperations.updateDocument(components.indexWriter(), term, components.build(document));
+            return null;
+        };
+    }
+
+    /**
+     * Update the numeric doc values of the named fields in place, without reindexing the document.
+     * Stored values are unchanged, so values read from the index reflect the last full update
+     * @param value the value providing the updated field values
+     * @param fields the names of the fields to update
+     * @return the parameter value
+     * @throws IllegalArgumentException if a field is not indexed with numeric doc values, or is in the index sort
+     */
+    @Override
+    public Lease.LeaseFunction<LuceneBackend.UpdateComponents, Void> updateDocValues(T value, String... fields) {
+        return components -> {
+            var id = domainOperations.id(value);
+            var indexWriter = components.indexWriter();
+            var updates = WriterOperations.numericDocValues(indexWriter, domainOperations.createDocument(value), fields);
+
+            indexWriter.updateDocValues(new Term(idField, id), updates);
             return null;
         };
     }
@@ -95,7 +114,7 @@ public class SetLikeUpdateOperations<T> implements UpdateOperations<T> {
             var id = domainOperations.id(value);
             var term = new Term("_id", id);
 
-            components.indexWriter().deleteDocuments(term);
+            WriterOperations.deleteDocuments(components.indexWriter(), term);
             return null;
         };
     }
@@ -103,20 +122,18 @@ public class SetLikeUpdateOperations<T> implements UpdateOperations<T> {
     /**
      * Delete all documents matching any element in the provided collection
      * @param values the values to match for deletion
-     * @return the number of distinct terms included in the deletion query
+     * @return the number of terms included in the deletion
      */
     @Override
     public Lease.LeaseFunction<LuceneBackend.UpdateComponents, Integer> deleteAll(Collection<T> values) {
-        var builder = new BooleanQuery.Builder();
-        values.stream()
+        var terms = values.stream()
                 .map(domainOperations::id)
-                .map(id -> new BooleanClause(new TermQuery(new Term(idField, id)), BooleanClause.Occur.SHOULD))
-                .forEach(builder::add);
-        var query = builder.build();
+                .map(id -> new Term(idField, id))
+                .toArray(Term[]::new);
 
         return components -> {
-            components.indexWriter().deleteDocuments(query);
-            return query.clauses().size();
+            WriterOperations.deleteDocuments(components.indexWriter(), terms);
+            return terms.length;
         };
     }
 }
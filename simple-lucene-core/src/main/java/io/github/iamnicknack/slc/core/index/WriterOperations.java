@@ -0,0 +1,91 @@
+package io.github.iamnicknack.slc.core.index;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * {@link IndexWriter} operations shared by update operation implementations, which use soft deletes
+ * when the writer is configured with {@link org.apache.lucene.index.IndexWriterConfig#setSoftDeletesField(String)}
+ */
+final class WriterOperations {
+
+    private WriterOperations() {
+    }
+
+    /**
+     * Replace the documents matching the term
+     * @param indexWriter the index writer
+     * @param term the term identifying the documents to replace
+     * @param document the replacement document
+     * @throws IOException if the update fails
+     */
+    static void updateDocument(IndexWriter indexWriter, Term term, Iterable<? extends IndexableField> document) throws IOException {
+        var softDeletesField = indexWriter.getConfig().getSoftDeletesField();
+        if(softDeletesField != null) {
+            indexWriter.softUpdateDocument(term, document, softDeleteMarker(softDeletesField));
+        }
+        else {
+            indexWriter.updateDocument(term, document);
+        }
+    }
+
+    /**
+     * Delete the documents matching any of the terms
+     * @param indexWriter the index writer
+     * @param terms the terms identifying the documents to delete
+     * @throws IOException if the delete fails
+     */
+    static void deleteDocuments(IndexWriter indexWriter, Term... terms) throws IOException {
+        var softDeletesField = indexWriter.getConfig().getSoftDeletesField();
+        if(softDeletesField != null) {
+            for(var term : terms) {
+                indexWriter.updateDocValues(term, softDeleteMarker(softDeletesField));
+            }
+        }
+        else {
+            indexWriter.deleteDocuments(terms);
+        }
+    }
+
+    /**
+     * Select the numeric doc values of the named fields, including their sub-fields. Sub-fields in the
+     * index sort, such as those added by {@code indexSort()}, are skipped as Lucene cannot update them in place
+     * @param indexWriter the index writer to be updated
+     * @param document a document created from the domain value
+     * @param fields the names of the fields to update
+     * @return the doc values fields
+     * @throws IllegalArgumentException if a field has no numeric doc values outside the index sort
+     */
+    static Field[] numericDocValues(IndexWriter indexWriter, Document document, String... fields) {
+        var indexSortFields = indexWriter.getConfig().getIndexSortFields();
+        var updates = new ArrayList<Field>();
+        for(var name : fields) {
+            if(indexSortFields.contains(name)) {
+                throw new IllegalArgumentException("Index sort field cannot be updated: " + name);
+            }
+            var fieldUpdates = document.getFields().stream()
+                    .filter(field -> field.name().equals(name) || field.name().startsWith(name + "."))
+                    .filter(field -> field.fieldType().docValuesType() == DocValuesType.NUMERIC)
+                    .filter(field -> !indexSortFields.contains(field.name()))
+                    .map(Field.class::cast)
+                    .toList();
+            if(fieldUpdates.isEmpty()) {
+                throw new IllegalArgumentException("No numeric doc values for field: " + name);
+            }
+            updates.addAll(fieldUpdates);
+        }
+        return updates.toArray(Field[]::new);
+    }
+
+    private static Field softDeleteMarker(String softDeletesField) {
+        return new NumericDocValuesField(softDeletesField, 1);
+    }
+}
@@ -5,42 +5,120 @@ import io.github.iamnicknack.slc.api.lease.Lease;
 import io.github.iamnicknack.slc.api.lease.LeaseFactory;
 import io.github.iamnicknack.slc.api.query.*;
 import org.apache.lucene.document.Document;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
 
+import java.io.IOException;
 import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class DefaultPagedQueryExecutor<K> implements PagedQueryExecutor<K, Document> {
 
     private final QueryFactory<K> queryFactory;
     private final LeaseFactory<LuceneBackend.SearchComponents> searcherLeaseFactory;
+    private final HoldTimeLimit holdTimeLimit;
 
     public DefaultPagedQueryExecutor(QueryFactory<K> queryFactory,
                                      LeaseFactory<LuceneBackend.SearchComponents> searcherLeaseFactory) {
+        this(queryFactory, searcherLeaseFactory, HoldTimeLimit.unlimited());
+    }
+
+    /**
+     * @param queryFactory the query factory
+     * @param searcherLeaseFactory the searcher lease factory
+     * @param holdTimeLimit limits the time for which each result holds a searcher
+     */
+    public DefaultPagedQueryExecutor(QueryFactory<K> queryFactory,
+                                     LeaseFactory<LuceneBackend.SearchComponents> searcherLeaseFactory,
+                                     HoldTimeLimit holdTimeLimit) {
         this.queryFactory = queryFactory;
         this.searcherLeaseFactory = searcherLeaseFactory;
+        this.holdTimeLimit = holdTimeLimit;
     }
 
+    /**
+     * Create an executor which limits the time for which each result holds a searcher
+     * @param holdTimeLimit the hold time limit
+     * @return a new executor instance
+     */
+    public DefaultPagedQueryExecutor<K> withHoldTimeLimit(HoldTimeLimit holdTimeLimit) {
+        return new DefaultPagedQueryExecutor<>(queryFactory, searcherLeaseFactory, holdTimeLimit);
+    }
+
+    /**
+     * @throws IllegalArgumentException if searchers are re-acquired but the sort cannot continue on
+     * a new searcher, as described by {@link HoldTimeLimit#resumable(Sort)}
+     */
     @Override
     public PagedResult<Document> execute(K query, QueryOptions options) {
-        var lease = searcherLeaseFactory.lease();
+        if(holdTimeLimit.limited()
+                && holdTimeLimit.onExpiry() == HoldTimeLimit.OnExpiry.REACQUIRE
+                && !HoldTimeLimit.resumable(options.sort())) {
+            throw new IllegalArgumentException(HoldTimeLimit.OnExpiry.REACQUIRE
+                    + " requires a sort ending with a field of unique values, not " + options.sort());
+        }
+
         Query luceneQuery = queryFactory.query(query);
 
-        PageFactory pageFactory = last -> lease.execute(components ->
-                components.indexSearcher().searchAfter(last, luceneQuery, options.maxHits())
-        );
+        if(!holdTimeLimit.limited()) {
+            var lease = searcherLeaseFactory.lease();
+            PageFactory pageFactory = last -> {
+                var topDocs = lease.execute(components -> TopDocsSearch.search(components.indexSearcher(), luceneQuery, options, last));
+                return new Page(topDocs, new DefaultResult(topDocs, lease, options.fields()) {
+                    @Override
+                    public void close() {
+                        // no op
+                    }
+                }, false);
+            };
+            return new PagedResultImpl(pageFactory, lease);
+        }
 
+        // documents are read with the page, as doc ids are not valid for a re-acquired searcher
+        var lease = new ExpiringLease<>(searcherLeaseFactory, holdTimeLimit);
+        var previousSearcher = new AtomicReference<IndexSearcher>();
+        PageFactory pageFactory = last -> lease.execute(components -> {
+            var searcher = components.indexSearcher();
+            var topDocs = TopDocsSearch.search(searcher, luceneQuery, options, last);
+            var previous = previousSearcher.getAndSet(searcher);
+            return new Page(topDocs, loadedResult(searcher, topDocs, options.fields()), previous != null && previous != searcher);
+        });
         return new PagedResultImpl(pageFactory, lease);
     }
 
+    private static Result<Document> loadedResult(IndexSearcher searcher, TopDocs topDocs, Set<String> fields) throws IOException {
+        var hits = StoredDocuments.hits(searcher, topDocs.scoreDocs, fields);
+
+        return new Result<>() {
+            @Override
+            public long totalHits() {
+                return topDocs.totalHits.value;
+            }
+
+            @Override
+            public TotalHits.Relation totalHitsRelation() {
+                return topDocs.totalHits.relation;
+            }
+
+            @Override
+            public Iterator<Hit<Document>> iterator() {
+                return hits.iterator();
+            }
+        };
+    }
+
     static class PagedResultImpl implements PagedResult<Document> {
 
         private final PageFactory pageFactory;
-        private final Lease<LuceneBackend.SearchComponents> lease;
+        private final Lease<?> lease;
 
         public PagedResultImpl(PageFactory pageFactory,
-                               Lease<LuceneBackend.SearchComponents> lease) {
+                               Lease<?> lease) {
             this.pageFactory = pageFactory;
             this.lease = lease;
         }
@@ -56,24 +134,40 @@ public class DefaultPagedQueryExecutor<K> implements PagedQueryExecutor<K, Docum
 
                 private TopDocs lastDocs = null;
                 private int currentIndex = 0;
+                /**
+                 * Whether all pages were read from one searcher, so that the hits read can be compared
+                 * with the total hit count
+                 */
+                private boolean singleSearcher = true;
+                /**
+                 * The next page, fetched in advance when the total hit count is a lower bound
+                 */
+                private Page nextPage = null;
 
                 @Override
                 public boolean hasNext() {
-                    return lastDocs == null
-                            // this assumes that `totalHits.value` is never less than the reported value.
-                            || currentIndex < lastDocs.totalHits.value;
+                    if(lastDocs == null) {
+                        return true;
+                    }
+                    if(singleSearcher && lastDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO) {
+                        return currentIndex < lastDocs.totalHits.value;
+                    }
+                    // a lower bound, or a count from a re-acquired searcher, cannot tell whether more hits
+                    // remain, so fetch the next page to find out
+                    if(nextPage == null && lastDocs.scoreDocs.length > 0) {
+                        nextPage = pageFactory.nextPage(lastDoc(lastDocs));
+                    }
+                    return nextPage != null && nextPage.topDocs().scoreDocs.length > 0;
                 }
 
                 @Override
                 public Result<Document> next() {
-                    lastDocs = pageFactory.nextPage(lastDoc(lastDocs));
+                    var page = nextPage != null ? nextPage : pageFactory.nextPage(lastDoc(lastDocs));
+                    nextPage = null;
+                    singleSearcher &= !page.reacquired();
+                    lastDocs = page.topDocs();
                     currentIndex += lastDocs.scoreDocs.length;
-                    return new DefaultResult(lastDocs, lease) {
-                        @Override
-                        public void close() {
-                            // no op
-                        }
-                    };
+                    return page.result();
                 }
 
                 private ScoreDoc lastDoc(TopDocs docs) {
@@ -86,6 +180,14 @@ public class DefaultPagedQueryExecutor<K> implements PagedQueryExecutor<K, Docum
     }
 
     interface PageFactory {
-        TopDocs nextPage(ScoreDoc last);
+        Page nextPage(ScoreDoc last);
+    }
+
+    /**
+     * @param topDocs the hits used to continue the search
+     * @param result the result provided for the page
+     * @param reacquired whether the page was read from a different searcher to the previous page
+     */
+    record Page(TopDocs topDocs, Result<Document> result, boolean reacquired) {
     }
 }
@@ -24,12 +24,16 @@ public class DefaultQueryExecutor<K> implements QueryExecutor<K, Document> {
 
     @Override
     public Result<Document> execute(K query, QueryOptions options) {
-        Lease<SearchComponents> lease = searcherLeaseFactory.lease();
         Query luceneQuery = queryFactory.query(query);
-        TopDocs docs = lease.execute(components -> components
-                .indexSearcher().search(luceneQuery, options.maxHits())
-        );
 
-        return new DefaultResult(docs, lease);
+        Lease<SearchComponents> lease = searcherLeaseFactory.lease();
+        try {
+            TopDocs docs = lease.execute(components -> TopDocsSearch.search(components.indexSearcher(), luceneQuery, options, null));
+            return new DefaultResult(docs, lease, options.fields());
+        } catch (RuntimeException e) {
+            // the result owns the lease only once it has been created
+            lease.close();
+            throw e;
+        }
     }
 }
@@ -1,25 +1,48 @@
 package io.github.iamnicknack.slc.core.query;
 
 import io.github.iamnicknack.slc.api.query.Hit;
-import io.github.iamnicknack.slc.api.query.HitRecord;
 import io.github.iamnicknack.slc.api.query.Result;
 import org.apache.lucene.document.Document;
-import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
 import io.github.iamnicknack.slc.api.backend.LuceneBackend;
 import io.github.iamnicknack.slc.api.lease.Lease;
 
 import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 
+/**
+ * {@link Result} which loads the documents for all hits with a single lease call when first iterated
+ * @see StoredDocuments
+ */
 public class DefaultResult implements Result<Document> {
 
     private final TopDocs topDocs;
     private final Lease<LuceneBackend.SearchComponents> lease;
+    private final Set<String> fields;
+
+    /**
+     * Hits with their documents, loaded when first iterated
+     */
+    private List<Hit<Document>> hits;
 
     public DefaultResult(TopDocs topDocs,
                          Lease<LuceneBackend.SearchComponents> lease) {
+        this(topDocs, lease, Set.of());
+    }
+
+    /**
+     * @param topDocs the hits
+     * @param lease the lease of the searcher which produced the hits
+     * @param fields the stored fields to load, or an empty set to load all stored fields
+     */
+    public DefaultResult(TopDocs topDocs,
+                         Lease<LuceneBackend.SearchComponents> lease,
+                         Set<String> fields) {
         this.topDocs = topDocs;
         this.lease = lease;
+        this.fields = fields;
     }
 
     @Override
@@ -27,6 +50,11 @@ public class DefaultResult implements Result<Document> {
         return topDocs.totalHits.value;
     }
 
+    @Override
+    public TotalHits.Relation totalHitsRelation() {
+        return topDocs.totalHits.relation;
+    }
+
     @Override
     public void close() {
         lease.close();
@@ -34,21 +62,9 @@ public class DefaultResult implements Result<Document> {
 
     @Override
     public Iterator<Hit<Document>> iterator() {
-        return new Iterator<>() {
-            private int index = 0;
-
-            @Override
-            public boolean hasNext() {
-                return index < topDocs.scoreDocs.length;
-            }
-
-            @Override
-            public Hit<Document> next() {
-                ScoreDoc doc = topDocs.scoreDocs[index++];
-                return new HitRecord<>(
-                        doc.score,
-                        lease.execute(components -> components.indexSearcher().doc(doc.doc))
-                );
-            }
-        };
-    }}
+        if(hits == null) {
+            hits = lease.execute(components -> StoredDocuments.hits(components.indexSearcher(), topDocs.scoreDocs, fields));
+        }
+        return hits.iterator();
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.iamnicknack.slc.core.query;
+
+import io.github.iamnicknack.slc.api.lease.Lease;
+import io.github.iamnicknack.slc.api.lease.LeaseFactory;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link Lease} which releases the underlying lease once the {@link HoldTimeLimit} has elapsed,
+ * either failing or re-acquiring on further use
+ * @param <T> the leased type
+ */
+class ExpiringLease<T> implements Lease<T> {
+
+    private static final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+        var thread = new Thread(runnable, "slc-lease-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    private final LeaseFactory<T> leaseFactory;
+    private final HoldTimeLimit holdTimeLimit;
+
+    private Lease<T> lease;
+    private ScheduledFuture<?> expiry;
+    private boolean closed = false;
+
+    ExpiringLease(LeaseFactory<T> leaseFactory, HoldTimeLimit holdTimeLimit) {
+        this.leaseFactory = leaseFactory;
+        this.holdTimeLimit = holdTimeLimit;
+        acquire();
+    }
+
+    @Override
+    public synchronized <R> R execute(LeaseFunction<T, R> function) {
+        if(closed) {
+            throw new IllegalStateException("Lease has been closed");
+        }
+        if(lease == null) {
+            if(holdTimeLimit.onExpiry() == HoldTimeLimit.OnExpiry.FAIL) {
+                throw new LeaseException("Lease expired after " + holdTimeLimit.maxHoldTime(), new TimeoutException());
+            }
+            acquire();
+        }
+        return lease.execute(function);
+    }
+
+    @Override
+    public synchronized void close() {
+        if(closed) {
+            return;
+        }
+        closed = true;
+        expiry.cancel(false);
+        release();
+    }
+
+    private void acquire() {
+        lease = leaseFactory.lease();
+        expiry = scheduler.schedule(this::expire, holdTimeLimit.maxHoldTime().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private synchronized void expire() {
+        if(!closed) {
+            release();
+        }
+    }
+
+    private void release() {
+        if(lease != null) {
+            lease.close();
+            lease = null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.iamnicknack.slc.core.query;
+
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Limits the time for which a paged result holds its searcher lease, so that slow consumers do not keep
+ * obsolete segments open
+ *
+ * @param maxHoldTime the maximum time a searcher is held, or {@link Duration#ZERO} for no limit
+ * @param onExpiry the behaviour when the result is used after the lease has expired
+ */
+public record HoldTimeLimit(Duration maxHoldTime, OnExpiry onExpiry) {
+
+    public HoldTimeLimit {
+        Objects.requireNonNull(maxHoldTime, "maxHoldTime cannot be null");
+        Objects.requireNonNull(onExpiry, "onExpiry cannot be null");
+        if(maxHoldTime.isNegative()) {
+            throw new IllegalArgumentException("maxHoldTime cannot be negative");
+        }
+    }
+
+    /**
+     * Searchers are held until the result is closed
+     */
+    public static HoldTimeLimit unlimited() {
+        return new HoldTimeLimit(Duration.ZERO, OnExpiry.FAIL);
+    }
+
+    /**
+     * Release the searcher once the time has elapsed, failing any further use of the result
+     * @param maxHoldTime the maximum time a searcher is held
+     */
+    public static HoldTimeLimit fail(Duration maxHoldTime) {
+        return new HoldTimeLimit(maxHoldTime, OnExpiry.FAIL);
+    }
+
+    /**
+     * Release the searcher once the time has elapsed, continuing from the last page with a fresh searcher
+     * if the result is used again. Pages read after re-acquiring reflect changes made since the search began.
+     *
+     * <p>The search continues from the sort values of the last hit of the previous page, so queries must
+     * be sorted by fields ending with one which has a unique value per document, such as an identifier
+     * stored as a sortable field. Scores and doc ids belong to the released searcher, so searches sorted by
+     * relevance or index order are rejected, see {@link #resumable(Sort)}</p>
+     * @param maxHoldTime the maximum time each searcher is held
+     */
+    public static HoldTimeLimit reacquire(Duration maxHoldTime) {
+        return new HoldTimeLimit(maxHoldTime, OnExpiry.REACQUIRE);
+    }
+
+    /**
+     * Whether searchers are released before the result is closed
+     */
+    public boolean limited() {
+        return !maxHoldTime.isZero();
+    }
+
+    /**
+     * Whether a search using the sort can continue on a re-acquired searcher, which requires the last
+     * sort field to sort by field values rather than by score or doc id. The uniqueness of the field's
+     * values cannot be checked, so remains the responsibility of the caller
+     * @param sort the sort
+     */
+    public static boolean resumable(Sort sort) {
+        var sortFields = sort.getSort();
+        var type = sortFields[sortFields.length - 1].getType();
+        return type != SortField.Type.SCORE && type != SortField.Type.DOC;
+    }
+
+    /**
+     * Behaviour when a result is used after its lease has expired
+     */
+    public enum OnExpiry {
+        /**
+         * Throw a {@link io.github.iamnicknack.slc.api.lease.Lease.LeaseException}
+         */
+        FAIL,
+        /**
+         * Lease a new searcher, continuing from the sort values of the last hit as described by
+         * {@link #reacquire(Duration)}
+         */
+        REACQUIRE
+    }
+}
@@ -0,0 +1,191 @@
+package io.github.iamnicknack.slc.core.query;
+
+import io.github.iamnicknack.slc.api.query.Hit;
+import io.github.iamnicknack.slc.api.query.HitRecord;
+import io.github.iamnicknack.slc.core.document.SubFieldDescriptors;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DocumentStoredFieldVisitor;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads the stored fields of search hits in batches.
+ *
+ * <p>Documents are read in doc id order, one leaf at a time, so that stored field blocks are decompressed
+ * and read sequentially rather than in score order, then returned in the order of the hits.
+ * When a projection is specified only the named fields and their sub-fields are loaded.
+ * Projected fields indexed with doc values, such as those built with
+ * {@code docValues()} on a {@link io.github.iamnicknack.slc.core.document.FieldDescriptorBuilder},
+ * are read from their doc values rather than stored fields, under the
+ * {@link SubFieldDescriptors#docValuesName(String)} field name</p>
+ */
+public class StoredDocuments {
+
+    private StoredDocuments() {}
+
+    /**
+     * Load the documents for the hits
+     * @param searcher the searcher which produced the hits
+     * @param scoreDocs the hits
+     * @return hits with their documents, in the order of {@code scoreDocs}
+     * @throws IOException if stored fields cannot be read
+     */
+    public static List<Hit<Document>> hits(IndexSearcher searcher, ScoreDoc[] scoreDocs) throws IOException {
+        return hits(searcher, scoreDocs, Set.of());
+    }
+
+    /**
+     * Load the projected fields of the documents for the hits
+     * @param searcher the searcher which produced the hits
+     * @param scoreDocs the hits
+     * @param fields the fields to load, or an empty set to load all stored fields
+     * @return hits with their documents, in the order of {@code scoreDocs}
+     * @throws IOException if stored fields cannot be read
+     */
+    public static List<Hit<Document>> hits(IndexSearcher searcher, ScoreDoc[] scoreDocs, Set<String> fields) throws IOException {
+        var documents = documents(searcher, scoreDocs, fields);
+
+        List<Hit<Document>> hits = new ArrayList<>(scoreDocs.length);
+        for(int i = 0; i < scoreDocs.length; i++) {
+            hits.add(new HitRecord<>(scoreDocs[i].score, documents[i]));
+        }
+        return hits;
+    }
+
+    /**
+     * Load the documents for the hits
+     * @param searcher the searcher which produced the hits
+     * @param scoreDocs the hits
+     * @param fields the fields to load, or an empty set to load all stored fields
+     * @return the documents, in the order of {@code scoreDocs}
+     * @throws IOException if stored fields cannot be read
+     */
+    public static Document[] documents(IndexSearcher searcher, ScoreDoc[] scoreDocs, Set<String> fields) throws IOException {
+        var order = new Integer[scoreDocs.length];
+        for(int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> scoreDocs[i].doc));
+
+        var documents = new Document[scoreDocs.length];
+        var leaves = searcher.getIndexReader().leaves();
+        LeafDocuments leafDocuments = null;
+        for(int index : order) {
+            int doc = scoreDocs[index].doc;
+            if(leafDocuments == null || doc >= leafDocuments.end) {
+                leafDocuments = new LeafDocuments(leaves.get(ReaderUtil.subIndex(doc, leaves)), fields);
+            }
+            documents[index] = leafDocuments.document(doc);
+        }
+        return documents;
+    }
+
+    private static Document project(StoredFields storedFields, int doc, Set<String> fields) throws IOException {
+        var visitor = new DocumentStoredFieldVisitor() {
+            @Override
+            public Status needsField(FieldInfo fieldInfo) {
+                return projected(fieldInfo.name, fields) ? Status.YES : Status.NO;
+            }
+        };
+        storedFields.document(doc, visitor);
+        return visitor.getDocument();
+    }
+
+    /**
+     * Whether the field, or the field of which it is a sub-field, is projected
+     */
+    private static boolean projected(String name, Set<String> fields) {
+        if(fields.contains(name)) {
+            return true;
+        }
+        int separator = name.indexOf('.');
+        while(separator > 0) {
+            if(fields.contains(name.substring(0, separator))) {
+                return true;
+            }
+            separator = name.indexOf('.', separator + 1);
+        }
+        return false;
+    }
+
+    /**
+     * Reads documents from a single leaf in doc id order
+     */
+    private static class LeafDocuments {
+        private final LeafReaderContext leaf;
+        private final int end;
+        private final StoredFields storedFields;
+        private final Set<String> storedProjection;
+        private final Map<String, NumericDocValues> numericDocValues = new HashMap<>();
+        private final Map<String, SortedDocValues> sortedDocValues = new HashMap<>();
+
+        private LeafDocuments(LeafReaderContext leaf, Set<String> fields) throws IOException {
+            this.leaf = leaf;
+            this.end = leaf.docBase + leaf.reader().maxDoc();
+
+            var reader = leaf.reader();
+            var storedProjection = new HashSet<>(fields);
+            for(var field : fields) {
+                var docValuesName = SubFieldDescriptors.docValuesName(field);
+                var fieldInfo = reader.getFieldInfos().fieldInfo(docValuesName);
+                var type = fieldInfo != null ? fieldInfo.getDocValuesType() : DocValuesType.NONE;
+                if(type == DocValuesType.NUMERIC) {
+                    numericDocValues.put(docValuesName, reader.getNumericDocValues(docValuesName));
+                    storedProjection.remove(field);
+                }
+                else if(type == DocValuesType.SORTED) {
+                    sortedDocValues.put(docValuesName, reader.getSortedDocValues(docValuesName));
+                    storedProjection.remove(field);
+                }
+            }
+            this.storedProjection = storedProjection;
+            this.storedFields = fields.isEmpty() || !storedProjection.isEmpty() ? reader.storedFields() : null;
+        }
+
+        private Document document(int doc) throws IOException {
+            int leafDoc = doc - leaf.docBase;
+            Document document;
+            // stored fields are not read when every projected field has doc values
+            if(storedFields == null) {
+                document = new Document();
+            }
+            else if(storedProjection.isEmpty()) {
+                document = storedFields.document(leafDoc);
+            }
+            else {
+                document = project(storedFields, leafDoc, storedProjection);
+            }
+
+            for(var entry : numericDocValues.entrySet()) {
+                if(entry.getValue().advanceExact(leafDoc)) {
+                    document.add(new StoredField(entry.getKey(), entry.getValue().longValue()));
+                }
+            }
+            for(var entry : sortedDocValues.entrySet()) {
+                var values = entry.getValue();
+                if(values.advanceExact(leafDoc)) {
+                    document.add(new StoredField(entry.getKey(), values.lookupOrd(values.ordValue()).utf8ToString()));
+                }
+            }
+            return document;
+        }
+    }
+}
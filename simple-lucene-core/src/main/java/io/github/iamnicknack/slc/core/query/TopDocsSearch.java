@@ -0,0 +1,48 @@
+package io.github.iamnicknack.slc.core.query;
+
+import io.github.iamnicknack.slc.api.query.QueryOptions;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldCollector;
+import org.apache.lucene.search.TopScoreDocCollector;
+
+import java.io.IOException;
+
+/**
+ * Top hits searches honouring {@link QueryOptions#totalHitsThreshold()}.
+ *
+ * <p>Once the threshold has been counted, collectors skip non-competitive hits using block-max WAND
+ * or the index sort, and report the total as a lower bound</p>
+ */
+final class TopDocsSearch {
+
+    private TopDocsSearch() {}
+
+    /**
+     * Search for the top hits after the last hit of the previous page.
+     * Hits from sorted searches are {@link FieldDoc}s, as required to continue a sorted search
+     * @param searcher the searcher
+     * @param query the query
+     * @param options the query options
+     * @param after the last hit of the previous page, or {@code null} for the first page
+     * @return the top hits
+     * @throws IOException if the search fails
+     */
+    static TopDocs search(IndexSearcher searcher, Query query, QueryOptions options, ScoreDoc after) throws IOException {
+        int numHits = Math.min(options.maxHits(), Math.max(1, searcher.getIndexReader().maxDoc()));
+
+        if(options.sort().equals(Sort.RELEVANCE)) {
+            return searcher.search(query, TopScoreDocCollector.createSharedManager(
+                    numHits, after, options.totalHitsThreshold()
+            ));
+        }
+        // field sorts terminate early when they match the index sort
+        return searcher.search(query, TopFieldCollector.createSharedManager(
+                options.sort().rewrite(searcher), numHits, (FieldDoc) after, options.totalHitsThreshold()
+        ));
+    }
+}
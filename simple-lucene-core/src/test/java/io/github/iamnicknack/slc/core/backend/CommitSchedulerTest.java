@@ -0,0 +1,76 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.facet.taxonomy.FacetLabel;
+import org.apache.lucene.facet.taxonomy.directory.DirectoryTaxonomyWriter;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommitSchedulerTest {
+
+    @Test
+    void blocksNewOrdinalsWhileCommitting() throws Exception {
+        var committing = new CountDownLatch(1);
+        var proceed = new CountDownLatch(1);
+
+        try(var indexWriter = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(new StandardAnalyzer()));
+            var taxonomyWriter = new DirectoryTaxonomyWriter(new ByteBuffersDirectory()) {
+                @Override
+                public synchronized long commit() throws IOException {
+                    committing.countDown();
+                    try {
+                        proceed.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return super.commit();
+                }
+            }) {
+            var scheduler = new CommitScheduler(indexWriter, taxonomyWriter, CommitPolicy.onRelease());
+            var gated = scheduler.taxonomyWriter();
+
+            var commit = CompletableFuture.runAsync(() -> {
+                try {
+                    scheduler.commit();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            assertTrue(committing.await(10, TimeUnit.SECONDS));
+
+            var added = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return gated.addCategory(new FacetLabel("field", "value"));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            assertThrows(TimeoutException.class, () -> added.get(200, TimeUnit.MILLISECONDS));
+
+            proceed.countDown();
+            commit.get(10, TimeUnit.SECONDS);
+            assertTrue(added.get(10, TimeUnit.SECONDS) > 0);
+            scheduler.close();
+        }
+    }
+
+    @Test
+    void providesNoTaxonomyWriterWithoutTaxonomy() throws IOException {
+        try(var indexWriter = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(new StandardAnalyzer()))) {
+            var scheduler = new CommitScheduler(indexWriter, null, CommitPolicy.onRelease());
+            assertNull(scheduler.taxonomyWriter());
+            scheduler.close();
+        }
+    }
+}
@@ -1,16 +1,36 @@
 package io.github.iamnicknack.slc.core.backend;
 
+import io.github.iamnicknack.slc.api.lease.LeakDetection;
+import io.github.iamnicknack.slc.api.query.QueryFactory;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.facet.FacetsConfig;
 import org.apache.lucene.facet.taxonomy.SearcherTaxonomyManager;
 import org.apache.lucene.facet.taxonomy.directory.DirectoryTaxonomyWriter;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.FSDirectory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.search.MatchAllDocsQuery;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class DefaultLuceneBackendTest {
 
@@ -35,4 +55,207 @@ class DefaultLuceneBackendTest {
         Assertions.assertFalse(indexWriter.isOpen());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void reusesSearchComponentsUntilRefreshed() throws IOException {
+        try(var backend = new LuceneBackendBuilder().build()) {
+            var components = backend.search(leased -> leased);
+            assertSame(components, backend.search(leased -> leased));
+
+            backend.update(leased -> leased.indexWriter()
+                    .addDocument(List.of(new StringField("field", "value", Field.Store.YES)))
+            );
+            var refreshed = backend.search(leased -> leased);
+            assertNotSame(components, refreshed);
+            assertEquals(1, refreshed.indexSearcher().count(new MatchAllDocsQuery()));
+        }
+    }
+
+    @Test
+    void searchesAndUpdatesAsynchronously() throws Exception {
+        try(var backend = new LuceneBackendBuilder()
+                .leaseMetrics(LeakDetection.disabled())
+                .build()) {
+            backend.updateAsync(leased -> leased.indexWriter()
+                    .addDocument(List.of(new StringField("field", "value", Field.Store.YES)))
+            ).get(1, TimeUnit.MINUTES);
+
+            var count = backend.searchAsync(leased -> leased.indexSearcher().count(new MatchAllDocsQuery()))
+                    .get(1, TimeUnit.MINUTES);
+            assertEquals(1, count);
+            assertEquals(0, backend.searcherLeaseMetrics().orElseThrow().outstanding());
+        }
+    }
+
+    @Test
+    void backgroundRefreshReadsOwnWrites() throws IOException {
+        var builder = new LuceneBackendBuilder()
+                .refresh(RefreshPolicy.background(Duration.ofSeconds(60), Duration.ofMillis(10)));
+
+        try(var backend = builder.build()) {
+            var result = backend.trackedUpdate(components -> components.indexWriter()
+                    .addDocument(List.of(new StringField("field", "value", Field.Store.YES)))
+            );
+
+            assertTrue(result.generation() >= 0);
+            int count = backend.search(result.generation(),
+                    components -> components.indexSearcher().count(new MatchAllDocsQuery())
+            );
+            assertEquals(1, count);
+        }
+    }
+
+    @Test
+    void backgroundRefreshRequiresOrderedStaleness() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RefreshPolicy.background(Duration.ofMillis(10), Duration.ofSeconds(1))
+        );
+    }
+
+    @Test
+    void groupCommitDefersDurability() throws IOException {
+        var builder = new LuceneBackendBuilder()
+                .commit(CommitPolicy.grouped(Duration.ofHours(1), 1000));
+
+        try(var backend = builder.build()) {
+            var result = backend.trackedUpdate(components -> {
+                components.indexWriter().addDocument(List.of(new StringField("field", "value", Field.Store.YES)));
+                return components.indexWriter();
+            });
+            var indexWriter = result.value();
+
+            // visible to searchers, but not yet committed
+            int count = backend.search(components -> components.indexSearcher().count(new MatchAllDocsQuery()));
+            assertEquals(1, count);
+            assertTrue(indexWriter.hasUncommittedChanges());
+
+            backend.awaitDurable(result.generation());
+            assertFalse(indexWriter.hasUncommittedChanges());
+        }
+    }
+
+    @Test
+    void groupCommitTriggeredByPendingUpdates() throws Exception {
+        var builder = new LuceneBackendBuilder()
+                .commit(CommitPolicy.grouped(Duration.ofHours(1), 2));
+
+        try(var backend = builder.build()) {
+            var indexWriter = backend.update(components -> {
+                components.indexWriter().addDocument(List.of(new StringField("field", "one", Field.Store.YES)));
+                return components.indexWriter();
+            });
+            assertTrue(indexWriter.hasUncommittedChanges());
+
+            backend.update(components -> components.indexWriter()
+                    .addDocument(List.of(new StringField("field", "two", Field.Store.YES)))
+            );
+
+            for(int i = 0; i < 100 && indexWriter.hasUncommittedChanges(); i++) {
+                Thread.sleep(50);
+            }
+            assertFalse(indexWriter.hasUncommittedChanges());
+        }
+    }
+
+    @Test
+    void fastCloseRetainsSegments(@TempDir Path path) throws IOException {
+        var backend = new LuceneBackendBuilder()
+                .directory(path)
+                .closeMode(CloseMode.FAST)
+                .build();
+        for(int i = 0; i < 3; i++) {
+            var value = "value " + i;
+            backend.update(components -> components.indexWriter()
+                    .addDocument(List.of(new StringField("field", value, Field.Store.YES)))
+            );
+        }
+        backend.close();
+
+        try(var directory = FSDirectory.open(path.resolve("index"));
+            var reader = DirectoryReader.open(directory)) {
+            assertEquals(3, reader.numDocs());
+            assertEquals(3, reader.leaves().size());
+        }
+    }
+
+    @Test
+    void optimizeMergesInBackground() throws Exception {
+        try(var backend = LuceneBackends.memory(new StandardAnalyzer(), BackendOptions.of(DirectoryOptions.memory()))) {
+            for(int i = 0; i < 3; i++) {
+                var value = "value " + i;
+                backend.update(components -> components.indexWriter()
+                        .addDocument(List.of(new StringField("field", value, Field.Store.YES)))
+                );
+            }
+            int segments = backend.search(components -> components.indexSearcher().getIndexReader().leaves().size());
+            assertEquals(3, segments);
+
+            var merge = backend.optimize(1);
+            merge.future().get(1, TimeUnit.MINUTES);
+
+            assertEquals(BackgroundMerge.State.COMPLETED, merge.progress().state());
+            segments = backend.search(components -> components.indexSearcher().getIndexReader().leaves().size());
+            assertEquals(1, segments);
+        }
+    }
+
+    @Test
+    void fastCloseCancelsQueuedMerges() throws Exception {
+        // warming the merged segment blocks the first merge until released
+        var blocking = new AtomicBoolean();
+        var release = new CountDownLatch(1);
+        QueryFactory<String> queryFactory = value -> {
+            if(blocking.get()) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new MatchAllDocsQuery();
+        };
+
+        var backend = new LuceneBackendBuilder()
+                .closeMode(CloseMode.FAST)
+                .warmingQueries(WarmingQuery.of(queryFactory, "value"))
+                .build();
+        for(int i = 0; i < 3; i++) {
+            var value = "value " + i;
+            backend.update(components -> components.indexWriter()
+                    .addDocument(List.of(new StringField("field", value, Field.Store.YES)))
+            );
+        }
+
+        blocking.set(true);
+        var running = backend.optimize(1);
+        var queued = backend.forceMergeDeletes();
+        while(running.progress().state() != BackgroundMerge.State.RUNNING) {
+            Thread.sleep(10);
+        }
+
+        var closing = CompletableFuture.runAsync(() -> {
+            try {
+                backend.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        var e = assertThrows(ExecutionException.class, () -> queued.future().get(1, TimeUnit.MINUTES));
+        assertInstanceOf(CancellationException.class, e.getCause());
+        assertEquals(BackgroundMerge.State.FAILED, queued.progress().state());
+
+        release.countDown();
+        closing.get(1, TimeUnit.MINUTES);
+        assertTrue(running.future().isDone());
+    }
+
+    @Test
+    void backgroundMergeRejectedAfterClose() throws IOException {
+        var backend = LuceneBackends.memory(new StandardAnalyzer(), BackendOptions.of(DirectoryOptions.memory()));
+        backend.close();
+
+        var merge = backend.forceMergeDeletes();
+        assertEquals(BackgroundMerge.State.FAILED, merge.progress().state());
+        assertTrue(merge.future().isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.store.NIOFSDirectory;
+import org.apache.lucene.store.NRTCachingDirectory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectoryOptionsTest {
+
+    @Test
+    void preloadsMatchingExtensions() {
+        var options = DirectoryOptions.mmap(".doc", "tim");
+
+        assertEquals(Set.of("doc", "tim"), options.preloadExtensions());
+        assertTrue(options.preload("_0_Lucene99_0.doc"));
+        assertTrue(options.preload("_0_Lucene99_0.tim"));
+        assertFalse(options.preload("_0.fdt"));
+        assertFalse(options.preload("segments_1"));
+    }
+
+    @Test
+    void preloadsAllFiles() {
+        var options = DirectoryOptions.mmap(DirectoryOptions.ALL_FILES);
+
+        assertTrue(options.preload("_0.fdt"));
+        assertTrue(options.preload("segments_1"));
+    }
+
+    @Test
+    void preloadRequiresMemoryMapping() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DirectoryOptions(DirectoryOptions.Type.NIO, Set.of("doc"))
+        );
+    }
+
+    @Test
+    void describesExistingDirectory() {
+        assertEquals(DirectoryOptions.memory(), DirectoryOptions.of(new ByteBuffersDirectory()));
+    }
+
+    @Test
+    void describesUnknownDirectoriesAsOther(@TempDir Path path) throws IOException {
+        try(var nio = new NIOFSDirectory(path);
+            var cached = new NRTCachingDirectory(new NIOFSDirectory(path), 1, 1)) {
+            assertEquals(DirectoryOptions.nio(), DirectoryOptions.of(nio));
+            assertEquals(DirectoryOptions.other(), DirectoryOptions.of(cached));
+        }
+        assertThrows(IllegalArgumentException.class, () -> DirectoryOptions.other().open(path));
+    }
+
+    /**
+     * Memory mapping requires the default file system
+     */
+    @Test
+    void describesPreloadOfOpenedDirectories(@TempDir Path path) throws IOException {
+        var options = DirectoryOptions.mmap("doc", "tim");
+        try(var opened = options.open(path);
+            var mmap = new MMapDirectory(path)) {
+            assertEquals(options, DirectoryOptions.of(opened));
+            assertEquals(DirectoryOptions.mmap(), DirectoryOptions.of(mmap));
+        }
+    }
+}
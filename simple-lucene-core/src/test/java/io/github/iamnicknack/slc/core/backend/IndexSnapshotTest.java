@@ -0,0 +1,104 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.facet.FacetField;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.taxonomy.SearcherTaxonomyManager;
+import org.apache.lucene.facet.taxonomy.directory.DirectoryTaxonomyReader;
+import org.apache.lucene.facet.taxonomy.directory.DirectoryTaxonomyWriter;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexSnapshotTest {
+
+    @Test
+    void copiesSnapshotIncrementally(@TempDir Path source, @TempDir Path target) throws IOException {
+        try(var backend = LuceneBackends.directory(source, new StandardAnalyzer(), DirectoryOptions.nio())) {
+            add(backend, "one");
+
+            int copied;
+            try(var snapshot = backend.snapshot()) {
+                copied = snapshot.copyTo(target);
+                assertEquals(snapshot.indexFiles().size() + snapshot.taxonomyFiles().size(), copied);
+            }
+            assertCopy(target, 1, 2);
+
+            add(backend, "two");
+            try(var snapshot = backend.snapshot()) {
+                int recopied = snapshot.copyTo(target);
+                assertTrue(recopied < snapshot.indexFiles().size() + snapshot.taxonomyFiles().size());
+            }
+            assertCopy(target, 2, 3);
+        }
+    }
+
+    @Test
+    void retainsFilesUntilClosed(@TempDir Path source) throws Exception {
+        try(var backend = LuceneBackends.directory(source, new StandardAnalyzer(), DirectoryOptions.nio())) {
+            add(backend, "one");
+            add(backend, "two");
+
+            var snapshot = backend.snapshot();
+            backend.optimize(1).future().get();
+            add(backend, "three");
+
+            for(var file : snapshot.indexFiles()) {
+                assertTrue(Files.exists(source.resolve("index").resolve(file)), file);
+            }
+            snapshot.close();
+        }
+    }
+
+    @Test
+    void requiresSnapshotDeletionPolicy() throws IOException {
+        var indexWriter = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(new StandardAnalyzer()));
+        var taxonomyWriter = new DirectoryTaxonomyWriter(new ByteBuffersDirectory());
+
+        try(var backend = new DefaultLuceneBackend(
+                indexWriter,
+                taxonomyWriter,
+                new FacetsConfig(),
+                new SearcherTaxonomyManager(indexWriter, null, taxonomyWriter))) {
+            assertThrows(IllegalStateException.class, backend::snapshot);
+        }
+    }
+
+    private static void add(DefaultLuceneBackend backend, String value) {
+        backend.update(components -> components.indexWriter().addDocument(components.build(
+                toDocument(new StringField("field", value, Field.Store.YES), new FacetField("facet", value))
+        )));
+    }
+
+    private static Document toDocument(IndexableField... fields) {
+        var document = new Document();
+        List.of(fields).forEach(document::add);
+        return document;
+    }
+
+    private static void assertCopy(Path target, int documents, int ordinals) throws IOException {
+        try(var indexDirectory = FSDirectory.open(target.resolve("index"));
+            var taxonomyDirectory = FSDirectory.open(target.resolve("taxonomy"));
+            var reader = DirectoryReader.open(indexDirectory);
+            var taxonomyReader = new DirectoryTaxonomyReader(taxonomyDirectory)) {
+            assertEquals(documents, reader.numDocs());
+            // includes the root ordinal
+            assertEquals(ordinals + 1, taxonomyReader.getSize());
+        }
+    }
+}
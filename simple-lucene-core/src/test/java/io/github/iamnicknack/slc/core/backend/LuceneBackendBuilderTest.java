@@ -0,0 +1,322 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import io.github.iamnicknack.slc.api.lease.LeakDetection;
+import io.github.iamnicknack.slc.api.lease.Lease;
+import io.github.iamnicknack.slc.api.query.QueryFactory;
+import io.github.iamnicknack.slc.core.collection.LuceneCollection;
+import io.github.iamnicknack.slc.core.document.DocumentDescriptorBuilder;
+import io.github.iamnicknack.slc.core.document.FieldDescriptorBuilder;
+import io.github.iamnicknack.slc.core.test.BuilderDomainOperations;
+import io.github.iamnicknack.slc.core.test.TestData;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.index.ConcurrentMergeScheduler;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TieredMergePolicy;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.TermQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LuceneBackendBuilderTest {
+
+    @Test
+    void appliesWriterSettings() throws IOException {
+        var backend = new LuceneBackendBuilder()
+                .ramBufferSizeMB(64)
+                .maxBufferedDocs(10_000)
+                .maxMergedSegmentMB(1024)
+                .segmentsPerTier(5)
+                .maxMergeAtOnce(5)
+                .floorSegmentMB(4)
+                .deletesPctAllowed(25)
+                .mergeThreads(4, 2)
+                .autoIOThrottle(false)
+                .build();
+
+        IndexWriter indexWriter = backend.update(components -> components.indexWriter());
+        var config = indexWriter.getConfig();
+
+        assertEquals(IndexWriterConfig.OpenMode.CREATE, config.getOpenMode());
+        assertEquals(64, config.getRAMBufferSizeMB());
+        assertEquals(10_000, config.getMaxBufferedDocs());
+
+        var mergePolicy = assertInstanceOf(TieredMergePolicy.class, config.getMergePolicy());
+        assertEquals(1024, mergePolicy.getMaxMergedSegmentMB());
+        assertEquals(5, mergePolicy.getSegmentsPerTier());
+        assertEquals(5, mergePolicy.getMaxMergeAtOnce());
+        assertEquals(4, mergePolicy.getFloorSegmentMB());
+        assertEquals(25, mergePolicy.getDeletesPctAllowed());
+
+        var mergeScheduler = assertInstanceOf(ConcurrentMergeScheduler.class, config.getMergeScheduler());
+        assertEquals(4, mergeScheduler.getMaxMergeCount());
+        assertEquals(2, mergeScheduler.getMaxThreadCount());
+        assertFalse(mergeScheduler.getAutoIOThrottle());
+
+        backend.close();
+    }
+
+    @Test
+    void flushesByDocumentCountOnly() {
+        var config = new LuceneBackendBuilder()
+                .ramBufferSizeMB(IndexWriterConfig.DISABLE_AUTO_FLUSH)
+                .maxBufferedDocs(100)
+                .indexWriterConfig();
+
+        assertEquals(IndexWriterConfig.DISABLE_AUTO_FLUSH, config.getRAMBufferSizeMB());
+        assertEquals(100, config.getMaxBufferedDocs());
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new LuceneBackendBuilder()
+                .ramBufferSizeMB(IndexWriterConfig.DISABLE_AUTO_FLUSH)
+                .maxBufferedDocs(IndexWriterConfig.DISABLE_AUTO_FLUSH)
+                .build()
+        );
+        assertThrows(IllegalArgumentException.class, () -> new LuceneBackendBuilder()
+                .deletesPctAllowed(60)
+                .build()
+        );
+        assertThrows(IllegalArgumentException.class, () -> new LuceneBackendBuilder()
+                .mergeThreads(1, 2)
+                .build()
+        );
+    }
+
+    @Test
+    void validatesBeforeCreatingDirectories(@TempDir Path path) {
+        var root = path.resolve("backend");
+
+        assertThrows(IllegalArgumentException.class, () -> new LuceneBackendBuilder()
+                .directory(root)
+                .maxMergeAtOnce(1)
+                .build()
+        );
+        assertFalse(Files.exists(root));
+    }
+
+    @Test
+    void appendsToExistingIndex(@TempDir Path path) throws IOException {
+        var backend = new LuceneBackendBuilder()
+                .mmapDirectory(path, "tim")
+                .build();
+        new LuceneCollection<>(BuilderDomainOperations.create(backend), backend)
+                .add(TestData.createValue("TEST"));
+        backend.close();
+
+        backend = new LuceneBackendBuilder()
+                .mmapDirectory(path)
+                .build();
+        assertEquals(1, new LuceneCollection<>(BuilderDomainOperations.create(backend), backend).size());
+        backend.close();
+    }
+
+    @Test
+    void searchesSlicesConcurrently() throws IOException {
+        var concurrency = SearchConcurrency.forkJoin(2).withSlices(1, 1);
+        var backend = new LuceneBackendBuilder()
+                .searchConcurrency(concurrency)
+                .build();
+
+        for(int i = 0; i < 3; i++) {
+            var value = "value " + i;
+            backend.update(components -> components.indexWriter()
+                    .addDocument(List.of(new StringField("field", value, Field.Store.YES)))
+            );
+        }
+
+        var executor = backend.search(components -> {
+            var searcher = components.indexSearcher();
+            assertInstanceOf(ForkJoinPool.class, searcher.getExecutor());
+            assertEquals(3, searcher.getSlices().length);
+            assertEquals(3, searcher.count(new MatchAllDocsQuery()));
+            return (ExecutorService)searcher.getExecutor();
+        });
+
+        backend.close();
+        assertTrue(executor.isShutdown());
+    }
+
+    @Test
+    void createsSearchExecutorPerBackend() throws IOException {
+        var concurrency = SearchConcurrency.forkJoin(2);
+        var first = new LuceneBackendBuilder().searchConcurrency(concurrency).build();
+        var second = new LuceneBackendBuilder().searchConcurrency(concurrency).build();
+
+        var firstExecutor = first.search(components -> (ExecutorService)components.indexSearcher().getExecutor());
+        var secondExecutor = second.search(components -> (ExecutorService)components.indexSearcher().getExecutor());
+        assertNotSame(firstExecutor, secondExecutor);
+
+        first.close();
+        assertTrue(firstExecutor.isShutdown());
+        assertFalse(secondExecutor.isShutdown());
+        int count = second.search(components -> components.indexSearcher().count(new MatchAllDocsQuery()));
+        assertEquals(0, count);
+        second.close();
+    }
+
+    @Test
+    void releasesResourcesWhenBuildFails(@TempDir Path path) throws IOException {
+        // a taxonomy which cannot be opened fails the build after the index writer has been created
+        Files.createDirectories(path.resolve("taxonomy"));
+        Files.writeString(path.resolve("taxonomy").resolve("segments_1"), "corrupt");
+
+        var executor = new AtomicReference<ExecutorService>();
+        var concurrency = SearchConcurrency.owned(() -> {
+            executor.set(Executors.newSingleThreadExecutor());
+            return executor.get();
+        });
+        var builder = new LuceneBackendBuilder()
+                .directory(path)
+                .searchConcurrency(concurrency);
+
+        assertThrows(IOException.class, builder::build);
+        assertTrue(executor.get().isShutdown());
+
+        // the index write lock has been released
+        Files.delete(path.resolve("taxonomy").resolve("segments_1"));
+        builder.build().close();
+    }
+
+    @Test
+    void doesNotShutDownCallerExecutor() throws IOException {
+        var executor = Executors.newSingleThreadExecutor();
+        var backend = new LuceneBackendBuilder()
+                .searchConcurrency(SearchConcurrency.of(executor))
+                .build();
+
+        assertSame(executor, backend.search(components -> components.indexSearcher().getExecutor()));
+        backend.close();
+        assertFalse(executor.isShutdown());
+        executor.shutdown();
+    }
+
+    @Test
+    void warmsSearchersAndMergedSegments() throws Exception {
+        var warmed = new AtomicInteger();
+        QueryFactory<String> queryFactory = value -> {
+            warmed.incrementAndGet();
+            return new TermQuery(new Term("field", value));
+        };
+
+        var backend = new LuceneBackendBuilder()
+                .warmingQueries(WarmingQuery.of(queryFactory, "value 0", "value 1"))
+                .build();
+        // the initial searcher is warmed on creation
+        assertEquals(2, warmed.get());
+
+        for(int i = 0; i < 3; i++) {
+            var value = "value " + i;
+            backend.update(components -> components.indexWriter()
+                    .addDocument(List.of(new StringField("field", value, Field.Store.YES)))
+            );
+        }
+        assertEquals(8, warmed.get());
+
+        backend.optimize(1).future().get(1, TimeUnit.MINUTES);
+        // the merged segment and the refreshed searcher
+        assertEquals(12, warmed.get());
+
+        backend.close();
+    }
+
+    @Test
+    void disablesTaxonomyWithoutFacets() throws IOException {
+        var facetsConfig = new FacetsConfig();
+        new DocumentDescriptorBuilder(facetsConfig)
+                .field(new FieldDescriptorBuilder().name("field").stringField().build())
+                .build();
+
+        var builder = new LuceneBackendBuilder()
+                .facetsConfig(facetsConfig)
+                .taxonomy(TaxonomyMode.AUTO);
+        assertEquals(TaxonomyMode.DISABLED, builder.taxonomyMode());
+
+        new DocumentDescriptorBuilder(facetsConfig)
+                .field(new FieldDescriptorBuilder().name("facet").stringField().facet().build())
+                .build();
+        assertEquals(TaxonomyMode.ENABLED, builder.taxonomyMode());
+    }
+
+    @Test
+    void searchesWithoutTaxonomy(@TempDir Path path) throws IOException {
+        var backend = new LuceneBackendBuilder()
+                .directory(path)
+                .taxonomy(TaxonomyMode.DISABLED)
+                .build();
+        assertEquals(TaxonomyMode.DISABLED, backend.options().taxonomy());
+        assertNull(backend.update(components -> components.taxonomyWriter()));
+
+        var collection = new LuceneCollection<>(BuilderDomainOperations.create(backend), backend);
+        collection.add(TestData.createValue("TEST"));
+        assertEquals(1, collection.size());
+
+        var e = assertThrows(Lease.LeaseException.class,
+                () -> backend.search(components -> components.taxonomyReader())
+        );
+        assertInstanceOf(UnsupportedOperationException.class, e.getCause());
+
+        try(var snapshot = backend.snapshot()) {
+            assertTrue(snapshot.taxonomyFiles().isEmpty());
+            assertFalse(snapshot.indexFiles().isEmpty());
+        }
+        backend.close();
+        assertFalse(Files.exists(path.resolve("taxonomy")));
+    }
+
+    @Test
+    void recordsSearcherLeaseMetrics() throws IOException {
+        try(var backend = new LuceneBackendBuilder()
+                .leaseMetrics(LeakDetection.disabled())
+                .build()) {
+            var metrics = backend.searcherLeaseMetrics().orElseThrow();
+
+            var lease = backend.searcherLeaseFactory().lease();
+            long outstanding = backend.search(components -> metrics.outstanding());
+            assertEquals(2, outstanding);
+            lease.close();
+
+            assertEquals(0, metrics.outstanding());
+            assertEquals(2, metrics.holdTimes().count());
+        }
+
+        try(var backend = new LuceneBackendBuilder().build()) {
+            assertTrue(backend.searcherLeaseMetrics().isEmpty());
+        }
+    }
+
+    @Test
+    void recordsUpdateLeaseMetrics() throws IOException {
+        try(var backend = new LuceneBackendBuilder()
+                .leaseMetrics(LeakDetection.disabled())
+                .build()) {
+            var metrics = backend.updateLeaseMetrics().orElseThrow();
+
+            long outstanding = backend.update(components -> metrics.outstanding());
+            assertEquals(1, outstanding);
+            assertEquals(0, metrics.outstanding());
+            assertEquals(1, metrics.holdTimes().count());
+        }
+
+        try(var backend = new LuceneBackendBuilder().build()) {
+            assertTrue(backend.updateLeaseMetrics().isEmpty());
+        }
+    }
+}
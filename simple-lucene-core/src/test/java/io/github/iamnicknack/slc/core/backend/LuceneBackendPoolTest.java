@@ -0,0 +1,173 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import io.github.iamnicknack.slc.api.backend.LuceneBackend;
+import io.github.iamnicknack.slc.api.lease.Lease;
+import io.github.iamnicknack.slc.core.collection.LuceneCollection;
+import io.github.iamnicknack.slc.core.test.BuilderDomainOperations;
+import io.github.iamnicknack.slc.core.test.TestData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LuceneBackendPoolTest {
+
+    private final BackendPoolOptions options = BackendPoolOptions.defaults()
+            .withMaxOpenBackends(2)
+            .withMergeThreads(2)
+            .withMaintenanceInterval(Duration.ofHours(1));
+
+    @Test
+    void opensBackendsLazilyAndSharesMergeScheduler() throws IOException {
+        try(var pool = new LuceneBackendPool((key, builder) -> builder, options)) {
+            assertFalse(pool.isOpen("a"));
+
+            DefaultLuceneBackend first;
+            try(var lease = pool.lease("a")) {
+                first = (DefaultLuceneBackend) lease.execute(backend -> backend);
+            }
+            try(var lease = pool.lease("a")) {
+                assertSame(first, lease.execute(backend -> backend));
+            }
+            try(var lease = pool.lease("b")) {
+                var second = (DefaultLuceneBackend) lease.execute(backend -> backend);
+                assertSame(
+                        first.indexWriter().getConfig().getMergeScheduler(),
+                        second.indexWriter().getConfig().getMergeScheduler()
+                );
+                assertInstanceOf(SharedMergeScheduler.class, second.indexWriter().getConfig().getMergeScheduler());
+                assertEquals(CloseMode.FAST, second.options().closeMode());
+            }
+            assertEquals(2, pool.size());
+        }
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed(@TempDir Path path) throws IOException {
+        try(var pool = new LuceneBackendPool((key, builder) -> builder.directory(path.resolve(key)), options)) {
+            addValues(pool, "a", 10);
+            addValues(pool, "b", 10);
+            try(var ignored = pool.lease("a")) {
+                // "b" is now least recently used
+            }
+            addValues(pool, "c", 10);
+
+            assertTrue(pool.isOpen("a"));
+            assertFalse(pool.isOpen("b"));
+            assertTrue(pool.isOpen("c"));
+
+            // reopened with its committed documents
+            try(var lease = pool.lease("b")) {
+                assertEquals(10, lease.execute(LuceneBackendPoolTest::size));
+            }
+        }
+    }
+
+    @Test
+    void retainsLeasedBackends() throws IOException {
+        try(var pool = new LuceneBackendPool((key, builder) -> builder, options)) {
+            try(var a = pool.lease("a"); var b = pool.lease("b"); var c = pool.lease("c")) {
+                assertEquals(3, pool.size());
+            }
+            pool.lease("d").close();
+            assertEquals(2, pool.size());
+        }
+    }
+
+    @Test
+    void closesIdleBackends() throws IOException {
+        try(var pool = new LuceneBackendPool((key, builder) -> builder, options.withIdleTimeout(Duration.ZERO))) {
+            try(var lease = pool.lease("a")) {
+                pool.maintain();
+                assertTrue(pool.isOpen("a"));
+            }
+            pool.maintain();
+            assertFalse(pool.isOpen("a"));
+        }
+    }
+
+    @Test
+    void flushesBuffersExceedingBudget() throws IOException {
+        var budget = options.withRamBudgetMB(0.1);
+        try(var pool = new LuceneBackendPool((key, builder) -> builder
+                .commit(CommitPolicy.grouped(Duration.ofHours(1), 1_000_000))
+                .refresh(RefreshPolicy.background(Duration.ofHours(1), Duration.ofHours(1))), budget)) {
+            addValues(pool, "a", 1_000);
+            addValues(pool, "b", 1_000);
+            assertTrue(pool.ramBytesUsed() > 0.1 * 1024 * 1024);
+
+            pool.maintain();
+            assertTrue(pool.ramBytesUsed() <= 0.1 * 1024 * 1024);
+        }
+    }
+
+    @Test
+    void reportsFailureToOpen() throws IOException {
+        try(var pool = new LuceneBackendPool((key, builder) -> builder.deletesPctAllowed(90), options)) {
+            var e = assertThrows(Lease.LeaseException.class, () -> pool.lease("a"));
+            assertInstanceOf(IllegalArgumentException.class, e.getCause());
+            assertFalse(pool.isOpen("a"));
+        }
+    }
+
+    @Test
+    void reopensEvictedBackendOnceClosed(@TempDir Path path) throws Exception {
+        var closing = new CountDownLatch(1);
+        var proceed = new CountDownLatch(1);
+        var idle = options.withIdleTimeout(Duration.ZERO);
+        try(var pool = new LuceneBackendPool((key, builder) -> builder.directory(path.resolve(key)), idle) {
+            @Override
+            void closeBackend(String key, DefaultLuceneBackend backend) throws IOException {
+                closing.countDown();
+                try {
+                    proceed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.closeBackend(key, backend);
+            }
+        }) {
+            addValues(pool, "a", 10);
+            var eviction = CompletableFuture.runAsync(pool::maintain);
+            assertTrue(closing.await(10, TimeUnit.SECONDS));
+
+            var reopened = CompletableFuture.supplyAsync(() -> {
+                try(var lease = pool.lease("a")) {
+                    return lease.execute(LuceneBackendPoolTest::size);
+                }
+            });
+            // the directory is still locked by the closing backend
+            assertThrows(TimeoutException.class, () -> reopened.get(200, TimeUnit.MILLISECONDS));
+
+            proceed.countDown();
+            eviction.get(10, TimeUnit.SECONDS);
+            assertEquals(10, reopened.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private static void addValues(LuceneBackendPool pool, String key, int count) {
+        try(var lease = pool.lease(key)) {
+            lease.execute(backend -> {
+                new LuceneCollection<>(BuilderDomainOperations.create(backend), backend)
+                        .addAll(IntStream.range(0, count)
+                                .mapToObj(i -> TestData.createValue("value " + i, i))
+                                .toList()
+                        );
+                return null;
+            });
+        }
+    }
+
+    private static int size(LuceneBackend backend) {
+        return new LuceneCollection<>(BuilderDomainOperations.create(backend), backend).size();
+    }
+}
@@ -1,20 +1,29 @@
 package io.github.iamnicknack.slc.core.backend;
 
 import com.github.marschall.memoryfilesystem.MemoryFileSystemBuilder;
+import io.github.iamnicknack.slc.api.lease.LeakDetection;
 import io.github.iamnicknack.slc.core.collection.LuceneCollection;
 import io.github.iamnicknack.slc.core.test.BuilderDomainOperations;
 import io.github.iamnicknack.slc.core.test.TestData;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.MMapDirectory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 class LuceneBackendsTest {
 
@@ -75,4 +84,61 @@ class LuceneBackendsTest {
 
         backend.close();
     }
-}
\ No newline at end of file
+
+    /**
+     * Memory mapping requires the default file system
+     */
+    @Test
+    void canWriteMemoryMappedData(@TempDir Path path) throws IOException {
+        var backend = LuceneBackends.mmapDirectory(path, "doc", ".tim");
+
+        assertEquals(DirectoryOptions.Type.MMAP, backend.options().directory().type());
+        assertEquals(Set.of("doc", "tim"), backend.options().directory().preloadExtensions());
+        assertEquals(List.of(backend.options().directory()), LuceneBackends.directoryOptions(backend));
+        backend.search(components -> {
+            var directory = ((DirectoryReader)components.indexSearcher().getIndexReader()).directory();
+            assertInstanceOf(MMapDirectory.class, directory);
+            assertEquals(backend.options().directory(), DirectoryOptions.of(directory));
+            return null;
+        });
+
+        var domain = BuilderDomainOperations.create(backend);
+        var collection = new LuceneCollection<>(domain, backend);
+        collection.add(TestData.createValue("TEST"));
+        assertEquals(1, collection.size());
+
+        backend.close();
+    }
+
+    @Test
+    void appliesAllBackendOptions() throws IOException {
+        var options = configuredOptions(DirectoryOptions.memory());
+        try(var backend = LuceneBackends.memory(new StandardAnalyzer(), options)) {
+            assertEquals(options, backend.options());
+            assertNotNull(backend.searcherLeaseMetrics());
+        }
+
+        var path = fs.getPath("/test");
+        var directoryOptions = configuredOptions(DirectoryOptions.nio());
+        try(var backend = LuceneBackends.directory(path, new StandardAnalyzer(), directoryOptions)) {
+            assertEquals(directoryOptions, backend.options());
+            assertNotNull(backend.searcherLeaseMetrics());
+        }
+    }
+
+    /**
+     * Options with every setting changed from its default
+     */
+    private static BackendOptions configuredOptions(DirectoryOptions directory) {
+        return new BackendOptions(
+                directory,
+                RefreshPolicy.background(Duration.ofSeconds(1), Duration.ofMillis(10)),
+                CommitPolicy.grouped(Duration.ofSeconds(1), 100),
+                CloseMode.FAST,
+                SearchConcurrency.serial(),
+                List.of(),
+                TaxonomyMode.DISABLED,
+                LeakDetection.disabled()
+        );
+    }
+}
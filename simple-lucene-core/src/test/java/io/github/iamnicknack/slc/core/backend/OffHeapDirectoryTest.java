@@ -0,0 +1,74 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import io.github.iamnicknack.slc.core.collection.LuceneCollection;
+import io.github.iamnicknack.slc.core.test.BuilderDomainOperations;
+import io.github.iamnicknack.slc.core.test.TestData;
+import org.apache.lucene.store.IOContext;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapDirectoryTest {
+
+    @Test
+    void releasesBudgetOnDelete() throws IOException {
+        try(var directory = new OffHeapDirectory(1 << 20)) {
+            try(var output = directory.createOutput("test.bin", IOContext.DEFAULT)) {
+                output.writeBytes(new byte[10_000], 10_000);
+            }
+            assertTrue(directory.usedBytes() >= 10_000);
+            assertEquals(directory.usedBytes(), directory.budget().usedBytes());
+
+            try(var input = directory.openInput("test.bin", IOContext.DEFAULT)) {
+                assertEquals(10_000, input.length());
+            }
+
+            directory.rename("test.bin", "renamed.bin");
+            directory.deleteFile("renamed.bin");
+            assertEquals(0, directory.budget().usedBytes());
+        }
+    }
+
+    @Test
+    void releasesOpenOutputsOnClose() throws IOException {
+        var budget = new OffHeapBudget(1 << 20);
+        var directory = new OffHeapDirectory(budget);
+        var output = directory.createOutput("test.bin", IOContext.DEFAULT);
+        output.writeBytes(new byte[10_000], 10_000);
+        assertTrue(budget.usedBytes() >= 10_000);
+
+        directory.close();
+        assertEquals(0, budget.usedBytes());
+    }
+
+    @Test
+    void enforcesBudget() throws IOException {
+        try(var directory = new OffHeapDirectory(4096)) {
+            var output = directory.createOutput("test.bin", IOContext.DEFAULT);
+            var e = assertThrows(UncheckedIOException.class, () -> output.writeBytes(new byte[10_000], 10_000));
+            assertTrue(e.getMessage().contains("budget"));
+            assertTrue(directory.budget().usedBytes() <= 4096);
+        }
+    }
+
+    @Test
+    void backsCollection() throws IOException {
+        var backend = LuceneBackends.offHeap(16 << 20);
+        var budget = backend.options().directory().offHeapBudget();
+        var collection = new LuceneCollection<>(BuilderDomainOperations.create(backend), backend);
+
+        collection.addAll(IntStream.range(0, 100)
+                .mapToObj(i -> TestData.createValue("value " + i, i))
+                .toList()
+        );
+        assertEquals(100, collection.size());
+        assertTrue(budget.usedBytes() > 0);
+
+        backend.close();
+        assertEquals(DirectoryOptions.Type.OFF_HEAP, backend.options().directory().type());
+    }
+}
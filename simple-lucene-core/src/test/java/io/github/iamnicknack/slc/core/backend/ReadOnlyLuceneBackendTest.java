@@ -0,0 +1,81 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import io.github.iamnicknack.slc.api.lease.Lease;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexNotFoundException;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadOnlyLuceneBackendTest {
+
+    @Test
+    void servesCommitsFromWriter(@TempDir Path path) throws Exception {
+        try(var writer = LuceneBackends.directory(path, new StandardAnalyzer(), DirectoryOptions.nio())) {
+            add(writer, "one");
+
+            try(var reader = LuceneBackends.readOnly(path, Duration.ofMillis(10))) {
+                assertEquals(1, count(reader));
+
+                add(writer, "two");
+                for(int i = 0; i < 100 && count(reader) < 2; i++) {
+                    Thread.sleep(50);
+                }
+                assertEquals(2, count(reader));
+            }
+        }
+    }
+
+    @Test
+    void refreshesOnRequest(@TempDir Path path) throws IOException {
+        try(var writer = LuceneBackends.directory(path, new StandardAnalyzer(), DirectoryOptions.nio())) {
+            add(writer, "one");
+
+            try(var reader = LuceneBackends.readOnly(path, Duration.ZERO)) {
+                assertEquals(DirectoryOptions.nio(), reader.directory());
+                add(writer, "two");
+                assertEquals(1, count(reader));
+
+                assertTrue(reader.refresh());
+                assertEquals(2, count(reader));
+            }
+        }
+    }
+
+    @Test
+    void rejectsUpdates(@TempDir Path path) throws IOException {
+        LuceneBackends.directory(path).close();
+
+        try(var reader = LuceneBackends.readOnly(path, Duration.ZERO)) {
+            assertThrows(UnsupportedOperationException.class, () -> reader.update(components -> null));
+        }
+    }
+
+    @Test
+    void requiresExistingIndex(@TempDir Path path) throws IOException {
+        Files.createDirectories(path.resolve("index"));
+        Files.createDirectories(path.resolve("taxonomy"));
+
+        assertThrows(IndexNotFoundException.class, () -> LuceneBackends.readOnly(path, Duration.ZERO));
+    }
+
+    private static void add(DefaultLuceneBackend backend, String value) {
+        backend.update(components -> components.indexWriter()
+                .addDocument(List.of(new StringField("field", value, Field.Store.YES)))
+        );
+    }
+
+    private static int count(ReadOnlyLuceneBackend backend) throws Lease.LeaseException {
+        return backend.search(components -> components.indexSearcher().count(new MatchAllDocsQuery()));
+    }
+}
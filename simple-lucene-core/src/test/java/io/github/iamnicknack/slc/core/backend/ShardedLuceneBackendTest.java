@@ -0,0 +1,192 @@
+package io.github.iamnicknack.slc.core.backend;
+
+import io.github.iamnicknack.slc.api.backend.LuceneBackend.SearchComponents;
+import io.github.iamnicknack.slc.api.backend.LuceneBackend.UpdateComponents;
+import io.github.iamnicknack.slc.api.backend.LuceneBackend.UpdateResult;
+import io.github.iamnicknack.slc.api.lease.Lease;
+import io.github.iamnicknack.slc.core.collection.LuceneCollection;
+import io.github.iamnicknack.slc.core.query.DefaultPagedQueryExecutor;
+import io.github.iamnicknack.slc.core.query.QueryFactories;
+import io.github.iamnicknack.slc.core.test.BuilderDomainOperations;
+import io.github.iamnicknack.slc.core.test.TestData;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedLuceneBackendTest {
+
+    private ShardedLuceneBackend backend;
+    private LuceneCollection<Map<String, Object>> collection;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        var builder = new LuceneBackendBuilder().taxonomy(TaxonomyMode.DISABLED);
+        backend = new ShardedLuceneBackend(List.of(builder.build(), builder.build(), builder.build()));
+        collection = new LuceneCollection<>(BuilderDomainOperations.create(backend), backend);
+    }
+
+    @AfterEach
+    void afterEach() throws IOException {
+        backend.close();
+    }
+
+    @Test
+    void routesUpdatesById() {
+        var values = IntStream.range(0, 30)
+                .mapToObj(i -> TestData.createValue("value " + i, i))
+                .toList();
+        collection.addAll(values);
+
+        assertEquals(30, collection.size());
+        for(var shard : backend.shards()) {
+            int count = shard.search(components -> components.indexSearcher().count(new MatchAllDocsQuery()));
+            assertTrue(count > 0);
+        }
+
+        var value = values.get(0);
+        assertTrue(collection.contains(value));
+        collection.remove(value);
+        assertFalse(collection.contains(value));
+        assertEquals(29, collection.size());
+
+        collection.clear();
+        assertTrue(collection.isEmpty());
+    }
+
+    @Test
+    void searchesShardsInParallel() {
+        collection.addAll(IntStream.range(0, 30)
+                .mapToObj(i -> TestData.createValue("value " + i, i))
+                .toList()
+        );
+
+        int slices = backend.search(components -> components.indexSearcher().getSlices().length);
+        assertEquals(3, slices);
+    }
+
+    @Test
+    void pagesAcrossShards() {
+        collection.addAll(IntStream.range(0, 25)
+                .mapToObj(i -> TestData.createValue("value " + i, i))
+                .toList()
+        );
+
+        var executor = new DefaultPagedQueryExecutor<>(QueryFactories.lucene(), backend.searcherLeaseFactory())
+                .withOptions(() -> 4);
+        try(var result = executor.execute(new MatchAllDocsQuery())) {
+            var ids = result.stream()
+                    .map(hit -> hit.value().get("value"))
+                    .distinct()
+                    .count();
+            assertEquals(25, ids);
+        }
+    }
+
+    @Test
+    void appliesUnroutedChangesToAllShards() {
+        var values = IntStream.range(0, 30)
+                .mapToObj(i -> TestData.createValue("value " + i, i))
+                .toList();
+        collection.addAll(values);
+
+        // documents without an id are distributed across shards
+        backend.update(components -> addDocuments(components, 0, 3, "field"));
+        for(var shard : backend.shards()) {
+            int count = shard.search(components -> components.indexSearcher().count(new WildcardQuery(new Term("field", "*"))));
+            assertEquals(1, count);
+        }
+
+        backend.update(components -> components.indexWriter().deleteDocuments(new Term("field", "id-1")));
+        backend.update(components -> components.indexWriter().deleteDocuments(new TermQuery(new Term("field", "id-2"))));
+        int count = backend.search(components -> components.indexSearcher().count(new MatchAllDocsQuery()));
+        assertEquals(31, count);
+
+        collection.retainAll(values.subList(0, 10));
+        count = backend.search(components -> components.indexSearcher().count(new MatchAllDocsQuery()));
+        assertEquals(10, count);
+        assertEquals(10, collection.size());
+    }
+
+    @Test
+    void rejectsShardsWithTaxonomy() throws IOException {
+        try(var shard = LuceneBackends.memory()) {
+            assertThrows(IllegalArgumentException.class, () -> new ShardedLuceneBackend(List.of(shard)));
+        }
+        assertNull(backend.update(components -> components.taxonomyWriter()));
+
+        var e = assertThrows(Lease.LeaseException.class,
+                () -> backend.search(components -> components.taxonomyReader())
+        );
+        assertInstanceOf(UnsupportedOperationException.class, e.getCause());
+    }
+
+    @Test
+    void reusesSearcherUntilShardsRefresh() {
+        collection.add(TestData.createValue("value 0", 0));
+
+        var searcher = backend.search(SearchComponents::indexSearcher);
+        assertSame(searcher, backend.search(SearchComponents::indexSearcher));
+
+        collection.add(TestData.createValue("value 1", 1));
+        assertNotSame(searcher, backend.search(SearchComponents::indexSearcher));
+        assertEquals(2, collection.size());
+    }
+
+    @Test
+    void tracksGenerationsAcrossShards() throws IOException {
+        var builder = new LuceneBackendBuilder()
+                .taxonomy(TaxonomyMode.DISABLED)
+                .refresh(RefreshPolicy.background(Duration.ofSeconds(60), Duration.ofMillis(10)))
+                .commit(CommitPolicy.grouped(Duration.ofHours(1), 1000));
+        var shards = List.of(builder.build(), builder.build(), builder.build());
+
+        try(var tracked = new ShardedLuceneBackend(shards)) {
+            var result = tracked.trackedUpdate(components -> addDocuments(components, 0, 10));
+            assertNotEquals(UpdateResult.NO_GENERATION, result.generation());
+
+            int count = tracked.search(result.generation(),
+                    components -> components.indexSearcher().count(new MatchAllDocsQuery())
+            );
+            assertEquals(10, count);
+            assertTrue(result.value().stream().anyMatch(IndexWriter::hasUncommittedChanges));
+
+            tracked.awaitDurable(result.generation());
+            assertTrue(result.value().stream().noneMatch(IndexWriter::hasUncommittedChanges));
+
+            var durable = tracked.durableUpdate(components -> addDocuments(components, 10, 20));
+            assertTrue(durable.generation() > result.generation());
+            assertTrue(durable.value().stream().noneMatch(IndexWriter::hasUncommittedChanges));
+        }
+    }
+
+    /**
+     * Add documents routed by id, returning the index writers of all shards
+     */
+    private static List<IndexWriter> addDocuments(UpdateComponents components, int from, int to) throws IOException {
+        return addDocuments(components, from, to, "_id");
+    }
+
+    private static List<IndexWriter> addDocuments(UpdateComponents components, int from, int to, String field) throws IOException {
+        var indexWriter = (ShardedIndexWriter)components.indexWriter();
+        for(int i = from; i < to; i++) {
+            indexWriter.addDocument(List.of(new StringField(field, "id-" + i, Field.Store.YES)));
+        }
+        return indexWriter.shards();
+    }
+}
@@ -15,11 +15,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -210,4 +212,34 @@ class LuceneCollectionTest {
         Stream<Hit<Map<String, Object>>> str = collection.queryStream(new MatchAllDocsQuery());
         str.forEach(System.out::println);
     }
-}
\ No newline at end of file
+
+    @Test
+    void streamReadsFromOneSearcher() {
+        var values = IntStream.range(0, 250)
+                .mapToObj(i -> TestData.createValue("value " + i, i))
+                .toList();
+        collection.addAll(values);
+
+        var seen = new ArrayList<Object>();
+        try(var stream = collection.stream()) {
+            var iterator = stream.iterator();
+            for(int i = 0; i < 100; i++) {
+                seen.add(iterator.next().get("value"));
+            }
+
+            // renumber the remaining documents between pages
+            collection.removeAll(values.subList(0, 50));
+            backend.update(components -> {
+                components.indexWriter().forceMerge(1);
+                return null;
+            });
+
+            iterator.forEachRemaining(value -> seen.add(value.get("value")));
+        }
+
+        assertEquals(
+                values.stream().map(value -> value.get("value")).sorted().toList(),
+                seen.stream().sorted().toList()
+        );
+    }
+}
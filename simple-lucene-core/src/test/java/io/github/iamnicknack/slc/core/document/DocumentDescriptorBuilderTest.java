@@ -4,10 +4,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import io.github.iamnicknack.slc.api.backend.LuceneBackend;
 import io.github.iamnicknack.slc.core.backend.LuceneBackends;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
 
 import java.io.IOException;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -36,6 +40,21 @@ class DocumentDescriptorBuilderTest {
         assertTrue(backend.facetsConfig().isDimConfigured("should-facet"));
     }
 
+    @Test
+    void registersFacetWithoutBackend() {
+        var facetsConfig = new FacetsConfig();
+        new DocumentDescriptorBuilder(facetsConfig)
+                .field(new FieldDescriptorBuilder()
+                        .name("should-facet")
+                        .stringField()
+                        .facet()
+                        .build()
+                )
+                .build();
+
+        assertTrue(facetsConfig.isDimConfigured("should-facet"));
+    }
+
     @Test
     void doesNotRegisterFacet() {
         builder.field(new FieldDescriptorBuilder()
@@ -49,6 +68,33 @@ class DocumentDescriptorBuilderTest {
         assertFalse(backend.facetsConfig().isDimConfigured("should-not-facet"));
     }
 
+    @Test
+    void declaresIndexSortInRegistrationOrder() {
+        builder.field(new FieldDescriptorBuilder()
+                .name("name")
+                .stringField()
+                .indexSort()
+                .build()
+        );
+        builder.field(new FieldDescriptorBuilder()
+                .name("unsorted")
+                .stringField()
+                .build()
+        );
+        builder.field(new FieldDescriptorBuilder()
+                .name("count")
+                .intField()
+                .indexSort(true)
+                .build()
+        );
+
+        var sort = builder.build().indexSort().orElseThrow();
+        assertEquals(new Sort(
+                new SortField("name.sort", SortField.Type.STRING),
+                new SortField("count.sort", SortField.Type.INT, true)
+        ), sort);
+    }
+
     @Test
     void registersFields() {
         builder.field(new FieldDescriptorBuilder()
@@ -1,16 +1,23 @@
 package io.github.iamnicknack.slc.core.document;
 
 import io.github.iamnicknack.slc.api.document.SubFieldDescriptor;
+import io.github.iamnicknack.slc.api.query.QueryOptions;
 import io.github.iamnicknack.slc.api.query.Result;
+import io.github.iamnicknack.slc.core.backend.LuceneBackendBuilder;
 import io.github.iamnicknack.slc.core.backend.LuceneBackends;
 import io.github.iamnicknack.slc.core.index.BucketUpdateOperations;
 import io.github.iamnicknack.slc.core.index.MapDomainOperations;
+import io.github.iamnicknack.slc.core.query.DefaultPagedQueryExecutor;
 import io.github.iamnicknack.slc.core.query.DefaultQueryExecutor;
 import io.github.iamnicknack.slc.core.query.QueryFactories;
 import org.apache.lucene.document.*;
 import org.apache.lucene.facet.FacetField;
+import org.apache.lucene.facet.FacetsConfig;
 import org.apache.lucene.index.IndexableField;
 import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TotalHits;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -20,6 +27,7 @@ import java.io.IOException;
 import java.time.*;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -278,4 +286,158 @@ class FieldDescriptorBuilderTest {
         );
     }
 
-}
\ No newline at end of file
+    @Test
+    void declaresIndexSort() {
+        var field = new FieldDescriptorBuilder()
+                .longField()
+                .indexSort(true)
+                .name("popularity")
+                .build();
+
+        var sortField = field.indexSort().orElseThrow();
+        assertEquals("popularity.sort", sortField.getField());
+        assertEquals(SortField.Type.LONG, sortField.getType());
+        assertTrue(sortField.getReverse());
+        assertTrue(StreamSupport.stream(field.fields(1L).spliterator(), false)
+                .anyMatch(NumericDocValuesField.class::isInstance)
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> new FieldDescriptorBuilder()
+                .multiValue()
+                .stringField()
+                .indexSort()
+                .name("tags")
+                .build()
+        );
+    }
+
+    /**
+     * Assert that searches sorted by the index sort stop collecting once the top hits are known
+     */
+    @Test
+    void indexSortTerminatesEarly() throws IOException {
+        var documentDescriptor = new DocumentDescriptorBuilder(new FacetsConfig())
+                .field(new FieldDescriptorBuilder()
+                        .name("name")
+                        .stringField()
+                        .build()
+                )
+                .field(new FieldDescriptorBuilder()
+                        .name("timestamp")
+                        .instant()
+                        .indexSort(true)
+                        .build()
+                )
+                .build();
+        var sort = documentDescriptor.indexSort().orElseThrow();
+        assertEquals(new Sort(new SortField("timestamp.sort", SortField.Type.LONG, true)), sort);
+
+        var backend = new LuceneBackendBuilder()
+                .indexSort(documentDescriptor)
+                .build();
+        var domainOperations = new MapDomainOperations(documentDescriptor);
+        var updateOperations = new BucketUpdateOperations<>(domainOperations);
+        var start = Instant.parse("2024-01-01T00:00:00Z");
+        backend.update(updateOperations.addAll(IntStream.range(0, 5_000)
+                .mapToObj(i -> Map.<String, Object>of("name", "value " + i, "timestamp", start.plusSeconds(i)))
+                .toList()
+        ));
+
+        var queryExecutor = new DefaultQueryExecutor<>(QueryFactories.lucene(), backend.searcherLeaseFactory())
+                .withIterator(Result.IteratorFactory.mapping(domainOperations::readDocument))
+                .withOptions(QueryOptions.sorted(3, sort));
+
+        try(var result = queryExecutor.execute(new MatchAllDocsQuery())) {
+            var timestamps = StreamSupport.stream(result.spliterator(), false)
+                    .map(hit -> hit.value().get("timestamp"))
+                    .toList();
+            assertEquals(List.of(start.plusSeconds(4_999), start.plusSeconds(4_998), start.plusSeconds(4_997)), timestamps);
+        }
+
+        var totalHits = backend.search(components -> components.indexSearcher()
+                .search(new MatchAllDocsQuery(), 3, sort).totalHits
+        );
+        assertEquals(TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO, totalHits.relation);
+
+        backend.close();
+    }
+
+    @Test
+    void readsProjectedFieldsFromDocValues() throws IOException {
+        var documentDescriptor = new DocumentDescriptorBuilder(new FacetsConfig())
+                .field(new FieldDescriptorBuilder().name("id").stringField().keyword().docValues().build())
+                .field(new FieldDescriptorBuilder().name("count").longField().docValues().build())
+                .field(new FieldDescriptorBuilder().name("timestamp").zonedDateTime(Clock.systemUTC()).docValues().build())
+                .field(new FieldDescriptorBuilder().name("name").stringField().build())
+                .build();
+        var domainOperations = new MapDomainOperations(documentDescriptor);
+        var timestamp = ZonedDateTime.of(2024, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+        try(var backend = LuceneBackends.memory()) {
+            backend.update(new BucketUpdateOperations<>(domainOperations).add(
+                    Map.of("id", "first", "count", 5L, "timestamp", timestamp, "name", "First")
+            ));
+
+            var queryExecutor = new DefaultQueryExecutor<>(QueryFactories.lucene(), backend.searcherLeaseFactory())
+                    .withOptions(QueryOptions.DEFAULT.withFields(documentDescriptor.projection("id", "count", "timestamp")));
+
+            try(var result = queryExecutor.execute(new MatchAllDocsQuery())) {
+                var document = result.iterator().next().value();
+                // no stored fields are loaded
+                assertEquals(
+                        List.of("count.sort", "id.sort", "timestamp.sort"),
+                        document.getFields().stream().map(IndexableField::name).sorted().toList()
+                );
+
+                var fieldMap = documentDescriptor.fieldMap();
+                assertEquals("first", fieldMap.get("id").read(document));
+                assertEquals(5L, fieldMap.get("count").read(document));
+                assertEquals(timestamp, fieldMap.get("timestamp").read(document));
+                assertNull(fieldMap.get("name").read(document));
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new FieldDescriptorBuilder()
+                .multiValue()
+                .longField()
+                .docValues()
+                .name("counts")
+                .build()
+        );
+    }
+
+    @Test
+    void sortsResultsBySortableFields() throws IOException {
+        var documentDescriptor = new DocumentDescriptorBuilder(new FacetsConfig())
+                .field(new FieldDescriptorBuilder().name("id").stringField().keyword().sortable().build())
+                .field(new FieldDescriptorBuilder().name("count").intField().sortable().build())
+                .field(new FieldDescriptorBuilder().name("name").stringField().build())
+                .build();
+        var domainOperations = new MapDomainOperations(documentDescriptor);
+
+        try(var backend = LuceneBackends.memory()) {
+            backend.update(new BucketUpdateOperations<>(domainOperations).addAll(IntStream.range(0, 5)
+                    .mapToObj(i -> Map.<String, Object>of("id", "id-" + i, "count", i % 3, "name", "name-" + i))
+                    .toList()
+            ));
+
+            var sort = documentDescriptor.sort("-count", "id");
+            var queryExecutor = new DefaultQueryExecutor<>(QueryFactories.lucene(), backend.searcherLeaseFactory())
+                    .withOptions(QueryOptions.sorted(10, sort));
+            var expected = List.of("id-2", "id-1", "id-4", "id-0", "id-3");
+
+            try(var result = queryExecutor.execute(new MatchAllDocsQuery())) {
+                assertEquals(expected, result.stream().map(hit -> hit.value().get("id")).toList());
+            }
+
+            var pagedQueryExecutor = new DefaultPagedQueryExecutor<>(QueryFactories.lucene(), backend.searcherLeaseFactory())
+                    .withOptions(QueryOptions.sorted(2, sort));
+
+            try(var result = pagedQueryExecutor.execute(new MatchAllDocsQuery())) {
+                assertEquals(expected, result.stream().map(hit -> hit.value().get("id")).toList());
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> documentDescriptor.sort("name"));
+    }
+}
@@ -2,12 +2,19 @@ package io.github.iamnicknack.slc.core.index;
 
 import io.github.iamnicknack.slc.api.backend.LuceneBackend;
 import io.github.iamnicknack.slc.api.index.DomainOperations;
+import io.github.iamnicknack.slc.api.lease.LeakDetection;
 import io.github.iamnicknack.slc.api.lease.Lease;
 import io.github.iamnicknack.slc.api.query.Result;
+import io.github.iamnicknack.slc.core.backend.LuceneBackendBuilder;
 import io.github.iamnicknack.slc.core.backend.LuceneBackends;
+import io.github.iamnicknack.slc.core.collection.LuceneSet;
+import io.github.iamnicknack.slc.core.document.DocumentDescriptorBuilder;
+import io.github.iamnicknack.slc.core.document.FieldDescriptorBuilder;
 import io.github.iamnicknack.slc.core.query.DefaultQueryExecutor;
 import io.github.iamnicknack.slc.core.test.BuilderDomainOperations;
 import io.github.iamnicknack.slc.core.test.TestData;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.index.MultiDocValues;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.TermQuery;
@@ -21,7 +28,9 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SetLikeUpdateOperationsTest {
 
@@ -67,6 +76,21 @@ class SetLikeUpdateOperationsTest {
         assertEquals(1, countDocuments());
     }
 
+    @Test
+    void addsAllUsingOneSearcher() throws IOException {
+        try(var backend = new LuceneBackendBuilder()
+                .leaseMetrics(LeakDetection.disabled())
+                .build()) {
+            var set = new LuceneSet<>(BuilderDomainOperations.create(backend), backend);
+            set.addAll(List.of(TestData.createValue("first"), TestData.createValue("second"), TestData.createValue("third")));
+
+            var metrics = backend.searcherLeaseMetrics().orElseThrow();
+            assertEquals(1, metrics.acquired());
+            assertEquals(0, metrics.outstanding());
+            assertEquals(3, set.size());
+        }
+    }
+
     @Test
     void updatesDocument() {
         var testData = new HashMap<>(TestData.createValue("TEST"));
@@ -135,6 +159,91 @@ class SetLikeUpdateOperationsTest {
         }
     }
 
+    @Test
+    void updatesDocValuesInPlace() throws IOException {
+        try(var backend = LuceneBackends.memory()) {
+            var domainOperations = new MapDomainOperations(new DocumentDescriptorBuilder(backend)
+                    .field(new FieldDescriptorBuilder().name("value").id().stringField().keyword().build())
+                    .field(new FieldDescriptorBuilder().name("count").intField().facet().build())
+                    .build()
+            );
+            var operations = new SetLikeUpdateOperations<>(domainOperations, backend);
+
+            backend.update(operations.add(Map.of("value", "TEST", "count", 1)));
+            backend.update(operations.updateDocValues(Map.of("value", "TEST", "count", 2), "count"));
+
+            long count = backend.search(components -> {
+                var values = MultiDocValues.getNumericValues(components.indexSearcher().getIndexReader(), "count.value");
+                values.nextDoc();
+                return values.longValue();
+            });
+            assertEquals(2, count);
+
+            var e = assertThrows(Lease.LeaseException.class,
+                    () -> backend.update(operations.updateDocValues(Map.of("value", "TEST"), "value"))
+            );
+            assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void skipsIndexSortFieldsWhenUpdatingDocValues() throws IOException {
+        var documentDescriptor = new DocumentDescriptorBuilder(new FacetsConfig())
+                .field(new FieldDescriptorBuilder().name("value").id().stringField().keyword().build())
+                .field(new FieldDescriptorBuilder().name("count").intField().facet().indexSort().build())
+                .build();
+
+        try(var backend = new LuceneBackendBuilder().indexSort(documentDescriptor).build()) {
+            var operations = new SetLikeUpdateOperations<>(new MapDomainOperations(documentDescriptor), backend);
+
+            backend.update(operations.add(Map.of("value", "TEST", "count", 1)));
+            backend.update(operations.updateDocValues(Map.of("value", "TEST", "count", 2), "count"));
+
+            var values = backend.search(components -> {
+                var reader = components.indexSearcher().getIndexReader();
+                var value = MultiDocValues.getNumericValues(reader, "count.value");
+                var sort = MultiDocValues.getNumericValues(reader, "count.sort");
+                value.nextDoc();
+                sort.nextDoc();
+                return List.of(value.longValue(), sort.longValue());
+            });
+            assertEquals(List.of(2L, 1L), values);
+
+            var e = assertThrows(Lease.LeaseException.class,
+                    () -> backend.update(operations.updateDocValues(Map.of("value", "TEST", "count", 3), "count.sort"))
+            );
+            assertInstanceOf(IllegalArgumentException.class, e.getCause());
+            assertTrue(e.getCause().getMessage().contains("Index sort"));
+        }
+    }
+
+    @Test
+    void softDeletesDocuments() throws IOException {
+        try(var backend = new LuceneBackendBuilder().softDeletes().build()) {
+            var operations = new SetLikeUpdateOperations<>(BuilderDomainOperations.create(backend), backend);
+            var data = List.of(
+                    TestData.createValue("TEST 1"),
+                    TestData.createValue("TEST 2"),
+                    TestData.createValue("TEST 3")
+            );
+
+            backend.update(operations.addAll(data));
+            backend.update(operations.update(TestData.createValue("TEST 1", 1)));
+            backend.update(operations.delete(data.get(1)));
+            backend.update(operations.deleteAll(List.of(data.get(2))));
+
+            backend.search(components -> {
+                var searcher = components.indexSearcher();
+                assertEquals(1, searcher.count(new MatchAllDocsQuery()));
+                assertEquals(1, searcher.count(new TermQuery(new Term("value.keyword", "TEST 1"))));
+                return null;
+            });
+            assertEquals(LuceneBackendBuilder.DEFAULT_SOFT_DELETES_FIELD,
+                    backend.update(components -> components.indexWriter().getConfig().getSoftDeletesField())
+            );
+        }
+    }
+
     int countDocuments() {
         try(var lease = backend.searcherLeaseFactory().lease()) {
             return lease.execute(components -> components.indexSearcher().count(new MatchAllDocsQuery()));
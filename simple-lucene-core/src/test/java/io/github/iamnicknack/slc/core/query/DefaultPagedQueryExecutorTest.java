@@ -1,23 +1,46 @@
 package io.github.iamnicknack.slc.core.query;
 
+import io.github.iamnicknack.slc.api.backend.LuceneBackend;
+import io.github.iamnicknack.slc.api.lease.LeakDetection;
+import io.github.iamnicknack.slc.api.lease.Lease;
+import io.github.iamnicknack.slc.api.lease.LeaseMetrics;
+import io.github.iamnicknack.slc.api.query.Hit;
+import io.github.iamnicknack.slc.api.query.QueryOptions;
+import io.github.iamnicknack.slc.api.query.Result;
 import io.github.iamnicknack.slc.core.backend.LuceneBackends;
 import io.github.iamnicknack.slc.core.index.BucketUpdateOperations;
 import io.github.iamnicknack.slc.core.test.BuilderDomainOperations;
 import io.github.iamnicknack.slc.core.test.TestData;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.Term;
 import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.util.BytesRef;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 class DefaultPagedQueryExecutorTest {
 
+    private static final Sort KEY_SORT = new Sort(new SortField("key", SortField.Type.STRING));
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     @Test
@@ -43,6 +66,172 @@ class DefaultPagedQueryExecutorTest {
                  );
     }
 
+    @Test
+    void failsAfterHoldTimeExpires() throws Exception {
+        try(var backend = backendWithDocuments(5)) {
+            var searcherLeaseFactory = backend.searcherLeaseFactory().instrumented(LeakDetection.disabled());
+            var pagedQuery = new DefaultPagedQueryExecutor<>(ignored -> new MatchAllDocsQuery(), searcherLeaseFactory)
+                    .withHoldTimeLimit(HoldTimeLimit.fail(Duration.ofMillis(50)))
+                    .withOptions(() -> 2);
+
+            try(var result = pagedQuery.execute(null)) {
+                var pages = result.iterator();
+                assertEquals(2, pages.next().toList().size());
+
+                awaitReleased(searcherLeaseFactory);
+                var e = assertThrows(Lease.LeaseException.class, pages::next);
+                assertInstanceOf(TimeoutException.class, e.getCause());
+            }
+            assertEquals(0, searcherLeaseFactory.outstanding());
+        }
+    }
+
+    @Test
+    void reacquiresAfterHoldTimeExpires() throws Exception {
+        try(var backend = backendWithKeys(5)) {
+            var searcherLeaseFactory = backend.searcherLeaseFactory().instrumented(LeakDetection.disabled());
+            var pagedQuery = new DefaultPagedQueryExecutor<>(ignored -> new MatchAllDocsQuery(), searcherLeaseFactory)
+                    .withHoldTimeLimit(HoldTimeLimit.reacquire(Duration.ofMillis(50)))
+                    .withOptions(QueryOptions.sorted(2, KEY_SORT));
+
+            var values = new ArrayList<String>();
+            try(var result = pagedQuery.execute(null)) {
+                for(var page : result) {
+                    page.forEach(hit -> values.add(hit.value().get("value")));
+                    awaitReleased(searcherLeaseFactory);
+                }
+            }
+            assertEquals(List.of("0", "1", "2", "3", "4"), values);
+            assertEquals(3, searcherLeaseFactory.acquired());
+            assertEquals(0, searcherLeaseFactory.outstanding());
+        }
+    }
+
+    @Test
+    void rejectsReacquireWithoutFieldSort() throws Exception {
+        try(var backend = backendWithKeys(5)) {
+            var pagedQuery = new DefaultPagedQueryExecutor<>(ignored -> new MatchAllDocsQuery(), backend.searcherLeaseFactory());
+            var reacquiring = pagedQuery.withHoldTimeLimit(HoldTimeLimit.reacquire(Duration.ofMinutes(1)));
+
+            for(var sort : List.of(Sort.RELEVANCE, Sort.INDEXORDER, new Sort(new SortField("key", SortField.Type.STRING), SortField.FIELD_SCORE))) {
+                assertFalse(HoldTimeLimit.resumable(sort));
+                assertThrows(IllegalArgumentException.class, () -> reacquiring.withOptions(QueryOptions.sorted(2, sort)).execute(null));
+            }
+            assertTrue(HoldTimeLimit.resumable(new Sort(SortField.FIELD_SCORE, new SortField("key", SortField.Type.STRING))));
+
+            // relevance sorts are permitted when the result fails on expiry
+            try(var result = pagedQuery.withHoldTimeLimit(HoldTimeLimit.fail(Duration.ofMinutes(1))).withOptions(() -> 2).execute(null)) {
+                assertEquals(5, result.stream().count());
+            }
+        }
+    }
+
+    @Test
+    void continuesFromSortValuesAfterReacquiring() throws Exception {
+        try(var backend = backendWithKeys(5)) {
+            var searcherLeaseFactory = backend.searcherLeaseFactory().instrumented(LeakDetection.disabled());
+            var pagedQuery = new DefaultPagedQueryExecutor<>(ignored -> new MatchAllDocsQuery(), searcherLeaseFactory)
+                    .withHoldTimeLimit(HoldTimeLimit.reacquire(Duration.ofMillis(50)))
+                    .withOptions(QueryOptions.sorted(2, KEY_SORT));
+
+            var values = new ArrayList<String>();
+            try(var result = pagedQuery.execute(null)) {
+                var pages = result.iterator();
+                pages.next().forEach(hit -> values.add(hit.value().get("value")));
+
+                // renumber the remaining documents before the searcher is re-acquired
+                backend.update(components -> {
+                    components.indexWriter().deleteDocuments(new Term("value", "0"), new Term("value", "1"));
+                    components.indexWriter().forceMerge(1);
+                    return null;
+                });
+                awaitReleased(searcherLeaseFactory);
+
+                pages.forEachRemaining(page -> page.forEach(hit -> values.add(hit.value().get("value"))));
+            }
+            assertEquals(List.of("0", "1", "2", "3", "4"), values);
+        }
+    }
+
+    @Test
+    void rejectsNegativeHoldTime() {
+        assertThrows(IllegalArgumentException.class, () -> HoldTimeLimit.fail(Duration.ofSeconds(-1)));
+        assertFalse(HoldTimeLimit.unlimited().limited());
+    }
+
+    @Test
+    void loadsProjectedFields() throws Exception {
+        try(var backend = backendWithDocuments(5)) {
+            var pagedQuery = new DefaultPagedQueryExecutor<>(ignored -> new MatchAllDocsQuery(), backend.searcherLeaseFactory());
+            var options = QueryOptions.DEFAULT.withFields("value");
+
+            for(var executor : List.of(pagedQuery, pagedQuery.withHoldTimeLimit(HoldTimeLimit.fail(Duration.ofMinutes(1))))) {
+                try(var result = executor.withOptions(options).execute(null)) {
+                    var documents = result.stream().map(Hit::value).toList();
+                    assertEquals(5, documents.size());
+                    documents.forEach(document -> {
+                        assertNotNull(document.get("value"));
+                        assertNull(document.get("sequence"));
+                    });
+                }
+            }
+        }
+    }
+
+    @Test
+    void pagesThroughLowerBoundTotalHits() throws Exception {
+        try(var backend = backendWithDocuments(20)) {
+            var pagedQuery = new DefaultPagedQueryExecutor<>(ignored -> new MatchAllDocsQuery(), backend.searcherLeaseFactory());
+            var options = QueryOptions.DEFAULT.withTotalHitsThreshold(0);
+
+            for(var executor : List.of(pagedQuery, pagedQuery.withHoldTimeLimit(HoldTimeLimit.fail(Duration.ofMinutes(1))))) {
+                try(var result = executor.withOptions(options).execute(null)) {
+                    var pages = new ArrayList<Result<Document>>();
+                    result.forEach(pages::add);
+
+                    assertEquals(TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO, pages.get(0).totalHitsRelation());
+                    assertEquals(List.of(10, 10), pages.stream().map(page -> page.toList().size()).toList());
+                }
+            }
+        }
+    }
+
+    private static void awaitReleased(LeaseMetrics metrics) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while(metrics.outstanding() > 0 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, metrics.outstanding());
+    }
+
+    /**
+     * Create a backend with documents which have a unique sortable key
+     */
+    private static LuceneBackend backendWithKeys(int numDocs) throws IOException {
+        var backend = LuceneBackends.memory();
+        backend.update(components -> {
+            for(int i = 0; i < numDocs; i++) {
+                var value = Integer.toString(i);
+                components.indexWriter().addDocument(List.of(
+                        new StringField("value", value, Field.Store.YES),
+                        new SortedDocValuesField("key", new BytesRef(value))
+                ));
+            }
+            return null;
+        });
+        return backend;
+    }
+
+    private static LuceneBackend backendWithDocuments(int numDocs) throws IOException {
+        var backend = LuceneBackends.memory();
+        var updateOperations = new BucketUpdateOperations<>(BuilderDomainOperations.create(backend));
+        backend.update(updateOperations.addAll(IntStream.range(0, numDocs)
+                .mapToObj(i -> TestData.createValue(Integer.toString(i), i))
+                .toList()
+        ));
+        return backend;
+    }
+
     private void countPagesWithSize(int expectedPageCount, int numDocs, int pageSize) throws IOException {
         var backend = LuceneBackends.memory();
         var domainOperations = BuilderDomainOperations.create(backend);
@@ -2,15 +2,26 @@ package io.github.iamnicknack.slc.core.query;
 
 import io.github.iamnicknack.slc.api.backend.LuceneBackend;
 import io.github.iamnicknack.slc.api.index.DomainOperations;
+import io.github.iamnicknack.slc.api.lease.LeakDetection;
+import io.github.iamnicknack.slc.api.lease.Lease;
+import io.github.iamnicknack.slc.api.lease.LeaseFactory;
 import io.github.iamnicknack.slc.api.query.Hit;
 import io.github.iamnicknack.slc.api.query.QueryExecutor;
+import io.github.iamnicknack.slc.api.query.QueryFactory;
+import io.github.iamnicknack.slc.api.query.QueryOptions;
 import io.github.iamnicknack.slc.api.query.Result;
 import io.github.iamnicknack.slc.core.backend.LuceneBackends;
 import io.github.iamnicknack.slc.core.index.BucketUpdateOperations;
 import io.github.iamnicknack.slc.core.test.BuilderDomainOperations;
 import io.github.iamnicknack.slc.core.test.TestData;
 import org.apache.lucene.document.Document;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.Weight;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -20,8 +31,11 @@ import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -116,4 +130,97 @@ class DefaultQueryExecutorTest {
         assertEquals(1, collection.size());
     }
 
-}
\ No newline at end of file
+    @Test
+    void loadsDocumentsWithSingleLeaseCall() {
+        var executions = new AtomicInteger();
+        LeaseFactory<LuceneBackend.SearchComponents> leaseFactory = () -> {
+            var lease = backend.searcherLeaseFactory().lease();
+            return new Lease<>() {
+                @Override
+                public <R> R execute(LeaseFunction<LuceneBackend.SearchComponents, R> function) {
+                    executions.incrementAndGet();
+                    return lease.execute(function);
+                }
+
+                @Override
+                public void close() {
+                    lease.close();
+                }
+            };
+        };
+        var executor = new DefaultQueryExecutor<>(QueryFactories.lucene(), leaseFactory);
+
+        try(var result = executor.execute(new MatchAllDocsQuery())) {
+            var values = result.stream()
+                    .map(hit -> hit.value().get("value"))
+                    .sorted()
+                    .toList();
+            assertEquals(List.of("IGNORED", "TEST"), values);
+        }
+        // one call to search and one to load the page
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void releasesLeaseWhenSearchFails() {
+        var leaseFactory = backend.searcherLeaseFactory().instrumented(LeakDetection.disabled());
+
+        QueryFactory<String> failingFactory = value -> {
+            throw new IllegalArgumentException("EX");
+        };
+        assertThrows(IllegalArgumentException.class, () -> new DefaultQueryExecutor<>(failingFactory, leaseFactory).execute("TEST"));
+        assertEquals(0, leaseFactory.acquired());
+
+        var failingQuery = new Query() {
+            @Override
+            public Weight createWeight(IndexSearcher searcher, ScoreMode scoreMode, float boost) {
+                throw new IllegalStateException("EX");
+            }
+
+            @Override
+            public String toString(String field) {
+                return "failing";
+            }
+
+            @Override
+            public void visit(QueryVisitor visitor) {
+            }
+
+            @Override
+            public boolean equals(Object obj) {
+                return obj == this;
+            }
+
+            @Override
+            public int hashCode() {
+                return System.identityHashCode(this);
+            }
+        };
+        var executor = new DefaultQueryExecutor<>(QueryFactories.lucene(), leaseFactory);
+        assertThrows(Lease.LeaseException.class, () -> executor.execute(failingQuery));
+        assertEquals(1, leaseFactory.acquired());
+        assertEquals(0, leaseFactory.outstanding());
+    }
+
+    @Test
+    void countsHitsUpToThreshold() throws IOException {
+        try(var backend = LuceneBackends.memory()) {
+            backend.update(new BucketUpdateOperations<>(BuilderDomainOperations.create(backend)).addAll(IntStream.range(0, 100)
+                    .mapToObj(i -> TestData.createValue(Integer.toString(i), i))
+                    .toList()
+            ));
+            var queryExecutor = new DefaultQueryExecutor<>(ignored -> new MatchAllDocsQuery(), backend.searcherLeaseFactory());
+
+            try(var result = queryExecutor.execute(null, QueryOptions.DEFAULT.withTotalHitsThreshold(0))) {
+                assertEquals(TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO, result.totalHitsRelation());
+                assertTrue(result.totalHits() < 100);
+                assertEquals(10, result.toList().size());
+            }
+
+            try(var result = queryExecutor.execute(null, QueryOptions.DEFAULT.withExactTotalHits())) {
+                assertEquals(TotalHits.Relation.EQUAL_TO, result.totalHitsRelation());
+                assertEquals(100, result.totalHits());
+            }
+        }
+    }
+}
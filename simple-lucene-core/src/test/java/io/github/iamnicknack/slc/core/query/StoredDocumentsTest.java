@@ -0,0 +1,114 @@
+package io.github.iamnicknack.slc.core.query;
+
+import io.github.iamnicknack.slc.api.query.Hit;
+import io.github.iamnicknack.slc.core.backend.LuceneBackends;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.util.BytesRef;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StoredDocumentsTest {
+
+    @Test
+    void loadsDocumentsAcrossSegmentsInHitOrder() throws IOException {
+        try(var backend = LuceneBackends.memory()) {
+            // each update is flushed to a new segment when the searcher is refreshed
+            for(int i = 0; i < 6; i++) {
+                var value = "value " + i;
+                backend.update(components -> components.indexWriter()
+                        .addDocument(List.of(new StringField("value", value, Field.Store.YES)))
+                );
+            }
+
+            backend.search(components -> {
+                var searcher = components.indexSearcher();
+                assertTrue(searcher.getIndexReader().leaves().size() > 1);
+
+                var scoreDocs = searcher.search(new MatchAllDocsQuery(), 10).scoreDocs;
+                // interleave hits from the start and end of the index, as a score order might
+                var shuffled = new ScoreDoc[] {
+                        scoreDocs[5], scoreDocs[0], scoreDocs[3], scoreDocs[1], scoreDocs[4], scoreDocs[2]
+                };
+                shuffled[0] = new ScoreDoc(shuffled[0].doc, 2.0f);
+
+                var hits = StoredDocuments.hits(searcher, shuffled);
+                assertEquals(
+                        List.of("value 5", "value 0", "value 3", "value 1", "value 4", "value 2"),
+                        hits.stream().map(hit -> hit.value().get("value")).toList()
+                );
+                assertEquals(List.of(2.0f, 1.0f, 1.0f, 1.0f, 1.0f, 1.0f), hits.stream().map(Hit::score).toList());
+                return null;
+            });
+        }
+    }
+
+    @Test
+    void loadsProjectedFieldsAndSubFields() throws IOException {
+        try(var backend = LuceneBackends.memory()) {
+            backend.update(components -> components.indexWriter().addDocument(List.of(
+                    new StringField("value", "value", Field.Store.YES),
+                    new StoredField("value.millis", 1L),
+                    new StringField("values", "values", Field.Store.YES),
+                    new StringField("other", "other", Field.Store.YES)
+            )));
+
+            backend.search(components -> {
+                var searcher = components.indexSearcher();
+                var scoreDocs = searcher.search(new MatchAllDocsQuery(), 1).scoreDocs;
+
+                var projected = StoredDocuments.documents(searcher, scoreDocs, Set.of("value"))[0];
+                assertEquals(
+                        List.of("value", "value.millis"),
+                        projected.getFields().stream().map(IndexableField::name).toList()
+                );
+
+                var all = StoredDocuments.documents(searcher, scoreDocs, Set.of())[0];
+                assertEquals(4, all.getFields().size());
+                return null;
+            });
+        }
+    }
+
+    @Test
+    void readsProjectedFieldsFromDocValues() throws IOException {
+        try(var backend = LuceneBackends.memory()) {
+            backend.update(components -> components.indexWriter().addDocument(List.of(
+                    new StoredField("id", "stored id"),
+                    new SortedDocValuesField("id.sort", new BytesRef("doc values id")),
+                    new StoredField("count", 1L),
+                    new NumericDocValuesField("count.sort", 2L),
+                    new StoredField("name", "name"),
+                    new SortedSetDocValuesField("name.sort", new BytesRef("name"))
+            )));
+
+            backend.search(components -> {
+                var searcher = components.indexSearcher();
+                var scoreDocs = searcher.search(new MatchAllDocsQuery(), 1).scoreDocs;
+
+                var document = StoredDocuments.documents(searcher, scoreDocs, Set.of("id", "count", "name"))[0];
+                assertEquals("doc values id", document.get("id.sort"));
+                assertEquals(2L, document.getField("count.sort").numericValue());
+                // only single-valued doc values are read
+                assertEquals("name", document.get("name"));
+                assertNull(document.getField("id"));
+                assertNull(document.getField("count"));
+                return null;
+            });
+        }
+    }
+}